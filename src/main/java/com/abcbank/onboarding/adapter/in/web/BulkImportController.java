@@ -0,0 +1,224 @@
+package com.abcbank.onboarding.adapter.in.web;
+
+import com.abcbank.onboarding.adapter.in.web.ImportRecordReader.Format;
+import com.abcbank.onboarding.adapter.in.web.ImportRecordReader.ParsedRecord;
+import com.abcbank.onboarding.adapter.in.web.dto.ApiResponseDto;
+import com.abcbank.onboarding.adapter.in.web.dto.ImportRecordResponse;
+import com.abcbank.onboarding.adapter.in.web.dto.ImportSummaryResponse;
+import com.abcbank.onboarding.adapter.in.web.dto.OnboardingRequest;
+import com.abcbank.onboarding.adapter.in.web.mapper.OnboardingDtoMapper;
+import com.abcbank.onboarding.domain.port.in.ImportApplicationsUseCase;
+import com.abcbank.onboarding.domain.port.in.ImportApplicationsUseCase.ImportRecord;
+import com.abcbank.onboarding.domain.port.in.ImportApplicationsUseCase.ImportResult;
+import com.abcbank.onboarding.domain.port.in.ImportApplicationsUseCase.ImportStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * REST Controller for bulk application imports from partner channels.
+ * Requires authentication as administrator.
+ *
+ * Endpoints:
+ * - POST /api/v1/admin/applications/import - Import applications from NDJSON or CSV
+ *
+ * The upload is read and imported batch by batch while results stream back, so neither
+ * the file nor the results are ever held in memory as a whole.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/admin")
+@Tag(name = "Bulk Import", description = "Endpoints for partner channels to import applications in bulk")
+@SecurityRequirement(name = "bearerAuth")
+public class BulkImportController {
+
+    private static final String TEXT_CSV = "text/csv";
+
+    private final ImportApplicationsUseCase importUseCase;
+    private final OnboardingDtoMapper mapper;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int maxRecordLength;
+
+    public BulkImportController(
+            ImportApplicationsUseCase importUseCase,
+            OnboardingDtoMapper mapper,
+            Validator validator,
+            ObjectMapper objectMapper,
+            @Value("${onboarding.bulk-import.batch-size:500}") int batchSize,
+            @Value("${onboarding.bulk-import.max-record-length:16384}") int maxRecordLength) {
+        this.importUseCase = importUseCase;
+        this.mapper = mapper;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    /**
+     * Imports applications from an NDJSON or CSV upload.
+     * Streams one NDJSON result line per record, followed by a summary line.
+     *
+     * @param request servlet request carrying the upload
+     * @param response servlet response the results are streamed to
+     * @param authentication Spring Security authentication
+     */
+    @PostMapping(
+            value = "/applications/import",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV},
+            produces = MediaType.APPLICATION_NDJSON_VALUE
+    )
+    @Operation(
+            summary = "Import applications in bulk",
+            description = "Imports applications from NDJSON (one OnboardingRequest per line) or CSV (header row, " +
+                    "address fields flattened). Records are validated like single applications, checked for " +
+                    "duplicates within the file and against existing customers, and stored in batches. " +
+                    "One result line per record is streamed back as batches complete, then a summary line."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Import processed; see the streamed results for each record",
+                    content = @Content(schema = @Schema(implementation = ImportRecordResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "CSV header is missing required columns",
+                    content = @Content(schema = @Schema(implementation = ApiResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden - Admin role required",
+                    content = @Content(schema = @Schema(implementation = ApiResponseDto.class))
+            )
+    })
+    public void importApplications(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            Authentication authentication) throws IOException {
+
+        Format format = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.parseMediaType(TEXT_CSV))
+                ? Format.CSV : Format.NDJSON;
+        ImportRecordReader reader = new ImportRecordReader(
+                new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8)),
+                format, objectMapper, maxRecordLength);
+
+        // Read ahead so a bad CSV header is still reported as a 400
+        ParsedRecord next = reader.next();
+
+        log.info("Bulk import ({}) started by {}", format, authentication.getName());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        Writer out = response.getWriter();
+
+        Map<ImportStatus, Long> totals = new EnumMap<>(ImportStatus.class);
+        String error = null;
+        try {
+            List<ParsedRecord> batch = new ArrayList<>(batchSize);
+            while (next != null) {
+                batch.add(next);
+                if (batch.size() == batchSize) {
+                    importBatch(batch, authentication.getName(), out, totals);
+                    batch.clear();
+                }
+                next = reader.next();
+            }
+            importBatch(batch, authentication.getName(), out, totals);
+        } catch (Exception e) {
+            log.error("Bulk import by {} stopped early", authentication.getName(), e);
+            error = "Import stopped early; records without a result line were not imported";
+        }
+
+        long records = totals.values().stream().mapToLong(Long::longValue).sum();
+        writeLine(out, new ImportSummaryResponse(
+                true,
+                records,
+                totals.getOrDefault(ImportStatus.CREATED, 0L),
+                totals.getOrDefault(ImportStatus.INVALID, 0L),
+                totals.getOrDefault(ImportStatus.DUPLICATE, 0L),
+                totals.getOrDefault(ImportStatus.FAILED, 0L),
+                error
+        ));
+        out.flush();
+        log.info("Bulk import by {} finished: {} records, {}", authentication.getName(), records, totals);
+    }
+
+    /**
+     * Validates a batch, imports the valid records and streams all results in line order.
+     */
+    private void importBatch(List<ParsedRecord> batch, String actor, Writer out,
+                             Map<ImportStatus, Long> totals) throws IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<ImportResult> rejected = new ArrayList<>();
+        List<ImportRecord> valid = new ArrayList<>();
+        for (ParsedRecord record : batch) {
+            String error = record.error() != null ? record.error() : validate(record.request());
+            if (error != null) {
+                rejected.add(ImportResult.rejected(record.line(), ImportStatus.INVALID, error));
+            } else {
+                valid.add(new ImportRecord(record.line(), mapper.toCreateCommand(record.request())));
+            }
+        }
+        List<ImportResult> imported = valid.isEmpty() ? List.of() : importUseCase.importBatch(valid, actor);
+
+        // Both lists are in line order; merge them
+        int r = 0;
+        int i = 0;
+        while (r < rejected.size() || i < imported.size()) {
+            ImportResult result = i == imported.size()
+                    || (r < rejected.size() && rejected.get(r).line() < imported.get(i).line())
+                    ? rejected.get(r++) : imported.get(i++);
+            totals.merge(result.status(), 1L, Long::sum);
+            writeLine(out, new ImportRecordResponse(
+                    result.line(), result.status().name(), result.applicationId(), result.error()));
+        }
+        out.flush();
+    }
+
+    private String validate(OnboardingRequest request) {
+        var violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void writeLine(Writer out, Object value) throws IOException {
+        out.write(objectMapper.writeValueAsString(value));
+        out.write('\n');
+    }
+}
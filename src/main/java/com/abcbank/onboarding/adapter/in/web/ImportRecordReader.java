@@ -0,0 +1,198 @@
+package com.abcbank.onboarding.adapter.in.web;
+
+import com.abcbank.onboarding.adapter.in.web.dto.AddressRequest;
+import com.abcbank.onboarding.adapter.in.web.dto.OnboardingRequest;
+import com.abcbank.onboarding.domain.exception.BusinessRuleViolationException;
+import com.abcbank.onboarding.domain.model.Gender;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads bulk import records one line at a time, so memory use depends on the longest
+ * record rather than the size of the upload.
+ *
+ * NDJSON: one OnboardingRequest JSON object per line.
+ * CSV: a header row naming the columns (address fields flattened: street, houseNumber,
+ * postalCode, city, country), then one record per line. Fields may be double-quoted, with
+ * "" for a literal quote; line breaks inside fields are not supported.
+ */
+public class ImportRecordReader {
+
+    static final List<String> CSV_COLUMNS = List.of(
+            "firstName", "lastName", "gender", "dateOfBirth", "phone", "email", "nationality",
+            "street", "houseNumber", "postalCode", "city", "country", "socialSecurityNumber");
+
+    public enum Format { NDJSON, CSV }
+
+    /**
+     * A parsed record, or the reason it could not be parsed
+     */
+    public record ParsedRecord(long line, OnboardingRequest request, String error) {}
+
+    private final Reader reader;
+    private final Format format;
+    private final ObjectMapper objectMapper;
+    private final int maxRecordLength;
+    private final StringBuilder buffer = new StringBuilder();
+    private Map<String, Integer> columns;
+    private long line;
+    private boolean overflow;
+    private boolean eof;
+
+    public ImportRecordReader(Reader reader, Format format, ObjectMapper objectMapper, int maxRecordLength) {
+        this.reader = reader;
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    /**
+     * @return the next record, or null at the end of the input
+     * @throws BusinessRuleViolationException if the CSV header is missing columns
+     */
+    public ParsedRecord next() throws IOException {
+        while (readLine()) {
+            if (overflow) {
+                return new ParsedRecord(line, null, "Record exceeds " + maxRecordLength + " characters");
+            }
+            if (buffer.toString().isBlank()) {
+                continue;
+            }
+            if (format == Format.CSV && columns == null) {
+                columns = parseHeader(splitCsv(buffer));
+                continue;
+            }
+            return format == Format.CSV ? parseCsv(splitCsv(buffer)) : parseJson(buffer.toString());
+        }
+        return null;
+    }
+
+    private ParsedRecord parseJson(String json) {
+        try {
+            return new ParsedRecord(line, objectMapper.readValue(json, OnboardingRequest.class), null);
+        } catch (JsonProcessingException e) {
+            return new ParsedRecord(line, null, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private ParsedRecord parseCsv(List<String> fields) {
+        if (fields.size() != columns.size()) {
+            return new ParsedRecord(line, null,
+                    "Expected " + columns.size() + " fields but found " + fields.size());
+        }
+
+        try {
+            String gender = field(fields, "gender");
+            String dateOfBirth = field(fields, "dateOfBirth");
+            return new ParsedRecord(line, new OnboardingRequest(
+                    field(fields, "firstName"),
+                    field(fields, "lastName"),
+                    gender == null ? null : Gender.valueOf(gender.toUpperCase(Locale.ROOT)),
+                    dateOfBirth == null ? null : LocalDate.parse(dateOfBirth),
+                    field(fields, "phone"),
+                    field(fields, "email"),
+                    field(fields, "nationality"),
+                    new AddressRequest(
+                            field(fields, "street"),
+                            field(fields, "houseNumber"),
+                            field(fields, "postalCode"),
+                            field(fields, "city"),
+                            field(fields, "country")),
+                    field(fields, "socialSecurityNumber")
+            ), null);
+        } catch (IllegalArgumentException e) {
+            return new ParsedRecord(line, null, "Invalid gender: must be one of MALE, FEMALE, OTHER, PREFER_NOT_TO_SAY");
+        } catch (DateTimeParseException e) {
+            return new ParsedRecord(line, null, "Invalid dateOfBirth: expected yyyy-MM-dd");
+        }
+    }
+
+    private String field(List<String> fields, String column) {
+        String value = fields.get(columns.get(column)).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private Map<String, Integer> parseHeader(List<String> header) {
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            indexes.put(header.get(i).trim(), i);
+        }
+
+        List<String> missing = CSV_COLUMNS.stream().filter(column -> !indexes.containsKey(column)).toList();
+        if (!missing.isEmpty()) {
+            throw new BusinessRuleViolationException("CSV header is missing columns: " + String.join(", ", missing));
+        }
+        return indexes;
+    }
+
+    static List<String> splitCsv(CharSequence row) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < row.length(); i++) {
+            char c = row.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < row.length() && row.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Reads the next line into the buffer, keeping at most maxRecordLength characters
+     * @return false at the end of the input
+     */
+    private boolean readLine() throws IOException {
+        if (eof) {
+            return false;
+        }
+
+        buffer.setLength(0);
+        overflow = false;
+        int c;
+        while ((c = reader.read()) != -1 && c != '\n') {
+            if (buffer.length() < maxRecordLength) {
+                buffer.append((char) c);
+            } else {
+                overflow = true; // keep consuming up to the line break
+            }
+        }
+        if (c == -1) {
+            eof = true;
+            if (buffer.isEmpty() && !overflow) {
+                return false;
+            }
+        }
+        if (!buffer.isEmpty() && buffer.charAt(buffer.length() - 1) == '\r') {
+            buffer.setLength(buffer.length() - 1);
+        }
+        line++;
+        return true;
+    }
+}
@@ -3,6 +3,7 @@ package com.abcbank.onboarding.adapter.in.web;
 import com.abcbank.onboarding.adapter.in.web.dto.ApiResponseDto;
 import com.abcbank.onboarding.adapter.in.web.dto.RateLimitStatusResponse;
 import com.abcbank.onboarding.adapter.in.web.dto.RateLimitConfigResponse;
+import com.abcbank.onboarding.infrastructure.security.RateLimitRuleTable;
 import com.abcbank.onboarding.infrastructure.security.RateLimitService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -16,7 +17,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Rate Limit Management Controller
@@ -31,9 +32,11 @@ import java.time.LocalDateTime;
 public class RateLimitController {
 
     private final RateLimitService rateLimitService;
+    private final RateLimitRuleTable ruleTable;
 
-    public RateLimitController(RateLimitService rateLimitService) {
+    public RateLimitController(RateLimitService rateLimitService, RateLimitRuleTable ruleTable) {
         this.rateLimitService = rateLimitService;
+        this.ruleTable = ruleTable;
     }
 
     /**
@@ -48,9 +51,10 @@ public class RateLimitController {
     public ResponseEntity<?> getRateLimitInfo(
             @RequestParam String key,
             @RequestParam String resource,
-            @RequestParam int limit) {
+            @RequestParam int limit,
+            @RequestParam(defaultValue = "3600000") long windowMillis) {
         try {
-            RateLimitService.RateLimitInfo info = rateLimitService.getRateLimitInfo(key, resource, limit);
+            RateLimitService.RateLimitInfo info = rateLimitService.getRateLimitInfo(key, resource, limit, windowMillis);
 
             RateLimitInfoResponse response = new RateLimitInfoResponse(
                     maskKey(key),
@@ -117,11 +121,12 @@ public class RateLimitController {
     })
     public ResponseEntity<ApiResponseDto> resetAllRateLimits(@RequestParam String resource) {
         try {
-            rateLimitService.resetAllRateLimits(resource);
+            RateLimitService.ResetResult result = rateLimitService.resetAllRateLimits(resource);
 
             log.info("Admin reset all rate limits for resource: {}", resource);
             return ResponseEntity.ok(ApiResponseDto.success(
                     "All rate limits reset successfully for resource: " + resource
+                            + " (" + result.deleted() + " keys removed in " + result.durationMillis() + " ms)"
             ));
         } catch (Exception e) {
             log.error("Error resetting all rate limits", e);
@@ -130,7 +135,61 @@ public class RateLimitController {
     }
 
     /**
-     * Get rate limit configuration (from constants)
+     * List rate limit keys page by page (SCAN cursor), hottest keys first within a page
+     */
+    @GetMapping("/keys")
+    @Operation(summary = "List rate limit keys", description = "Admin: Page through rate limit keys without blocking Redis")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Rate limit keys retrieved"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Admin only")
+    })
+    public ResponseEntity<?> listRateLimitKeys(
+            @RequestParam(required = false) String resource,
+            @RequestParam(defaultValue = "0") String cursor,
+            @RequestParam(defaultValue = "100") int count) {
+        if (!cursor.chars().allMatch(Character::isDigit) || count < 1 || count > 1000) {
+            return ResponseEntity.badRequest().body(ApiResponseDto.error("Cursor must be numeric and count between 1 and 1000"));
+        }
+        try {
+            RateLimitService.KeyPage page = rateLimitService.listRateLimitKeys(resource, cursor, count);
+
+            RateLimitKeyPageResponse response = new RateLimitKeyPageResponse(
+                    page.nextCursor(),
+                    "0".equals(page.nextCursor()),
+                    page.keys().stream()
+                            .map(stats -> new RateLimitKeyResponse(
+                                    maskRateLimitKey(stats.key()),
+                                    stats.count(),
+                                    stats.ttlMillis()
+                            ))
+                            .toList()
+            );
+
+            log.info("Admin listed {} rate limit keys for resource: {}", page.keys().size(), resource);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            log.error("Error listing rate limit keys", e);
+            return ResponseEntity.status(500).body(ApiResponseDto.error("Internal server error"));
+        }
+    }
+
+    /**
+     * Response record for a page of rate limit keys.
+     */
+    private record RateLimitKeyPageResponse(
+            String nextCursor,
+            boolean finished,
+            List<RateLimitKeyResponse> keys
+    ) {}
+
+    private record RateLimitKeyResponse(
+            String key,
+            long current,
+            long ttlMillis
+    ) {}
+
+    /**
+     * Get rate limit configuration (active rules, including runtime overrides)
      */
     @GetMapping("/config")
     @Operation(summary = "Get rate limit configuration", description = "Admin: View current rate limit configurations")
@@ -140,66 +199,91 @@ public class RateLimitController {
     })
     public ResponseEntity<?> getRateLimitConfig() {
         try {
-            // Create application rate limits
-            RateLimitConfigResponse.EndpointRateLimitConfig createApplication =
-                    new RateLimitConfigResponse.EndpointRateLimitConfig(
-                            5,
-                            3600, // 1 hour in seconds
-                            "IP-based rate limit for creating applications"
-                    );
-
-            // Send OTP rate limits
-            RateLimitConfigResponse.EndpointRateLimitConfig sendOtp =
-                    new RateLimitConfigResponse.EndpointRateLimitConfig(
-                            3,
-                            3600, // 1 hour in seconds
-                            "IP-based rate limit for sending OTP"
-                    );
-
-            // Verify OTP rate limits
-            RateLimitConfigResponse.VerifyOtpRateLimitConfig.ApplicationRateLimit verifyOtpApp =
-                    new RateLimitConfigResponse.VerifyOtpRateLimitConfig.ApplicationRateLimit(
-                            3,
-                            3600, // 1 hour in seconds
-                            "Application-based rate limit for OTP verification"
-                    );
-
-            RateLimitConfigResponse.VerifyOtpRateLimitConfig.IpAddressRateLimit verifyOtpIp =
-                    new RateLimitConfigResponse.VerifyOtpRateLimitConfig.IpAddressRateLimit(
-                            10,
-                            3600, // 1 hour in seconds
-                            "IP-based rate limit for OTP verification"
-                    );
-
-            RateLimitConfigResponse.VerifyOtpRateLimitConfig verifyOtp =
-                    new RateLimitConfigResponse.VerifyOtpRateLimitConfig(
-                            verifyOtpApp,
-                            verifyOtpIp
-                    );
-
-            // Upload document rate limits
-            RateLimitConfigResponse.EndpointRateLimitConfig uploadDocument =
-                    new RateLimitConfigResponse.EndpointRateLimitConfig(
-                            10,
-                            3600, // 1 hour in seconds
-                            "Application-based rate limit for document uploads"
-                    );
-
-            RateLimitConfigResponse config = new RateLimitConfigResponse(
-                    createApplication,
-                    sendOtp,
-                    verifyOtp,
-                    uploadDocument
-            );
+            List<RateLimitConfigResponse.RuleConfig> rules = ruleTable.getRules().stream()
+                    .map(rule -> new RateLimitConfigResponse.RuleConfig(
+                            rule.name(),
+                            rule.method(),
+                            rule.path(),
+                            rule.keyType().name(),
+                            rule.limit(),
+                            rule.windowMillis() / 1000,
+                            rule.description(),
+                            rule.algorithm().name(),
+                            rule.overridden()
+                    ))
+                    .toList();
 
             log.info("Admin retrieved rate limit configuration");
-            return ResponseEntity.ok(config);
+            return ResponseEntity.ok(new RateLimitConfigResponse(rules));
         } catch (Exception e) {
             log.error("Error retrieving rate limit config", e);
             return ResponseEntity.status(500).body(ApiResponseDto.error("Internal server error"));
         }
     }
 
+    /**
+     * Override limit and window of a rule on all nodes, without a redeploy
+     */
+    @PutMapping("/rules/{name}")
+    @Operation(summary = "Override rate limit rule", description = "Admin: Change limit and window of a rule at runtime")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Rule overridden successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid limit or window"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Admin only"),
+            @ApiResponse(responseCode = "404", description = "Rule not found")
+    })
+    public ResponseEntity<ApiResponseDto> overrideRule(
+            @PathVariable String name,
+            @RequestParam int limit,
+            @RequestParam long windowMillis) {
+        if (limit < 1 || windowMillis < 1000) {
+            return ResponseEntity.badRequest().body(ApiResponseDto.error("Limit must be positive and window at least 1000 ms"));
+        }
+        try {
+            if (!ruleTable.overrideRule(name, limit, windowMillis)) {
+                return ResponseEntity.status(404).body(ApiResponseDto.error("Rate limit rule not found: " + name));
+            }
+
+            log.info("Admin overrode rate limit rule: {} ({} per {} ms)", name, limit, windowMillis);
+            return ResponseEntity.ok(ApiResponseDto.success("Rate limit rule overridden: " + name));
+        } catch (Exception e) {
+            log.error("Error overriding rate limit rule", e);
+            return ResponseEntity.status(500).body(ApiResponseDto.error("Internal server error"));
+        }
+    }
+
+    /**
+     * Remove runtime override of a rule, reverting to configuration
+     */
+    @DeleteMapping("/rules/{name}")
+    @Operation(summary = "Clear rate limit rule override", description = "Admin: Revert a rule to its configured limit")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Override cleared successfully"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Admin only"),
+            @ApiResponse(responseCode = "404", description = "Rule not found")
+    })
+    public ResponseEntity<ApiResponseDto> clearRuleOverride(@PathVariable String name) {
+        try {
+            if (!ruleTable.clearOverride(name)) {
+                return ResponseEntity.status(404).body(ApiResponseDto.error("Rate limit rule not found: " + name));
+            }
+
+            log.info("Admin cleared rate limit override for rule: {}", name);
+            return ResponseEntity.ok(ApiResponseDto.success("Rate limit override cleared: " + name));
+        } catch (Exception e) {
+            log.error("Error clearing rate limit rule override", e);
+            return ResponseEntity.status(500).body(ApiResponseDto.error("Internal server error"));
+        }
+    }
+
+    /**
+     * Mask the client identifier of a full Redis key (rate_limit:resource:identifier)
+     */
+    private String maskRateLimitKey(String redisKey) {
+        int separator = redisKey.indexOf(':', "rate_limit:".length());
+        return separator < 0 ? maskKey(redisKey) : redisKey.substring(0, separator + 1) + maskKey(redisKey.substring(separator + 1));
+    }
+
     /**
      * Mask key for GDPR compliance
      */
@@ -4,6 +4,7 @@ import com.abcbank.onboarding.adapter.in.web.dto.*;
 import com.abcbank.onboarding.application.AuthenticationService;
 import com.abcbank.onboarding.domain.model.User;
 import com.abcbank.onboarding.infrastructure.security.JwtTokenService;
+import com.abcbank.onboarding.infrastructure.security.TokenRevocationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -31,7 +32,7 @@ import java.util.concurrent.CompletableFuture;
  * Endpoints:
  * - POST /api/v1/auth/login - Username/password login for internal users
  * - POST /api/v1/auth/refresh - Refresh access token using refresh token
- * - POST /api/v1/auth/logout - Logout and revoke refresh tokens
+ * - POST /api/v1/auth/logout - Logout and revoke refresh tokens and the access token
  * - GET /api/v1/auth/me - Get current user information
  *
  * Note: OTP endpoints for applicants are available in OnboardingController:
@@ -47,6 +48,7 @@ public class AuthController {
 
     private final AuthenticationService authenticationService;
     private final JwtTokenService jwtTokenService;
+    private final TokenRevocationService tokenRevocationService;
 
     /**
      * Login with username and password (for internal users: COMPLIANCE_OFFICER, ADMIN).
@@ -162,8 +164,8 @@ public class AuthController {
     @SecurityRequirement(name = "bearerAuth")
     @Operation(
             summary = "Logout user",
-            description = "Logs out the current user by revoking all their refresh tokens. " +
-                    "The access token will continue to work until it expires naturally (short-lived). " +
+            description = "Logs out the current user by revoking all their refresh tokens " +
+                    "and the access token used for this request. " +
                     "Requires a valid access token in the Authorization header."
     )
     @ApiResponses({
@@ -211,6 +213,11 @@ public class AuthController {
             // Revoke all refresh tokens
             authenticationService.logout(userId);
 
+            // Revoke the access token and its session on every node
+            long expiresAt = claims.getExpiration().getTime();
+            tokenRevocationService.revoke(claims.getId(), expiresAt);
+            tokenRevocationService.revoke(jwtTokenService.extractSessionId(claims), expiresAt);
+
             log.info("Logout successful for user: {}", userId);
             return ResponseEntity.ok(ApiResponseDto.success("Logged out successfully"));
 
@@ -0,0 +1,26 @@
+package com.abcbank.onboarding.adapter.in.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.UUID;
+
+/**
+ * Result of one bulk import record, streamed as one NDJSON line.
+ */
+@Schema(description = "Result of a single bulk import record")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ImportRecordResponse(
+        @Schema(description = "Line number in the uploaded file", example = "42")
+        long line,
+
+        @Schema(description = "Outcome", example = "CREATED", allowableValues = {"CREATED", "INVALID", "DUPLICATE", "FAILED"})
+        String status,
+
+        @Schema(description = "ID of the created application", example = "123e4567-e89b-12d3-a456-426614174000")
+        UUID applicationId,
+
+        @Schema(description = "Why the record was not imported", example = "Customer with this Email already exists in the system")
+        String error
+) {
+}
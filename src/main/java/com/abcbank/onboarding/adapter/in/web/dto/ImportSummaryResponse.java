@@ -0,0 +1,33 @@
+package com.abcbank.onboarding.adapter.in.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Totals of a bulk import, streamed as the last NDJSON line.
+ */
+@Schema(description = "Summary of a bulk import")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ImportSummaryResponse(
+        @Schema(description = "Marks the summary line", example = "true")
+        boolean summary,
+
+        @Schema(description = "Records read", example = "10000")
+        long records,
+
+        @Schema(description = "Applications created", example = "9950")
+        long created,
+
+        @Schema(description = "Records failing validation", example = "30")
+        long invalid,
+
+        @Schema(description = "Records matching an existing or earlier customer", example = "20")
+        long duplicates,
+
+        @Schema(description = "Records in batches that could not be stored", example = "0")
+        long failed,
+
+        @Schema(description = "Set if the import stopped before the end of the file")
+        String error
+) {
+}
@@ -1,34 +1,22 @@
 package com.abcbank.onboarding.adapter.in.web.dto;
 
+import java.util.List;
+
 /**
  * Response DTO for rate limit configuration information.
  */
 public record RateLimitConfigResponse(
-        EndpointRateLimitConfig createApplication,
-        EndpointRateLimitConfig sendOtp,
-        VerifyOtpRateLimitConfig verifyOtp,
-        EndpointRateLimitConfig uploadDocument
+        List<RuleConfig> rules
 ) {
-    public record EndpointRateLimitConfig(
+    public record RuleConfig(
+            String name,
+            String method,
+            String path,
+            String key,
             int maxRequests,
-            int windowSeconds,
-            String description
+            long windowSeconds,
+            String description,
+            String algorithm,
+            boolean overridden
     ) {}
-
-    public record VerifyOtpRateLimitConfig(
-            ApplicationRateLimit application,
-            IpAddressRateLimit ipAddress
-    ) {
-        public record ApplicationRateLimit(
-                int maxRequests,
-                int windowSeconds,
-                String description
-        ) {}
-
-        public record IpAddressRateLimit(
-                int maxRequests,
-                int windowSeconds,
-                String description
-        ) {}
-    }
 }
@@ -0,0 +1,223 @@
+package com.abcbank.onboarding.application;
+
+import com.abcbank.onboarding.domain.event.DomainEvent;
+import com.abcbank.onboarding.domain.model.AuditEvent;
+import com.abcbank.onboarding.domain.model.OnboardingApplication;
+import com.abcbank.onboarding.domain.port.in.CreateApplicationUseCase.CreateApplicationCommand;
+import com.abcbank.onboarding.domain.port.in.ImportApplicationsUseCase;
+import com.abcbank.onboarding.domain.port.out.AuditRepository;
+import com.abcbank.onboarding.domain.port.out.CustomerIdentifierLookup.Identifiers;
+import com.abcbank.onboarding.domain.port.out.EventPublisher;
+import com.abcbank.onboarding.domain.port.out.OnboardingRepository;
+import com.abcbank.onboarding.domain.service.DuplicateDetectionService;
+import com.abcbank.onboarding.domain.service.DuplicateDetectionService.DuplicateType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Application service for bulk imports from partner channels.
+ *
+ * Each batch is handled in one transaction:
+ * 1. Reject records that fail domain rules or repeat an identifier within the batch
+ * 2. Check the remaining records against existing customers with one lookup
+ * 3. Save the new applications with one saveAll, which goes through the same mapping
+ *    (and PII encryption) as single creates and is sent as JDBC batches
+ * 4. Claim their identifiers with one statement
+ * 5. Publish domain events and write a single audit record for the batch
+ *
+ * Records repeating an identifier from an earlier batch of the same file are caught by
+ * step 2, since earlier batches are already committed. If identifiers are claimed
+ * concurrently between steps 2 and 4, the batch is rolled back and checked again.
+ */
+@Slf4j
+@Service
+public class BulkImportService implements ImportApplicationsUseCase {
+
+    private static final int MAX_ATTEMPTS = 2;
+
+    private final DuplicateDetectionService duplicateDetectionService;
+    private final OnboardingRepository onboardingRepository;
+    private final EventPublisher eventPublisher;
+    private final AuditRepository auditRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public BulkImportService(
+            DuplicateDetectionService duplicateDetectionService,
+            OnboardingRepository onboardingRepository,
+            EventPublisher eventPublisher,
+            AuditRepository auditRepository,
+            PlatformTransactionManager transactionManager) {
+        this.duplicateDetectionService = duplicateDetectionService;
+        this.onboardingRepository = onboardingRepository;
+        this.eventPublisher = eventPublisher;
+        this.auditRepository = auditRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public List<ImportResult> importBatch(List<ImportRecord> records, String actor) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                List<ImportResult> results = transactionTemplate.execute(status -> importOnce(records, actor, status));
+                if (results != null) {
+                    return results;
+                }
+                log.info("Identifiers claimed concurrently, re-checking batch (attempt {})", attempt);
+            } catch (DataIntegrityViolationException e) {
+                log.warn("Batch rejected by a unique constraint, re-checking batch (attempt {}): {}",
+                        attempt, e.getMostSpecificCause().getMessage());
+            }
+        }
+
+        log.error("Failed to import batch of {} records after {} attempts", records.size(), MAX_ATTEMPTS);
+        return records.stream()
+                .map(record -> ImportResult.rejected(record.line(), ImportStatus.FAILED,
+                        "Batch could not be imported, please resubmit this record"))
+                .toList();
+    }
+
+    /**
+     * @return results, or null if the claim conflicted and the transaction was rolled back
+     */
+    private List<ImportResult> importOnce(List<ImportRecord> records, String actor, TransactionStatus status) {
+        ImportResult[] results = new ImportResult[records.size()];
+        List<Integer> candidates = rejectInvalidAndRepeated(records, results);
+
+        // Check against existing customers in one lookup
+        List<DuplicateType> duplicateTypes = duplicateDetectionService.detectDuplicateTypes(candidates.stream()
+                .map(i -> identifiersOf(records.get(i).command()))
+                .toList());
+
+        List<OnboardingApplication> applications = new ArrayList<>();
+        Map<UUID, Identifiers> claims = new LinkedHashMap<>();
+        for (int c = 0; c < candidates.size(); c++) {
+            int i = candidates.get(c);
+            ImportRecord record = records.get(i);
+            if (duplicateTypes.get(c) != DuplicateType.NONE) {
+                results[i] = ImportResult.rejected(record.line(), ImportStatus.DUPLICATE, String.format(
+                        "Customer with this %s already exists in the system", duplicateTypes.get(c).getDisplayName()));
+                continue;
+            }
+
+            OnboardingApplication application = toApplication(record.command());
+            applications.add(application);
+            claims.put(application.getId(), identifiersOf(record.command()));
+            results[i] = ImportResult.created(record.line(), application.getId());
+        }
+
+        onboardingRepository.saveAll(applications);
+        if (!duplicateDetectionService.registerCustomers(claims)) {
+            status.setRollbackOnly();
+            return null;
+        }
+
+        applications.forEach(this::publishDomainEvents);
+        createAuditEvent(actor, records.size(), results, claims.keySet());
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Fills in results for records that break domain rules or repeat an identifier
+     * seen earlier in the batch.
+     *
+     * @return indexes of the remaining records
+     */
+    private List<Integer> rejectInvalidAndRepeated(List<ImportRecord> records, ImportResult[] results) {
+        Set<String> ssns = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        Set<String> phones = new HashSet<>();
+        List<Integer> candidates = new ArrayList<>();
+
+        for (int i = 0; i < records.size(); i++) {
+            ImportRecord record = records.get(i);
+            CreateApplicationCommand command = record.command();
+            String email = command.email().trim().toLowerCase(Locale.ROOT);
+
+            if (command.dateOfBirth().isAfter(LocalDate.now().minusYears(18))) {
+                results[i] = ImportResult.rejected(record.line(), ImportStatus.INVALID,
+                        "Applicant must be at least 18 years old");
+            } else if (ssns.contains(command.socialSecurityNumber())) {
+                results[i] = repeated(record, DuplicateType.SSN);
+            } else if (emails.contains(email)) {
+                results[i] = repeated(record, DuplicateType.EMAIL);
+            } else if (phones.contains(command.phone())) {
+                results[i] = repeated(record, DuplicateType.PHONE);
+            } else {
+                ssns.add(command.socialSecurityNumber());
+                emails.add(email);
+                phones.add(command.phone());
+                candidates.add(i);
+            }
+        }
+        return candidates;
+    }
+
+    private ImportResult repeated(ImportRecord record, DuplicateType type) {
+        return ImportResult.rejected(record.line(), ImportStatus.DUPLICATE,
+                String.format("%s already used earlier in this import", type.getDisplayName()));
+    }
+
+    private Identifiers identifiersOf(CreateApplicationCommand command) {
+        return new Identifiers(command.socialSecurityNumber(), command.email(), command.phone());
+    }
+
+    private OnboardingApplication toApplication(CreateApplicationCommand command) {
+        return new OnboardingApplication(
+            UUID.randomUUID(),
+            command.firstName(),
+            command.lastName(),
+            command.gender(),
+            command.dateOfBirth(),
+            command.phone(),
+            command.email(),
+            command.nationality(),
+            command.residentialAddress(),
+            command.socialSecurityNumber()
+        );
+    }
+
+    /**
+     * Publishes all domain events from the application aggregate.
+     */
+    private void publishDomainEvents(OnboardingApplication application) {
+        for (DomainEvent event : application.getDomainEvents()) {
+            eventPublisher.publish(event);
+        }
+        application.clearEvents();
+    }
+
+    /**
+     * Creates one audit event for the whole batch instead of one per application.
+     */
+    private void createAuditEvent(String actor, int records, ImportResult[] results, Set<UUID> applicationIds) {
+        Map<String, Object> details = new HashMap<>();
+        details.put("records", records);
+        for (ImportStatus status : ImportStatus.values()) {
+            details.put(status.name().toLowerCase(Locale.ROOT),
+                    Arrays.stream(results).filter(result -> result.status() == status).count());
+        }
+        details.put("applicationIds", applicationIds.stream().map(UUID::toString).toList());
+
+        try {
+            auditRepository.save(new AuditEvent(
+                UUID.randomUUID(),
+                null, // batch-level event; application IDs are in the details
+                "APPLICATIONS_BULK_IMPORTED",
+                actor,
+                null,
+                null,
+                details
+            ));
+        } catch (Exception e) {
+            log.error("Failed to create audit event for bulk import batch", e);
+            // Don't fail the batch if audit fails
+        }
+    }
+}
@@ -10,6 +10,7 @@ import com.abcbank.onboarding.domain.port.in.ExportPersonalDataUseCase;
 import com.abcbank.onboarding.domain.port.out.AuditRepository;
 import com.abcbank.onboarding.domain.port.out.EventPublisher;
 import com.abcbank.onboarding.domain.port.out.OnboardingRepository;
+import com.abcbank.onboarding.domain.service.DuplicateDetectionService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -53,6 +54,7 @@ public class GdprComplianceService implements ExportPersonalDataUseCase {
     private final OnboardingRepository onboardingRepository;
     private final EventPublisher eventPublisher;
     private final AuditRepository auditRepository;
+    private final DuplicateDetectionService duplicateDetectionService;
 
     @Qualifier("asyncExecutor")
     private final Executor asyncExecutor;
@@ -263,6 +265,9 @@ public class GdprComplianceService implements ExportPersonalDataUseCase {
                 // Save anonymized application
                 OnboardingApplication savedApplication = onboardingRepository.save(application);
 
+                // Free the identifiers so the customer can apply again
+                duplicateDetectionService.releaseCustomer(applicationId);
+
                 // Create audit event (using original email for tracking)
                 createAuditEvent(
                     applicationId,
@@ -13,7 +13,6 @@ import com.abcbank.onboarding.domain.port.out.EventPublisher;
 import com.abcbank.onboarding.domain.port.out.OnboardingRepository;
 import com.abcbank.onboarding.domain.port.out.StorageService;
 import com.abcbank.onboarding.domain.service.DuplicateDetectionService;
-import com.abcbank.onboarding.domain.service.OtpService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.Logger;
@@ -53,7 +52,6 @@ public class OnboardingApplicationService implements
 
 
     private final OnboardingRepository onboardingRepository;
-    private final OtpService otpService;
     private final DuplicateDetectionService duplicateDetectionService;
     private final EventPublisher eventPublisher;
     private final StorageService storageService;
@@ -69,11 +67,11 @@ public class OnboardingApplicationService implements
      * 1. Validate input data
      * 2. Check for duplicate customers (SSN, email, phone)
      * 3. Create application aggregate
-     * 4. Generate OTP
-     * 5. Hash and save OTP
-     * 6. Save application
-     * 7. Publish ApplicationCreatedEvent
-     * 8. Create audit trail
+     * 4. Save application
+     * 5. Publish ApplicationCreatedEvent
+     * 6. Create audit trail
+     *
+     * The OTP is generated later, when the applicant requests it (OtpApplicationService.sendOtp).
      *
      * @param command CreateApplicationCommand containing applicant details
      * @return UUID of the created application
@@ -91,8 +89,7 @@ public class OnboardingApplicationService implements
             duplicateDetectionService.checkDuplicates(
                 command.socialSecurityNumber(),
                 command.email(),
-                command.phone(),
-                onboardingRepository
+                command.phone()
             );
 
             // Create application aggregate
@@ -110,14 +107,17 @@ public class OnboardingApplicationService implements
                 command.socialSecurityNumber()
             );
 
-            // Generate and set OTP
-            String otp = otpService.generateOtp();
-            String otpHash = otpService.hashOtp(otp);
-            LocalDateTime otpExpiry = otpService.generateOtpExpiryTime();
-
             // Save application
             OnboardingApplication savedApplication = onboardingRepository.save(application);
 
+            // Claim the identifiers; a concurrent duplicate that slipped past the check fails here
+            duplicateDetectionService.registerCustomer(
+                applicationId,
+                command.socialSecurityNumber(),
+                command.email(),
+                command.phone()
+            );
+
             // Publish domain events
             publishDomainEvents(savedApplication);
 
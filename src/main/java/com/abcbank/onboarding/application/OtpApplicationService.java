@@ -12,9 +12,9 @@ import com.abcbank.onboarding.domain.model.OtpVerification;
 import com.abcbank.onboarding.domain.port.in.VerifyOtpUseCase;
 import com.abcbank.onboarding.domain.port.out.AuditRepository;
 import com.abcbank.onboarding.domain.port.out.EventPublisher;
-import com.abcbank.onboarding.domain.port.out.NotificationService;
+import com.abcbank.onboarding.domain.port.out.NotificationOutbox;
 import com.abcbank.onboarding.domain.port.out.OnboardingRepository;
-import com.abcbank.onboarding.domain.port.out.OtpVerificationRepository;
+import com.abcbank.onboarding.domain.port.out.OtpChallengeStore;
 import com.abcbank.onboarding.domain.service.OtpService;
 import com.abcbank.onboarding.infrastructure.security.JwtTokenService;
 import lombok.RequiredArgsConstructor;
@@ -34,7 +34,7 @@ import java.util.concurrent.Executor;
  * Service for handling OTP (One-Time Password) operations.
  *
  * Responsibilities:
- * - Send OTP to applicants via SMS/Email
+ * - Send OTP to applicants via SMS/Email (queued in the notification outbox)
  * - Verify OTP codes
  * - Manage OTP expiry and attempt limits per channel
  * - Generate JWT tokens after successful verification
@@ -49,11 +49,11 @@ public class OtpApplicationService implements VerifyOtpUseCase {
     private static final int OTP_EXPIRY_SECONDS = 600; // 10 minutes
 
     private final OnboardingRepository onboardingRepository;
-    private final OtpVerificationRepository otpVerificationRepository;
+    private final OtpChallengeStore otpChallengeStore;
     private final OtpService otpService;
     private final JwtTokenService jwtTokenService;
     private final EventPublisher eventPublisher;
-    private final NotificationService notificationService;
+    private final NotificationOutbox notificationOutbox;
     private final AuditRepository auditRepository;
 
     @Qualifier("asyncExecutor")
@@ -65,11 +65,11 @@ public class OtpApplicationService implements VerifyOtpUseCase {
      * Process:
      * 1. Validate application exists
      * 2. Generate new OTP
-     * 3. Hash OTP for secure storage
-     * 4. Save OTP to otp_verification table with channel
-     * 5. Send OTP via specified channel (SMS or Email)
-     * 6. Publish OtpSentEvent
-     * 7. Create audit trail
+     * 3. Store the hashed OTP as the pending challenge for the channel
+     * 4. Queue OTP for delivery via specified channel (SMS or Email); the provider is
+     *    called by the notification dispatcher, not on the request path
+     * 5. Publish OtpSentEvent
+     * 6. Create audit trail
      *
      * @param applicationId UUID of the application
      * @param channel Channel to send OTP through (EMAIL or SMS)
@@ -90,30 +90,17 @@ public class OtpApplicationService implements VerifyOtpUseCase {
 
                 // Generate OTP
                 String otp = otpService.generateOtp();
-                String otpHash = otpService.hashOtp(otp);
                 LocalDateTime otpExpiry = otpService.generateOtpExpiryTime();
 
-                // Create OTP verification record
-                OtpVerification otpVerification = new OtpVerification(
-                    UUID.randomUUID(),
-                    applicationId,
-                    channel,
-                    otpHash,
-                    otpExpiry
-                );
+                // Store pending challenge (replaces any previous one for this channel)
+                otpChallengeStore.issue(applicationId, channel, otp, otpExpiry);
 
-                // Save OTP verification
-                otpVerificationRepository.save(otpVerification);
-
-                // Send OTP via specified channel
-                String contactInfo;
-                if (channel == OtpVerification.OtpChannel.EMAIL) {
-                    notificationService.sendOtpEmail(application.getEmail(), otp);
-                    contactInfo = maskContact(application.getEmail());
-                } else {
-                    notificationService.sendOtpSms(application.getPhone(), otp);
-                    contactInfo = maskContact(application.getPhone());
-                }
+                // Queue OTP for delivery via specified channel
+                String recipient = channel == OtpVerification.OtpChannel.EMAIL
+                    ? application.getEmail()
+                    : application.getPhone();
+                notificationOutbox.enqueueOtp(applicationId, channel, recipient, otp, otpExpiry);
+                String contactInfo = maskContact(recipient);
 
                 // Publish OtpSentEvent
                 eventPublisher.publish(new OtpSentEvent(
@@ -134,7 +121,7 @@ public class OtpApplicationService implements VerifyOtpUseCase {
                     )
                 );
 
-                log.info("Successfully sent OTP for application: {} via {}", applicationId, channel);
+                log.info("Successfully queued OTP for application: {} via {}", applicationId, channel);
                 return OTP_EXPIRY_SECONDS;
 
             } catch (Exception e) {
@@ -149,15 +136,13 @@ public class OtpApplicationService implements VerifyOtpUseCase {
      *
      * Process:
      * 1. Validate application exists
-     * 2. Find pending OTP for the channel
-     * 3. Check OTP expiry
-     * 4. Check attempt limits
-     * 5. Verify OTP against stored hash
-     * 6. Mark channel as verified in application
-     * 7. Update application status if needed
-     * 8. Publish OtpVerifiedEvent
-     * 9. Create audit trail
-     * 10. Generate and return JWT token
+     * 2. Verify against the pending challenge for the channel: expiry, attempt limit and
+     *    code are checked and the attempt counted in one step by the challenge store
+     * 3. Mark channel as verified in application
+     * 4. Update application status if needed
+     * 5. Publish OtpVerifiedEvent
+     * 6. Create audit trail
+     * 7. Generate and return JWT token
      *
      * @param command VerifyOtpCommand containing application ID, OTP, and channel
      * @return JWT token string for authenticated session
@@ -178,18 +163,19 @@ public class OtpApplicationService implements VerifyOtpUseCase {
                     "Application", command.applicationId().toString()
                 ));
 
-            // Find pending OTP verification for this channel
-            OtpVerification otpVerification = otpVerificationRepository
-                .findLatestByApplicationIdAndChannel(command.applicationId(), command.channel())
-                .orElseThrow(() -> new BusinessRuleViolationException(
+            // Verify against the pending challenge for this channel
+            OtpChallengeStore.VerificationResult result = otpChallengeStore.verify(
+                command.applicationId(), command.channel(), command.otp(), MAX_OTP_ATTEMPTS
+            );
+
+            if (result.outcome() == OtpChallengeStore.Outcome.NOT_FOUND) {
+                throw new BusinessRuleViolationException(
                     "No pending OTP found for this channel. Please request a new OTP."
-                ));
+                );
+            }
 
             // Check OTP expiry
-            if (otpVerification.isExpired()) {
-                otpVerification.markAsExpired();
-                otpVerificationRepository.save(otpVerification);
-
+            if (result.outcome() == OtpChallengeStore.Outcome.EXPIRED) {
                 createAuditEvent(
                     command.applicationId(),
                     "OTP_VERIFICATION_FAILED",
@@ -200,10 +186,7 @@ public class OtpApplicationService implements VerifyOtpUseCase {
             }
 
             // Check attempt limits
-            if (otpVerification.getAttempts() >= MAX_OTP_ATTEMPTS) {
-                otpVerification.markAsMaxAttemptsExceeded();
-                otpVerificationRepository.save(otpVerification);
-
+            if (result.outcome() == OtpChallengeStore.Outcome.MAX_ATTEMPTS_EXCEEDED) {
                 createAuditEvent(
                     command.applicationId(),
                     "OTP_VERIFICATION_FAILED",
@@ -215,35 +198,26 @@ public class OtpApplicationService implements VerifyOtpUseCase {
                 );
             }
 
-            // Verify OTP
-            boolean isValid = otpService.verifyOtp(command.otp(), otpVerification.getOtpHash());
-
-            if (!isValid) {
-                // Increment attempts
-                otpVerification.incrementAttempts();
-                otpVerificationRepository.save(otpVerification);
-
+            // Invalid OTP - the attempt has already been counted
+            if (result.outcome() == OtpChallengeStore.Outcome.INVALID) {
                 createAuditEvent(
                     command.applicationId(),
                     "OTP_VERIFICATION_FAILED",
                     "APPLICANT",
                     Map.of(
                         "reason", "Invalid OTP",
-                        "attempts", otpVerification.getAttempts(),
+                        "attempts", result.attempts(),
                         "channel", command.channel().name()
                     )
                 );
 
-                int remainingAttempts = MAX_OTP_ATTEMPTS - otpVerification.getAttempts();
+                int remainingAttempts = MAX_OTP_ATTEMPTS - result.attempts();
                 throw new BusinessRuleViolationException(
                     "Invalid OTP. " + remainingAttempts + " attempt(s) remaining."
                 );
             }
 
-            // OTP is valid - mark as verified
-            otpVerification.markAsVerified();
-            otpVerificationRepository.save(otpVerification);
-
+            // OTP is valid - the challenge has been consumed
             // Mark the channel as verified in the application
             if (command.channel() == OtpVerification.OtpChannel.EMAIL) {
                 application.markEmailAsVerified();
@@ -0,0 +1,38 @@
+package com.abcbank.onboarding.domain.port.in;
+
+import com.abcbank.onboarding.domain.port.in.CreateApplicationUseCase.CreateApplicationCommand;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Use case for importing applications in bulk from partner channels.
+ * Records arrive in batches; each batch is checked for duplicates and persisted together.
+ */
+public interface ImportApplicationsUseCase {
+
+    /**
+     * @return one result per record, in input order
+     */
+    List<ImportResult> importBatch(List<ImportRecord> records, String actor);
+
+    record ImportRecord(long line, CreateApplicationCommand command) {}
+
+    record ImportResult(long line, ImportStatus status, UUID applicationId, String error) {
+
+        public static ImportResult created(long line, UUID applicationId) {
+            return new ImportResult(line, ImportStatus.CREATED, applicationId, null);
+        }
+
+        public static ImportResult rejected(long line, ImportStatus status, String error) {
+            return new ImportResult(line, status, null, error);
+        }
+    }
+
+    enum ImportStatus {
+        CREATED,
+        INVALID,
+        DUPLICATE,
+        FAILED
+    }
+}
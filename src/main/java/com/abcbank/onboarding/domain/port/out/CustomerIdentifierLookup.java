@@ -0,0 +1,53 @@
+package com.abcbank.onboarding.domain.port.out;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Output port for checking whether customer identifiers are already in use.
+ *
+ * All three identifiers are checked together, so a duplicate check costs one lookup
+ * instead of one per identifier.
+ */
+public interface CustomerIdentifierLookup {
+
+    IdentifierMatches findMatches(String ssn, String email, String phone);
+
+    /**
+     * Check many customers in one lookup
+     * @return matches in the order of the given identifiers
+     */
+    List<IdentifierMatches> findMatches(List<Identifiers> identifiers);
+
+    /**
+     * Claim the identifiers for a newly created application, in the caller's transaction
+     * @return identifiers already claimed by another application
+     */
+    IdentifierMatches register(UUID applicationId, String ssn, String email, String phone);
+
+    /**
+     * Claim the identifiers for many new applications at once, in the caller's transaction
+     * @return false if any identifier was already claimed; the caller must roll back
+     */
+    boolean registerAll(Map<UUID, Identifiers> applications);
+
+    /**
+     * Free the identifiers claimed by an application, e.g. after GDPR anonymization
+     */
+    void release(UUID applicationId);
+
+    record Identifiers(String ssn, String email, String phone) {}
+
+    /**
+     * Which of the given identifiers belong to an existing application
+     */
+    record IdentifierMatches(boolean ssn, boolean email, boolean phone) {
+
+        public static final IdentifierMatches NONE = new IdentifierMatches(false, false, false);
+
+        public boolean any() {
+            return ssn || email || phone;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.abcbank.onboarding.domain.port.out;
+
+import com.abcbank.onboarding.domain.model.OtpVerification.OtpChannel;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Output port for notifications that are delivered asynchronously.
+ *
+ * enqueue records the message durably and returns without contacting the provider;
+ * delivery, retries and provider timeouts are handled by the dispatcher behind the port.
+ */
+public interface NotificationOutbox {
+
+    /**
+     * Queue an OTP for delivery; it is dropped undelivered once expiresAt has passed
+     */
+    void enqueueOtp(UUID applicationId, OtpChannel channel, String recipient, String otp, LocalDateTime expiresAt);
+}
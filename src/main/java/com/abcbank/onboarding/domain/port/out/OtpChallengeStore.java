@@ -0,0 +1,36 @@
+package com.abcbank.onboarding.domain.port.out;
+
+import com.abcbank.onboarding.domain.model.OtpVerification.OtpChannel;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Output port for pending OTP challenges: issue a code for an application and channel,
+ * then verify attempts against it.
+ *
+ * verify() checks expiry and the attempt limit, counts the attempt and consumes the
+ * challenge on success as one step, so concurrent attempts cannot exceed the limit.
+ */
+public interface OtpChallengeStore {
+
+    /**
+     * Store a new challenge, replacing any pending one for the same application and channel
+     */
+    void issue(UUID applicationId, OtpChannel channel, String otp, LocalDateTime expiresAt);
+
+    VerificationResult verify(UUID applicationId, OtpChannel channel, String otp, int maxAttempts);
+
+    enum Outcome {
+        VERIFIED,
+        INVALID,
+        EXPIRED,
+        MAX_ATTEMPTS_EXCEEDED,
+        NOT_FOUND
+    }
+
+    /**
+     * @param attempts failed attempts counted so far, including this one
+     */
+    record VerificationResult(Outcome outcome, int attempts) {}
+}
@@ -1,13 +1,18 @@
 package com.abcbank.onboarding.domain.service;
 
 import com.abcbank.onboarding.domain.exception.DuplicateCustomerException;
-import com.abcbank.onboarding.domain.port.out.OnboardingRepository;
+import com.abcbank.onboarding.domain.port.out.CustomerIdentifierLookup;
+import com.abcbank.onboarding.domain.port.out.CustomerIdentifierLookup.IdentifierMatches;
+import com.abcbank.onboarding.domain.port.out.CustomerIdentifierLookup.Identifiers;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.UUID;
 
 /**
  * Domain service for detecting duplicate customer records.
@@ -20,12 +25,16 @@ import java.util.Objects;
  * - Any duplicate triggers a DuplicateCustomerException
  *
  * This service enforces data integrity and compliance with regulatory requirements
- * that mandate unique identification of customers.
+ * that mandate unique identification of customers. All three identifiers are checked
+ * with a single lookup; the priority below only decides which match is reported.
  */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class DuplicateDetectionService {
 
+    private final CustomerIdentifierLookup identifierLookup;
+
     /**
      * Enum representing the type of duplicate detected.
      * Used for analytics, logging, and providing specific error messages.
@@ -69,29 +78,20 @@ public class DuplicateDetectionService {
      * @param ssn the Social Security Number to check
      * @param email the email address to check
      * @param phone the phone number to check
-     * @param repository the repository to query for existing records
      * @throws DuplicateCustomerException if any duplicate is found
      * @throws IllegalArgumentException if any parameter is null
      */
-    public void checkDuplicates(String ssn, String email, String phone, OnboardingRepository repository) {
+    public void checkDuplicates(String ssn, String email, String phone) {
         Objects.requireNonNull(ssn, "SSN cannot be null");
         Objects.requireNonNull(email, "Email cannot be null");
         Objects.requireNonNull(phone, "Phone cannot be null");
-        Objects.requireNonNull(repository, "Repository cannot be null");
 
         log.debug("Checking for duplicates: email={}, phone={}", email, phone);
 
-        DuplicateType duplicateType = detectDuplicateType(ssn, email, phone, repository);
+        DuplicateType duplicateType = detectDuplicateType(ssn, email, phone);
 
         if (duplicateType != DuplicateType.NONE) {
-            String errorMessage = String.format(
-                    "Customer with this %s already exists in the system",
-                    duplicateType.getDisplayName()
-            );
-
-            log.warn("Duplicate customer detected: type={}, field={}", duplicateType, duplicateType.getDisplayName());
-
-            throw new DuplicateCustomerException(errorMessage, duplicateType.name());
+            throw duplicateCustomer(duplicateType);
         }
 
         log.debug("No duplicates found - validation passed");
@@ -110,30 +110,32 @@ public class DuplicateDetectionService {
      * @param ssn the Social Security Number to check
      * @param email the email address to check
      * @param phone the phone number to check
-     * @param repository the repository to query for existing records
      * @return DuplicateType enum indicating which field is duplicated, or NONE
      * @throws IllegalArgumentException if any parameter is null
      */
-    public DuplicateType detectDuplicateType(String ssn, String email, String phone, OnboardingRepository repository) {
+    public DuplicateType detectDuplicateType(String ssn, String email, String phone) {
         Objects.requireNonNull(ssn, "SSN cannot be null");
         Objects.requireNonNull(email, "Email cannot be null");
         Objects.requireNonNull(phone, "Phone cannot be null");
-        Objects.requireNonNull(repository, "Repository cannot be null");
 
+        return firstDuplicate(identifierLookup.findMatches(ssn, email, phone));
+    }
+
+    private DuplicateType firstDuplicate(IdentifierMatches matches) {
         // Check SSN first (highest priority)
-        if (repository.existsBySocialSecurityNumber(ssn)) {
+        if (matches.ssn()) {
             log.info("Duplicate detected: SSN already exists");
             return DuplicateType.SSN;
         }
 
         // Check Email
-        if (repository.existsByEmail(email)) {
+        if (matches.email()) {
             log.info("Duplicate detected: Email already exists");
             return DuplicateType.EMAIL;
         }
 
         // Check Phone
-        if (repository.existsByPhone(phone)) {
+        if (matches.phone()) {
             log.info("Duplicate detected: Phone number already exists");
             return DuplicateType.PHONE;
         }
@@ -141,6 +143,19 @@ public class DuplicateDetectionService {
         return DuplicateType.NONE;
     }
 
+    /**
+     * Detects the duplicate type of many customers with a single lookup.
+     * Applies the same priority as detectDuplicateType to each customer.
+     *
+     * @param customers the identifiers to check
+     * @return one DuplicateType per customer, in the same order
+     */
+    public List<DuplicateType> detectDuplicateTypes(List<Identifiers> customers) {
+        return identifierLookup.findMatches(customers).stream()
+                .map(this::firstDuplicate)
+                .toList();
+    }
+
     /**
      * Detects all types of duplicates present (can detect multiple).
      * Useful for comprehensive validation and detailed error reporting.
@@ -148,27 +163,26 @@ public class DuplicateDetectionService {
      * @param ssn the Social Security Number to check
      * @param email the email address to check
      * @param phone the phone number to check
-     * @param repository the repository to query for existing records
      * @return List of all DuplicateTypes found (empty list if no duplicates)
      * @throws IllegalArgumentException if any parameter is null
      */
-    public List<DuplicateType> detectAllDuplicates(String ssn, String email, String phone, OnboardingRepository repository) {
+    public List<DuplicateType> detectAllDuplicates(String ssn, String email, String phone) {
         Objects.requireNonNull(ssn, "SSN cannot be null");
         Objects.requireNonNull(email, "Email cannot be null");
         Objects.requireNonNull(phone, "Phone cannot be null");
-        Objects.requireNonNull(repository, "Repository cannot be null");
 
+        IdentifierMatches matches = identifierLookup.findMatches(ssn, email, phone);
         List<DuplicateType> duplicates = new ArrayList<>();
 
-        if (repository.existsBySocialSecurityNumber(ssn)) {
+        if (matches.ssn()) {
             duplicates.add(DuplicateType.SSN);
         }
 
-        if (repository.existsByEmail(email)) {
+        if (matches.email()) {
             duplicates.add(DuplicateType.EMAIL);
         }
 
-        if (repository.existsByPhone(phone)) {
+        if (matches.phone()) {
             duplicates.add(DuplicateType.PHONE);
         }
 
@@ -179,6 +193,50 @@ public class DuplicateDetectionService {
         return duplicates;
     }
 
+    /**
+     * Claims the identifiers of a newly created application, so later duplicate checks
+     * see them. Call in the transaction that saves the application: the claim is atomic,
+     * so a concurrent application that passed checkDuplicates with the same identifiers
+     * fails here and its save is rolled back.
+     *
+     * @param applicationId the saved application
+     * @param ssn the Social Security Number now in use
+     * @param email the email address now in use
+     * @param phone the phone number now in use
+     * @throws DuplicateCustomerException if another application already holds an identifier
+     */
+    public void registerCustomer(UUID applicationId, String ssn, String email, String phone) {
+        DuplicateType duplicateType = firstDuplicate(identifierLookup.register(applicationId, ssn, email, phone));
+
+        if (duplicateType != DuplicateType.NONE) {
+            throw duplicateCustomer(duplicateType);
+        }
+    }
+
+    /**
+     * Claims the identifiers of many new applications at once, in the transaction that
+     * saves them.
+     *
+     * @param applications identifiers by application ID
+     * @return false if another application claimed an identifier after the check;
+     *         the caller must roll back and check the batch again
+     */
+    public boolean registerCustomers(Map<UUID, Identifiers> applications) {
+        if (applications.isEmpty()) {
+            return true;
+        }
+        return identifierLookup.registerAll(applications);
+    }
+
+    /**
+     * Frees the identifiers of an application whose personal data has been anonymized.
+     *
+     * @param applicationId the anonymized application
+     */
+    public void releaseCustomer(UUID applicationId) {
+        identifierLookup.release(applicationId);
+    }
+
     /**
      * Checks if any duplicates exist without throwing an exception.
      * Convenient boolean check for conditional logic.
@@ -186,11 +244,21 @@ public class DuplicateDetectionService {
      * @param ssn the Social Security Number to check
      * @param email the email address to check
      * @param phone the phone number to check
-     * @param repository the repository to query for existing records
      * @return true if any duplicate exists, false otherwise
      */
-    public boolean hasDuplicates(String ssn, String email, String phone, OnboardingRepository repository) {
-        DuplicateType type = detectDuplicateType(ssn, email, phone, repository);
+    public boolean hasDuplicates(String ssn, String email, String phone) {
+        DuplicateType type = detectDuplicateType(ssn, email, phone);
         return type != DuplicateType.NONE;
     }
+
+    private DuplicateCustomerException duplicateCustomer(DuplicateType duplicateType) {
+        String errorMessage = String.format(
+                "Customer with this %s already exists in the system",
+                duplicateType.getDisplayName()
+        );
+
+        log.warn("Duplicate customer detected: type={}, field={}", duplicateType, duplicateType.getDisplayName());
+
+        return new DuplicateCustomerException(errorMessage, duplicateType.name());
+    }
 }
@@ -0,0 +1,26 @@
+package com.abcbank.onboarding.domain.service;
+
+/**
+ * Strategy for hashing OTPs for storage and checking a provided OTP against a stored hash.
+ *
+ * An OTP is short-lived and protected by attempt limits and expiry, not by hash cost, so
+ * implementations should be fast. They must compare in constant time.
+ */
+public interface OtpHasher {
+
+    /**
+     * @return hash of the OTP, safe to store
+     */
+    String hash(String otp);
+
+    /**
+     * @return true if the OTP matches the stored hash
+     */
+    boolean matches(String otp, String storedHash);
+
+    /**
+     * Deterministic keyed digest of the OTP bound to a context (e.g. application and channel),
+     * for stores that compare the code server-side in one atomic step
+     */
+    String digest(String otp, String context);
+}
@@ -1,7 +1,6 @@
 package com.abcbank.onboarding.domain.service;
 
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.security.SecureRandom;
@@ -10,11 +9,11 @@ import java.util.Objects;
 
 /**
  * Domain service for OTP (One-Time Password) generation and verification.
- * Handles secure OTP generation, BCrypt hashing, and verification logic.
+ * Handles secure OTP generation, hashing, and verification logic.
  *
  * Security Features:
  * - Uses SecureRandom for cryptographically strong random number generation
- * - BCrypt hashing with adaptive cost factor for secure storage
+ * - Fast keyed hashing (OtpHasher) for storage; attempt limits and expiry protect the code
  * - 10-minute expiry window to limit attack surface
  * - Thread-safe implementation
  */
@@ -26,15 +25,15 @@ public class OtpService {
     private static final int OTP_EXPIRY_MINUTES = 10;
     private static final SecureRandom secureRandom = new SecureRandom();
 
-    private final PasswordEncoder passwordEncoder;
+    private final OtpHasher otpHasher;
 
     /**
-     * Constructor injection of PasswordEncoder (BCrypt).
+     * Constructor injection of the OTP hashing strategy.
      *
-     * @param passwordEncoder Spring Security BCrypt password encoder
+     * @param otpHasher OTP hasher (HMAC-SHA256 with a server-side pepper)
      */
-    public OtpService(PasswordEncoder passwordEncoder) {
-        this.passwordEncoder = Objects.requireNonNull(passwordEncoder, "PasswordEncoder cannot be null");
+    public OtpService(OtpHasher otpHasher) {
+        this.otpHasher = Objects.requireNonNull(otpHasher, "OtpHasher cannot be null");
     }
 
     /**
@@ -53,12 +52,10 @@ public class OtpService {
     }
 
     /**
-     * Hashes the OTP using BCrypt for secure storage.
-     * BCrypt is a computationally expensive algorithm that provides protection against
-     * brute-force attacks through adaptive cost factor and automatic salting.
+     * Hashes the OTP for secure storage.
      *
      * @param otp the plain-text OTP to hash
-     * @return BCrypt hash of the OTP
+     * @return hash of the OTP
      * @throws IllegalArgumentException if otp is null or empty
      */
     public String hashOtp(String otp) {
@@ -71,19 +68,19 @@ public class OtpService {
             throw new IllegalArgumentException("OTP must be exactly " + OTP_LENGTH + " digits");
         }
 
-        String hash = passwordEncoder.encode(otp);
+        String hash = otpHasher.hash(otp);
 
-        log.debug("OTP hashed successfully using BCrypt");
+        log.debug("OTP hashed successfully");
 
         return hash;
     }
 
     /**
-     * Verifies a provided OTP against the stored BCrypt hash.
+     * Verifies a provided OTP against the stored hash.
      * Uses constant-time comparison to prevent timing attacks.
      *
      * @param providedOtp the OTP provided by the user
-     * @param hashedOtp the BCrypt hash stored in the database
+     * @param hashedOtp the hash stored in the database
      * @return true if the OTP matches, false otherwise
      * @throws IllegalArgumentException if either parameter is null or empty
      */
@@ -98,7 +95,7 @@ public class OtpService {
             throw new IllegalArgumentException("Hashed OTP cannot be null or empty");
         }
 
-        boolean matches = passwordEncoder.matches(providedOtp, hashedOtp);
+        boolean matches = otpHasher.matches(providedOtp, hashedOtp);
 
         if (matches) {
             log.debug("OTP verification successful");
@@ -0,0 +1,122 @@
+package com.abcbank.onboarding.infrastructure.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compact Redis value codec: a small versioned header followed by a Jackson Smile
+ * (binary JSON) payload, with no default typing.
+ *
+ * Layout (version 1): [0x01][type id: 1 byte][payload]
+ * Well-known types have a fixed type id. Other types use id 0 followed by the class name
+ * (2-byte length + UTF-8), restricted to this application's packages.
+ *
+ * Values that do not start with a known version byte are read with the legacy JSON
+ * serializer, so entries written before the switch stay readable until they expire.
+ */
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    static final byte VERSION_1 = 0x01;
+    private static final byte CLASS_NAME_TYPE_ID = 0;
+    private static final String ALLOWED_PACKAGE = "com.abcbank.onboarding.";
+
+    // Type ids are persisted - never renumber, only append
+    private static final Map<Class<?>, Byte> TYPE_IDS = Map.of(
+            String.class, (byte) 1,
+            Long.class, (byte) 2,
+            Integer.class, (byte) 3,
+            Boolean.class, (byte) 4,
+            Double.class, (byte) 5
+    );
+    private static final Map<Byte, Class<?>> TYPES_BY_ID = new HashMap<>();
+
+    static {
+        TYPE_IDS.forEach((type, id) -> TYPES_BY_ID.put(id, type));
+    }
+
+    private final ObjectMapper smileMapper;
+    private final RedisSerializer<Object> legacySerializer;
+
+    /**
+     * @param legacySerializer reader for values written before the compact codec was enabled
+     */
+    public CompactRedisSerializer(RedisSerializer<Object> legacySerializer) {
+        this.smileMapper = new ObjectMapper(new SmileFactory());
+        this.smileMapper.registerModule(new JavaTimeModule());
+        this.legacySerializer = legacySerializer;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(VERSION_1);
+
+            Byte typeId = TYPE_IDS.get(value.getClass());
+            if (typeId != null) {
+                out.writeByte(typeId);
+            } else {
+                byte[] className = checkAllowed(value.getClass().getName()).getBytes(StandardCharsets.UTF_8);
+                out.writeByte(CLASS_NAME_TYPE_ID);
+                out.writeShort(className.length);
+                out.write(className);
+            }
+
+            smileMapper.writeValue(out, value);
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new SerializationException("Could not write compact Redis value", e);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != VERSION_1) {
+            return legacySerializer.deserialize(bytes); // written as JSON before the switch
+        }
+
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, bytes.length - 1);
+            byte typeId = buffer.get();
+            Class<?> type;
+            if (typeId == CLASS_NAME_TYPE_ID) {
+                byte[] className = new byte[buffer.getShort()];
+                buffer.get(className);
+                type = Class.forName(checkAllowed(new String(className, StandardCharsets.UTF_8)));
+            } else {
+                type = TYPES_BY_ID.get(typeId);
+                if (type == null) {
+                    throw new SerializationException("Unknown compact Redis type id: " + typeId);
+                }
+            }
+            return smileMapper.readValue(bytes, buffer.position(), buffer.remaining(), type);
+        } catch (IOException | ClassNotFoundException e) {
+            throw new SerializationException("Could not read compact Redis value", e);
+        }
+    }
+
+    private static String checkAllowed(String className) {
+        if (!className.startsWith(ALLOWED_PACKAGE)) {
+            throw new SerializationException("Type not allowed in Redis values: " + className);
+        }
+        return className;
+    }
+}
@@ -0,0 +1,46 @@
+package com.abcbank.onboarding.infrastructure.config;
+
+import com.abcbank.onboarding.infrastructure.security.RateLimitAlgorithm;
+import com.abcbank.onboarding.infrastructure.security.RateLimitKeyType;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rate limit rules bound from onboarding.rate-limit.rules
+ * Compiled into a route table by RateLimitRuleTable at startup
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "onboarding.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /** Largest body buffered for body-based keys (EMAIL_DOMAIN, PHONE); larger requests get 413 */
+    private int maxBodySize = 65536;
+
+    private List<Rule> rules = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Rule {
+        /** Resource name, used as part of the Redis key (e.g. create_application) */
+        private String name;
+        private String method = "POST";
+        /** Path template, variables in braces (e.g. /api/v1/onboarding/applications/{id}/send-otp) */
+        private String path;
+        private RateLimitKeyType key = RateLimitKeyType.IP;
+        private int limit;
+        /** Window in milliseconds */
+        private long window = 3600000;
+        /** SLIDING_WINDOW (exact count per window) or GCRA (one timestamp per key, evenly spaced requests) */
+        private RateLimitAlgorithm algorithm = RateLimitAlgorithm.SLIDING_WINDOW;
+        private String description;
+    }
+}
@@ -1,12 +1,18 @@
 package com.abcbank.onboarding.infrastructure.config;
 
+import com.abcbank.onboarding.infrastructure.security.BoundedPasswordEncoder;
 import com.abcbank.onboarding.infrastructure.security.JwtAuthenticationEntryPoint;
 import com.abcbank.onboarding.infrastructure.security.JwtAuthenticationFilter;
+import com.abcbank.onboarding.infrastructure.security.PublicEndpoints;
+import com.abcbank.onboarding.infrastructure.security.IdempotencyFilter;
 import com.abcbank.onboarding.infrastructure.security.RateLimitFilter;
 import com.abcbank.onboarding.infrastructure.security.SessionFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.config.annotation.web.configurers.AuthorizeHttpRequestsConfigurer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -32,15 +38,18 @@ public class SecurityConfig {
     private final RateLimitFilter rateLimitFilter;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final SessionFilter sessionFilter;
+    private final IdempotencyFilter idempotencyFilter;
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
 
     public SecurityConfig(RateLimitFilter rateLimitFilter,
                           JwtAuthenticationFilter jwtAuthenticationFilter,
                           SessionFilter sessionFilter,
+                          IdempotencyFilter idempotencyFilter,
                           JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint) {
         this.rateLimitFilter = rateLimitFilter;
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
         this.sessionFilter = sessionFilter;
+        this.idempotencyFilter = idempotencyFilter;
         this.jwtAuthenticationEntryPoint = jwtAuthenticationEntryPoint;
     }
 
@@ -57,28 +66,14 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
 
                 // Authorization rules
-                .authorizeHttpRequests(auth -> auth
-                        // Public endpoints (no authentication)
-                        .requestMatchers(HttpMethod.POST, "/api/v1/onboarding/applications").permitAll()
-                        .requestMatchers(HttpMethod.POST, "/api/v1/onboarding/applications/*/send-otp").permitAll()
-                        .requestMatchers(HttpMethod.POST, "/api/v1/onboarding/applications/*/verify-otp").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/api/v1/onboarding/applications/*/status").permitAll()
-
-                        // Authentication endpoints (public for login/register, protected for logout/me)
-                        .requestMatchers(HttpMethod.POST, "/api/v1/auth/login").permitAll()
-                        .requestMatchers(HttpMethod.POST, "/api/v1/auth/send-otp").permitAll()
-                        .requestMatchers(HttpMethod.POST, "/api/v1/auth/verify-otp").permitAll()
-                        .requestMatchers(HttpMethod.POST, "/api/v1/auth/refresh").permitAll()
+                .authorizeHttpRequests(auth -> permitPublicEndpoints(auth)
+                        // Authentication endpoints (login/refresh are public, logout/me are protected)
                         .requestMatchers(HttpMethod.POST, "/api/v1/auth/logout").authenticated()
                         .requestMatchers(HttpMethod.GET, "/api/v1/auth/me").authenticated()
 
-                        // Actuator endpoints
-                        .requestMatchers("/actuator/health", "/actuator/info").permitAll()
+                        // Actuator endpoints (health/info are public)
                         .requestMatchers("/actuator/**").hasRole("ADMIN")
 
-                        // Swagger/OpenAPI
-                        .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
-
                         // Applicant endpoints (JWT required)
                         .requestMatchers("/api/v1/applicant/**").hasRole("APPLICANT")
 
@@ -115,18 +110,33 @@ public class SecurityConfig {
                 .addFilterAfter(jwtAuthenticationFilter, RateLimitFilter.class)
 
                 // Add Session filter after JWT filter (Order 2)
-                .addFilterAfter(sessionFilter, JwtAuthenticationFilter.class);
+                .addFilterAfter(sessionFilter, JwtAuthenticationFilter.class)
+
+                // Add Idempotency filter after Session filter (Order 3)
+                .addFilterAfter(idempotencyFilter, SessionFilter.class);
 
         return http.build();
     }
 
+    /**
+     * Public endpoints (no authentication), shared with JwtAuthenticationFilter
+     */
+    private AuthorizeHttpRequestsConfigurer<HttpSecurity>.AuthorizationManagerRequestMatcherRegistry permitPublicEndpoints(
+            AuthorizeHttpRequestsConfigurer<HttpSecurity>.AuthorizationManagerRequestMatcherRegistry auth) {
+        for (PublicEndpoints.Endpoint endpoint : PublicEndpoints.ENDPOINTS) {
+            auth.requestMatchers(endpoint.method(), endpoint.pattern()).permitAll();
+        }
+        return auth;
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(List.of("http://localhost:3000", "https://abc.nl"));
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
-        configuration.setExposedHeaders(List.of("Authorization", "X-RateLimit-Limit", "X-RateLimit-Remaining", "X-RateLimit-Reset"));
+        configuration.setExposedHeaders(List.of("Authorization", "X-RateLimit-Limit", "X-RateLimit-Remaining", "X-RateLimit-Reset",
+                "Idempotent-Replayed"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
 
@@ -135,8 +145,17 @@ public class SecurityConfig {
         return source;
     }
 
+    /**
+     * BCrypt(12) on a bounded pool, so hashing cannot take every request thread's CPU
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    public PasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${onboarding.password-hashing.threads:0}") int threads,
+            @Value("${onboarding.password-hashing.queue-capacity:16}") int queueCapacity,
+            @Value("${onboarding.password-hashing.timeout:5000}") long timeoutMillis) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(12), poolSize, queueCapacity,
+                timeoutMillis, meterRegistry);
     }
 }
@@ -0,0 +1,12 @@
+package com.abcbank.onboarding.infrastructure.exception;
+
+/**
+ * Duplicate checks cannot be answered yet (blind index still being backfilled); the
+ * request is rejected rather than risking a duplicate customer
+ */
+public class DuplicateCheckUnavailableException extends RuntimeException {
+
+    public DuplicateCheckUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -2,8 +2,10 @@ package com.abcbank.onboarding.infrastructure.exception;
 
 import com.abcbank.onboarding.domain.exception.*;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.validation.FieldError;
@@ -181,7 +183,7 @@ public class GlobalExceptionHandler {
     // ========== Rate Limiting ==========
 
     @ExceptionHandler(RateLimitExceededException.class)
-    public ProblemDetail handleRateLimitExceeded(RateLimitExceededException ex, WebRequest request) {
+    public ResponseEntity<ProblemDetail> handleRateLimitExceeded(RateLimitExceededException ex, WebRequest request) {
         String traceId = UUID.randomUUID().toString();
         log.warn("Rate limit exceeded, traceId: {}", traceId);
 
@@ -192,7 +194,47 @@ public class GlobalExceptionHandler {
         problem.setProperty("timestamp", Instant.now());
         problem.setProperty("traceId", traceId);
 
-        return problem;
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS);
+        if (ex.getRetryAfterSeconds() != null) {
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+        }
+        return response.body(problem);
+    }
+
+    @ExceptionHandler(HashingCapacityExceededException.class)
+    public ResponseEntity<ProblemDetail> handleHashingCapacityExceeded(HashingCapacityExceededException ex,
+                                                                       WebRequest request) {
+        String traceId = UUID.randomUUID().toString();
+        log.warn("Password hashing capacity exceeded, traceId: {}", traceId);
+
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE,
+                "Authentication is temporarily busy. Please try again shortly");
+        problem.setType(URI.create(ERROR_BASE_URL + "service-busy"));
+        problem.setTitle("Service Busy");
+        problem.setProperty("timestamp", Instant.now());
+        problem.setProperty("traceId", traceId);
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(problem);
+    }
+
+    @ExceptionHandler(DuplicateCheckUnavailableException.class)
+    public ResponseEntity<ProblemDetail> handleDuplicateCheckUnavailable(DuplicateCheckUnavailableException ex,
+                                                                         WebRequest request) {
+        String traceId = UUID.randomUUID().toString();
+        log.warn("Duplicate check unavailable, traceId: {}", traceId);
+
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE,
+                "Applications cannot be created right now. Please try again shortly");
+        problem.setType(URI.create(ERROR_BASE_URL + "service-unavailable"));
+        problem.setTitle("Service Unavailable");
+        problem.setProperty("timestamp", Instant.now());
+        problem.setProperty("traceId", traceId);
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body(problem);
     }
 
     // ========== Generic Exception ==========
@@ -0,0 +1,11 @@
+package com.abcbank.onboarding.infrastructure.exception;
+
+/**
+ * Password hashing pool is saturated; the request is rejected rather than queued
+ */
+public class HashingCapacityExceededException extends RuntimeException {
+
+    public HashingCapacityExceededException(String message) {
+        super(message);
+    }
+}
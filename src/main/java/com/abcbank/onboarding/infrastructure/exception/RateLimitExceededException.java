@@ -2,11 +2,34 @@ package com.abcbank.onboarding.infrastructure.exception;
 
 public class RateLimitExceededException extends RuntimeException {
 
+    private final Long retryAfterMillis;
+
     public RateLimitExceededException(String message) {
         super(message);
+        this.retryAfterMillis = null;
+    }
+
+    public RateLimitExceededException(String message, long retryAfterMillis) {
+        super(message);
+        this.retryAfterMillis = retryAfterMillis;
     }
 
     public RateLimitExceededException(String message, Throwable cause) {
         super(message, cause);
+        this.retryAfterMillis = null;
+    }
+
+    /**
+     * Time until the request would be allowed, or null if unknown
+     */
+    public Long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+
+    /**
+     * Retry-After header value in whole seconds (rounded up), or null if unknown
+     */
+    public Long getRetryAfterSeconds() {
+        return retryAfterMillis == null ? null : Math.max(1, (retryAfterMillis + 999) / 1000);
     }
 }
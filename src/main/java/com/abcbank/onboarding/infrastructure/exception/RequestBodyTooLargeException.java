@@ -0,0 +1,11 @@
+package com.abcbank.onboarding.infrastructure.exception;
+
+/**
+ * Request body exceeds the size a filter is willing to buffer; the request is rejected with 413
+ */
+public class RequestBodyTooLargeException extends RuntimeException {
+
+    public RequestBodyTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,231 @@
+package com.abcbank.onboarding.infrastructure.notification;
+
+import com.abcbank.onboarding.domain.model.OtpVerification.OtpChannel;
+import com.abcbank.onboarding.domain.port.out.NotificationOutbox;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import javax.sql.DataSource;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.IntSupplier;
+
+/**
+ * Postgres-backed notification outbox (notification_outbox table).
+ *
+ * The recipient and code are stored AES-GCM encrypted, bound to the row id, and the
+ * payload is cleared as soon as a message is sent or given up. Messages are claimed with
+ * FOR UPDATE SKIP LOCKED under a lease: claiming pushes next_attempt_at past the provider
+ * timeout plus backoff, so a delivery that hangs, or a node that dies mid-delivery, is
+ * retried by any replica without further writes.
+ */
+@Slf4j
+@Component
+public class JdbcNotificationOutbox implements NotificationOutbox {
+
+    private static final String CIPHER = "AES/GCM/NoPadding";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+
+    private static final String INSERT = """
+            INSERT INTO notification_outbox
+                (id, application_id, channel, payload, status, attempts, next_attempt_at, expires_at, created_at)
+            VALUES (?, ?, ?, ?, 'PENDING', 0, ?, ?, ?)
+            """;
+
+    private static final String CLAIM = """
+            UPDATE notification_outbox
+            SET attempts = attempts + 1,
+                next_attempt_at = ? + interval '1 millisecond' * (? + LEAST(? * power(2, attempts), ?))
+            WHERE id IN (SELECT id FROM notification_outbox
+                         WHERE status = 'PENDING' AND channel = ? AND next_attempt_at <= ?
+                           AND expires_at > ? AND attempts < ?
+                         ORDER BY next_attempt_at LIMIT ? FOR UPDATE SKIP LOCKED)
+            RETURNING id, application_id, channel, payload, attempts, expires_at
+            """;
+
+    private static final String MARK_SENT = """
+            UPDATE notification_outbox SET status = 'SENT', payload = NULL, sent_at = ?, last_error = NULL
+            WHERE id = ?
+            """;
+
+    private static final String MARK_FAILED = """
+            UPDATE notification_outbox SET status = 'FAILED', payload = NULL, last_error = ?
+            WHERE id = ? AND status = 'PENDING'
+            """;
+
+    private static final String RESCHEDULE = """
+            UPDATE notification_outbox SET next_attempt_at = ?, last_error = ?
+            WHERE id = ? AND status = 'PENDING'
+            """;
+
+    // Pending messages that can no longer be delivered, once any in-flight lease has ended
+    private static final String ABANDON_CHUNK = """
+            UPDATE notification_outbox
+            SET status = CASE WHEN expires_at <= ? THEN 'EXPIRED' ELSE 'FAILED' END, payload = NULL
+            WHERE id IN (SELECT id FROM notification_outbox
+                         WHERE status = 'PENDING' AND next_attempt_at <= ?
+                           AND (expires_at <= ? OR attempts >= ?)
+                         LIMIT ? FOR UPDATE SKIP LOCKED)
+            """;
+
+    private static final String PURGE_CHUNK = """
+            DELETE FROM notification_outbox
+            WHERE id IN (SELECT id FROM notification_outbox
+                         WHERE status <> 'PENDING' AND created_at < ?
+                         LIMIT ? FOR UPDATE SKIP LOCKED)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SecretKeySpec payloadKey;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public JdbcNotificationOutbox(
+            DataSource dataSource,
+            @Value("${onboarding.notification.outbox.secret}") String secret) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.payloadKey = new SecretKeySpec(sha256(secret), "AES");
+    }
+
+    @Override
+    public void enqueueOtp(UUID applicationId, OtpChannel channel, String recipient, String otp,
+                           LocalDateTime expiresAt) {
+        UUID id = UUID.randomUUID();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update(INSERT, id, applicationId, channel.name(), encrypt(id, recipient + "\n" + otp),
+                now, Timestamp.valueOf(expiresAt), now);
+        log.debug("Queued OTP notification {} for application {} via {}", id, applicationId, channel);
+    }
+
+    /**
+     * Claim due messages for one channel; each claim counts as an attempt
+     *
+     * @param leaseMillis time before the message is due again if no outcome is recorded,
+     *                    on top of the backoff for its attempt
+     */
+    public List<OutboxMessage> claim(OtpChannel channel, int limit, int maxAttempts, long leaseMillis,
+                                     long initialBackoffMillis, long maxBackoffMillis) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.query(CLAIM, this::toMessage,
+                        now, leaseMillis, initialBackoffMillis, maxBackoffMillis,
+                        channel.name(), now, now, maxAttempts, limit)
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    public void markSent(UUID id) {
+        jdbcTemplate.update(MARK_SENT, Timestamp.valueOf(LocalDateTime.now()), id);
+    }
+
+    public void markFailed(UUID id, String error) {
+        jdbcTemplate.update(MARK_FAILED, error, id);
+    }
+
+    public void reschedule(UUID id, LocalDateTime nextAttemptAt, String error) {
+        jdbcTemplate.update(RESCHEDULE, Timestamp.valueOf(nextAttemptAt), error, id);
+    }
+
+    /**
+     * Mark expired or exhausted pending messages EXPIRED/FAILED, in chunks
+     */
+    public long abandonUndeliverable(int maxAttempts, int chunkSize) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return runInChunks(chunkSize, () -> jdbcTemplate.update(ABANDON_CHUNK, now, now, now, maxAttempts, chunkSize));
+    }
+
+    /**
+     * Delete finished messages created before the cutoff, in chunks
+     */
+    public long purgeFinished(LocalDateTime cutoff, int chunkSize) {
+        Timestamp cutoffTimestamp = Timestamp.valueOf(cutoff);
+        return runInChunks(chunkSize, () -> jdbcTemplate.update(PURGE_CHUNK, cutoffTimestamp, chunkSize));
+    }
+
+    private long runInChunks(int chunkSize, IntSupplier chunk) {
+        long total = 0;
+        int affected;
+        do {
+            affected = chunk.getAsInt();
+            total += affected;
+        } while (affected == chunkSize);
+        return total;
+    }
+
+    private OutboxMessage toMessage(ResultSet rs, int rowNum) throws SQLException {
+        UUID id = rs.getObject("id", UUID.class);
+        String payload;
+        try {
+            payload = decrypt(id, rs.getBytes("payload"));
+        } catch (GeneralSecurityException | RuntimeException e) {
+            // Left pending; it is marked FAILED once its attempts run out
+            log.error("Could not decrypt notification outbox payload {}", id);
+            return null;
+        }
+        int separator = payload.indexOf('\n');
+        return new OutboxMessage(
+                id,
+                rs.getObject("application_id", UUID.class),
+                OtpChannel.valueOf(rs.getString("channel")),
+                payload.substring(0, separator),
+                payload.substring(separator + 1),
+                rs.getInt("attempts"),
+                rs.getTimestamp("expires_at").toLocalDateTime());
+    }
+
+    byte[] encrypt(UUID id, String plaintext) {
+        try {
+            byte[] iv = new byte[IV_LENGTH];
+            secureRandom.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance(CIPHER);
+            cipher.init(Cipher.ENCRYPT_MODE, payloadKey, new GCMParameterSpec(TAG_BITS, iv));
+            cipher.updateAAD(id.toString().getBytes(StandardCharsets.UTF_8));
+            byte[] ciphertext = cipher.doFinal(plaintext.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.allocate(IV_LENGTH + ciphertext.length).put(iv).put(ciphertext).array();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not encrypt notification payload", e);
+        }
+    }
+
+    String decrypt(UUID id, byte[] payload) throws GeneralSecurityException {
+        Cipher cipher = Cipher.getInstance(CIPHER);
+        cipher.init(Cipher.DECRYPT_MODE, payloadKey, new GCMParameterSpec(TAG_BITS, payload, 0, IV_LENGTH));
+        cipher.updateAAD(id.toString().getBytes(StandardCharsets.UTF_8));
+        return new String(cipher.doFinal(payload, IV_LENGTH, payload.length - IV_LENGTH), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] sha256(String secret) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * A claimed message; attempts includes the current claim
+     */
+    public record OutboxMessage(UUID id, UUID applicationId, OtpChannel channel, String recipient, String otp,
+                                int attempts, LocalDateTime expiresAt) {
+
+        @Override
+        public String toString() {
+            return "OutboxMessage[id=" + id + ", channel=" + channel + ", attempts=" + attempts + "]";
+        }
+    }
+}
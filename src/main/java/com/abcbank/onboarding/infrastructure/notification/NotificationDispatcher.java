@@ -0,0 +1,252 @@
+package com.abcbank.onboarding.infrastructure.notification;
+
+import com.abcbank.onboarding.domain.model.OtpVerification.OtpChannel;
+import com.abcbank.onboarding.domain.port.out.NotificationService;
+import com.abcbank.onboarding.infrastructure.notification.JdbcNotificationOutbox.OutboxMessage;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers queued notifications from the outbox through the NotificationService provider.
+ *
+ * Each channel has its own fixed pool, sized to its concurrency limit, so a slow SMS
+ * provider cannot hold up email. A poll claims at most as many messages per channel as
+ * the channel has free slots; a slot stays taken until its worker returns. A provider call
+ * that exceeds the timeout is interrupted and retried once its lease ends; a provider error is retried with exponential backoff;
+ * after max-attempts the message is marked FAILED. Delivery is at least once: a provider
+ * call that completes after its timeout may still be retried.
+ */
+@Slf4j
+@Component
+public class NotificationDispatcher implements DisposableBean {
+
+    private final JdbcNotificationOutbox outbox;
+    private final NotificationService notificationService;
+    private final MeterRegistry meterRegistry;
+    private final Map<OtpChannel, Lane> lanes = new EnumMap<>(OtpChannel.class);
+    private final ScheduledThreadPoolExecutor timeouts;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long providerTimeoutMillis;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final long retentionMillis;
+
+    public NotificationDispatcher(
+            JdbcNotificationOutbox outbox,
+            NotificationService notificationService,
+            MeterRegistry meterRegistry,
+            @Value("${onboarding.notification.outbox.enabled:true}") boolean enabled,
+            @Value("${onboarding.notification.outbox.batch-size:50}") int batchSize,
+            @Value("${onboarding.notification.outbox.max-attempts:5}") int maxAttempts,
+            @Value("${onboarding.notification.outbox.provider-timeout:5000}") long providerTimeoutMillis,
+            @Value("${onboarding.notification.outbox.initial-backoff:1000}") long initialBackoffMillis,
+            @Value("${onboarding.notification.outbox.max-backoff:30000}") long maxBackoffMillis,
+            @Value("${onboarding.notification.outbox.retention:86400000}") long retentionMillis,
+            @Value("${onboarding.notification.outbox.concurrency.email:8}") int emailConcurrency,
+            @Value("${onboarding.notification.outbox.concurrency.sms:4}") int smsConcurrency) {
+        this.outbox = outbox;
+        this.notificationService = notificationService;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.providerTimeoutMillis = providerTimeoutMillis;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.retentionMillis = retentionMillis;
+
+        this.timeouts = new ScheduledThreadPoolExecutor(1, new CustomizableThreadFactory("notify-timeout-"));
+        this.timeouts.setRemoveOnCancelPolicy(true);
+        lanes.put(OtpChannel.EMAIL, lane(OtpChannel.EMAIL, emailConcurrency));
+        lanes.put(OtpChannel.SMS, lane(OtpChannel.SMS, smsConcurrency));
+
+        log.info("Notification dispatcher initialized: email concurrency {}, sms concurrency {}, provider timeout {} ms",
+                emailConcurrency, smsConcurrency, providerTimeoutMillis);
+    }
+
+    /**
+     * Claim due messages for every channel with free slots and hand them to the channel pools
+     * @return number of messages claimed
+     */
+    @Scheduled(fixedDelayString = "${onboarding.notification.outbox.poll-interval:200}")
+    public int dispatch() {
+        if (!enabled) {
+            return 0;
+        }
+        int claimed = 0;
+        for (Map.Entry<OtpChannel, Lane> entry : lanes.entrySet()) {
+            claimed += dispatch(entry.getKey(), entry.getValue());
+        }
+        return claimed;
+    }
+
+    /**
+     * Give up on undeliverable messages and purge finished ones past the retention window
+     */
+    @Scheduled(cron = "${onboarding.notification.outbox.cleanup-cron:0 */5 * * * *}")
+    public long cleanup() {
+        if (!enabled) {
+            return -1;
+        }
+        long abandoned = outbox.abandonUndeliverable(maxAttempts, batchSize);
+        long purged = outbox.purgeFinished(LocalDateTime.now().minusNanos(retentionMillis * 1_000_000), batchSize);
+        if (abandoned > 0) {
+            meterRegistry.counter("notification.outbox.abandoned").increment(abandoned);
+            log.warn("Notification outbox gave up on {} expired or exhausted messages", abandoned);
+        }
+        log.debug("Notification outbox purged {} finished messages", purged);
+        return abandoned + purged;
+    }
+
+    private int dispatch(OtpChannel channel, Lane lane) {
+        int free = Math.min(lane.permits().availablePermits(), batchSize);
+        if (free == 0) {
+            return 0; // channel saturated, due messages wait for the next poll or another replica
+        }
+
+        List<OutboxMessage> messages;
+        try {
+            messages = outbox.claim(channel, free, maxAttempts, providerTimeoutMillis,
+                    initialBackoffMillis, maxBackoffMillis);
+        } catch (DataAccessException e) {
+            log.warn("Could not claim {} notifications: {}", channel, e.getMessage());
+            return 0;
+        }
+
+        for (OutboxMessage message : messages) {
+            lane.permits().acquireUninterruptibly(); // only this thread acquires, so it never blocks
+            FutureTask<Void> task = new FutureTask<>(() -> deliver(message, lane), null) {
+                @Override
+                public void run() {
+                    // The timeout starts with the provider call, and the slot is only freed once
+                    // this worker is done, even if an interrupted call keeps running after cancel
+                    try {
+                        ScheduledFuture<?> timeout = timeouts.schedule(() -> {
+                            if (cancel(true)) {
+                                count(channel, "timeout");
+                                log.warn("Notification {} timed out after {} ms, will retry",
+                                        message.id(), providerTimeoutMillis);
+                            }
+                        }, providerTimeoutMillis, TimeUnit.MILLISECONDS);
+                        try {
+                            super.run();
+                        } finally {
+                            timeout.cancel(false);
+                        }
+                    } finally {
+                        lane.permits().release();
+                    }
+                }
+            };
+            try {
+                lane.executor().execute(task);
+            } catch (RejectedExecutionException e) {
+                lane.permits().release(); // shutting down; the lease makes it due again
+            }
+        }
+        return messages.size();
+    }
+
+    private void deliver(OutboxMessage message, Lane lane) {
+        try {
+            lane.duration().record(() -> send(message));
+        } catch (RuntimeException e) {
+            retryOrFail(message, e);
+            return;
+        }
+        try {
+            outbox.markSent(message.id());
+            count(message.channel(), "sent");
+        } catch (DataAccessException e) {
+            log.error("Notification {} sent but not marked, it may be sent again", message.id(), e);
+        }
+    }
+
+    private void send(OutboxMessage message) {
+        if (message.channel() == OtpChannel.EMAIL) {
+            notificationService.sendOtpEmail(message.recipient(), message.otp());
+        } else {
+            notificationService.sendOtpSms(message.recipient(), message.otp());
+        }
+    }
+
+    private void retryOrFail(OutboxMessage message, RuntimeException error) {
+        // Only the exception type is stored; provider messages may contain the recipient
+        String reason = error.getClass().getSimpleName();
+        try {
+            if (message.attempts() >= maxAttempts) {
+                outbox.markFailed(message.id(), reason);
+                count(message.channel(), "failed");
+                log.error("Notification {} for application {} failed after {} attempts: {}",
+                        message.id(), message.applicationId(), message.attempts(), reason);
+                return;
+            }
+            outbox.reschedule(message.id(), LocalDateTime.now().plusNanos(backoffMillis(message.attempts()) * 1_000_000),
+                    reason);
+            count(message.channel(), "retried");
+            log.warn("Notification {} attempt {} failed ({}), will retry", message.id(), message.attempts(), reason);
+        } catch (DataAccessException e) {
+            log.error("Could not record outcome of notification {}, lease will retry it", message.id(), e);
+        }
+    }
+
+    long backoffMillis(int attempts) {
+        return Math.min(initialBackoffMillis << Math.min(attempts - 1, 30), maxBackoffMillis);
+    }
+
+    private void count(OtpChannel channel, String outcome) {
+        meterRegistry.counter("notification.outbox.deliveries",
+                "channel", channel.name().toLowerCase(Locale.ROOT), "outcome", outcome).increment();
+    }
+
+    private Lane lane(OtpChannel channel, int concurrency) {
+        String name = channel.name().toLowerCase(Locale.ROOT);
+        int threads = Math.max(1, concurrency);
+        // Permits are held until a worker finishes, so at most one task per thread is ever queued
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads), new CustomizableThreadFactory("notify-" + name + "-"));
+        Semaphore permits = new Semaphore(threads);
+
+        Gauge.builder("notification.outbox.in-flight", permits, p -> threads - p.availablePermits())
+                .tag("channel", name)
+                .description("Notifications claimed and not yet finished")
+                .register(meterRegistry);
+        Timer duration = Timer.builder("notification.outbox.delivery.duration")
+                .tag("channel", name)
+                .description("Provider call time per notification")
+                .register(meterRegistry);
+        return new Lane(permits, executor, duration);
+    }
+
+    @Override
+    public void destroy() {
+        timeouts.shutdownNow();
+        lanes.values().forEach(lane -> lane.executor().shutdown());
+    }
+
+    private record Lane(Semaphore permits, ThreadPoolExecutor executor, Timer duration) {}
+}
@@ -0,0 +1,45 @@
+package com.abcbank.onboarding.infrastructure.persistence;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+
+/**
+ * Deterministic keyed hashes (HMAC-SHA256) of customer identifiers, stored next to the
+ * encrypted values so equality lookups and uniqueness work without decrypting.
+ *
+ * Values are normalized first, so formatting variants of the same SSN, phone number or
+ * email map to the same entry. Changing the secret invalidates every stored entry; the
+ * table has to be cleared and backfilled again.
+ */
+@Component
+public class BlindIndex {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final SecretKeySpec secretKey;
+
+    public BlindIndex(@Value("${onboarding.blind-index.secret}") String secret) {
+        this.secretKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+    }
+
+    /**
+     * @return 43-character URL-safe digest
+     */
+    String digest(IdentifierType type, String value) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(secretKey);
+            mac.update(type.prefix);
+            return ENCODER.encodeToString(mac.doFinal(type.normalize(value).getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.abcbank.onboarding.infrastructure.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Fills application_blind_index for applications created before it existed.
+ *
+ * Walks onboarding_application in id order, batch-size rows at a time, picking only rows
+ * without entries. The identifier columns hold AES-GCM ciphertext, so each value is
+ * decrypted before it is hashed; anonymized applications are skipped. Entries are inserted
+ * with one batched statement per batch. Each batch is its own short transaction, with a
+ * pause in between. Inserts skip entries that already exist, so replicas running at the
+ * same time, or racing new registrations, do no harm. An identifier already indexed for
+ * another application (a duplicate from before uniqueness was enforced) is logged with
+ * both application ids. Until a run finds nothing left, duplicate checks on this node are
+ * refused (see JdbcCustomerIdentifierLookup). Disable it only once every application is
+ * indexed; a disabled backfill counts as complete.
+ */
+@Slf4j
+@Component
+public class BlindIndexBackfill {
+
+    // %s is the cursor, empty for the first batch. Postgres orders UUIDs as unsigned bytes,
+    // which no java.util.UUID start value matches, so the first batch has no lower bound.
+    private static final String SELECT_BATCH = """
+            SELECT a.id, a.ssn, a.email, a.phone FROM onboarding_application a
+            WHERE %sNOT EXISTS (SELECT 1 FROM application_blind_index b WHERE b.application_id = a.id)
+            ORDER BY a.id LIMIT ?
+            """;
+    static final String SELECT_FIRST_BATCH = SELECT_BATCH.formatted("");
+    static final String SELECT_NEXT_BATCH = SELECT_BATCH.formatted("a.id > ? AND ");
+
+    private static final RowMapper<Object[]> ROW_MAPPER = (rs, rowNum) -> new Object[]{
+            rs.getObject(1, UUID.class), rs.getString(2), rs.getString(3), rs.getString(4)
+    };
+
+    private static final String INSERT = """
+            INSERT INTO application_blind_index (identifier_type, digest, application_id)
+            VALUES (?, ?, ?) ON CONFLICT DO NOTHING
+            """;
+
+    private static final String FIND_OWNER = """
+            SELECT application_id FROM application_blind_index WHERE identifier_type = ? AND digest = ?
+            """;
+
+    // Set by OnboardingApplication.anonymize(); such applications hold no identifiers
+    private static final String ANONYMIZED_SSN = "DELETED";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlindIndex blindIndex;
+    private final PiiCipher piiCipher;
+    private final int batchSize;
+    private final long batchPauseMillis;
+    private final List<Runnable> completionListeners = new CopyOnWriteArrayList<>();
+    private volatile boolean complete;
+
+    public BlindIndexBackfill(
+            DataSource dataSource,
+            BlindIndex blindIndex,
+            PiiCipher piiCipher,
+            @Value("${onboarding.blind-index.backfill.enabled:true}") boolean enabled,
+            @Value("${onboarding.blind-index.backfill.batch-size:1000}") int batchSize,
+            @Value("${onboarding.blind-index.backfill.batch-pause:50}") long batchPauseMillis) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.blindIndex = blindIndex;
+        this.piiCipher = piiCipher;
+        this.batchSize = Math.max(1, batchSize);
+        this.batchPauseMillis = batchPauseMillis;
+        this.complete = !enabled;
+    }
+
+    /**
+     * True once every application has blind index entries
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Run the listener when a run completes the backfill
+     */
+    public void onComplete(Runnable listener) {
+        completionListeners.add(listener);
+    }
+
+    /**
+     * Runs at startup and retries until a run completes
+     * @return applications backfilled, or -1 if disabled, already complete or failed
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${onboarding.blind-index.backfill.retry-interval:300000}")
+    public long backfill() {
+        if (complete) {
+            return -1;
+        }
+
+        long startedAt = System.currentTimeMillis();
+        long applications = 0;
+        long conflicts = 0;
+        long unreadable = 0;
+        UUID lastId = null;
+        try {
+            List<Object[]> batch;
+            do {
+                List<Object[]> entries = new ArrayList<>();
+                batch = lastId == null
+                        ? jdbcTemplate.query(SELECT_FIRST_BATCH, ROW_MAPPER, batchSize)
+                        : jdbcTemplate.query(SELECT_NEXT_BATCH, ROW_MAPPER, lastId, batchSize);
+                for (Object[] row : batch) {
+                    UUID id = (UUID) row[0];
+                    lastId = id;
+                    String ssn;
+                    String email;
+                    String phone;
+                    try {
+                        ssn = piiCipher.decrypt((String) row[1]);
+                        email = piiCipher.decrypt((String) row[2]);
+                        phone = piiCipher.decrypt((String) row[3]);
+                    } catch (IllegalArgumentException e) {
+                        unreadable++;
+                        log.error("Blind index backfill cannot decrypt the identifiers of application {}, "
+                                + "it is not covered by duplicate checks", id);
+                        continue;
+                    }
+                    if (ANONYMIZED_SSN.equals(ssn)) {
+                        continue;
+                    }
+                    addEntry(entries, IdentifierType.SSN, ssn, id);
+                    addEntry(entries, IdentifierType.EMAIL, email, id);
+                    addEntry(entries, IdentifierType.PHONE, phone, id);
+                    applications++;
+                }
+                if (!entries.isEmpty()) {
+                    int[] inserted = jdbcTemplate.batchUpdate(INSERT, entries);
+                    for (int i = 0; i < inserted.length; i++) {
+                        if (inserted[i] == 0) {
+                            conflicts++;
+                            logConflict(entries.get(i));
+                        }
+                    }
+                }
+                if (batch.size() == batchSize && !pause()) {
+                    return -1;
+                }
+            } while (batch.size() == batchSize);
+        } catch (Exception e) {
+            log.warn("Blind index backfill failed after {} applications, will retry: {}", applications, e.getMessage());
+            return -1;
+        }
+
+        complete = true;
+        if (conflicts > 0) {
+            log.warn("Blind index backfill skipped {} identifiers already indexed for another application", conflicts);
+        }
+        if (unreadable > 0) {
+            log.error("Blind index backfill could not decrypt {} applications", unreadable);
+        }
+        log.info("Blind index backfill completed: {} applications in {} ms",
+                applications, System.currentTimeMillis() - startedAt);
+        completionListeners.forEach(Runnable::run);
+        return applications;
+    }
+
+    private void addEntry(List<Object[]> entries, IdentifierType type, String value, UUID applicationId) {
+        if (value != null) {
+            entries.add(new Object[]{type.name(), blindIndex.digest(type, value), applicationId});
+        }
+    }
+
+    /**
+     * An existing customer sharing an identifier with an older application; ids only, no PII
+     */
+    private void logConflict(Object[] entry) {
+        List<UUID> owners = jdbcTemplate.queryForList(FIND_OWNER, UUID.class, entry[0], entry[1]);
+        log.warn("Blind index backfill: {} of application {} is already indexed for application {}",
+                entry[0], entry[2], owners.isEmpty() ? "unknown" : owners.get(0));
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(batchPauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Blind index backfill interrupted, stopping early");
+            return false;
+        }
+    }
+}
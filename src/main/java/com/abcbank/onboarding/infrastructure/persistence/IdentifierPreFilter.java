@@ -0,0 +1,299 @@
+package com.abcbank.onboarding.infrastructure.persistence;
+
+import com.abcbank.onboarding.domain.port.out.CustomerIdentifierLookup.IdentifierMatches;
+import com.abcbank.onboarding.infrastructure.security.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory Bloom filters of the SSNs, emails and phone numbers already in use, so the
+ * duplicate check for a new customer (almost every create) skips the database.
+ *
+ * Filters hold the blind index digests of the identifiers, never the identifiers
+ * themselves. A "no" from all three filters is definite; anything else falls through to
+ * the exact query. Until the first build completes every check falls through.
+ *
+ * The filters are built by streaming application_blind_index, so the first build waits for
+ * the BlindIndexBackfill; they are rebuilt periodically, which drops identifiers released
+ * by anonymization and resizes the filters.
+ * New applications are added on the creating node and broadcast to the other nodes over
+ * Redis pub/sub as hashes; additions received while rebuilding are carried over. A lost
+ * message only costs a duplicate rejected by the unique constraints instead of here,
+ * until the next rebuild.
+ */
+@Slf4j
+@Component
+public class IdentifierPreFilter implements MessageListener {
+
+    static final String ADDITIONS_CHANNEL = "identifier:additions";
+    private static final int FETCH_SIZE = 1000;
+    private static final IdentifierMatches ALL = new IdentifierMatches(true, true, true);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final BlindIndex blindIndex;
+    private final BlindIndexBackfill backfill;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final Counter skipped;
+    private final Counter queried;
+    private final Counter ssnFalsePositives;
+    private final Counter emailFalsePositives;
+    private final Counter phoneFalsePositives;
+
+    private final Object lock = new Object();
+    private volatile Filters filters; // null until the first build
+    private List<String[]> receivedDuringRebuild; // guarded by lock
+    private volatile long lastRowCount;
+
+    public IdentifierPreFilter(
+            RedisTemplate<String, Object> redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            BlindIndex blindIndex,
+            BlindIndexBackfill backfill,
+            @Value("${onboarding.duplicate-filter.enabled:true}") boolean enabled,
+            @Value("${onboarding.duplicate-filter.expected-insertions:10000000}") long expectedInsertions,
+            @Value("${onboarding.duplicate-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.redisTemplate = redisTemplate;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE); // stream rows instead of loading all
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true); // PostgreSQL only honours the fetch size inside a transaction
+        this.blindIndex = blindIndex;
+        this.backfill = backfill;
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+
+        Gauge.builder("duplicate.filter.memory", this, f -> f.filters != null ? f.filters.sizeInBytes() : 0)
+                .baseUnit("bytes")
+                .description("Memory held by the duplicate pre-filters")
+                .register(meterRegistry);
+        for (IdentifierType type : IdentifierType.values()) {
+            Gauge.builder("duplicate.filter.expected-false-positive-rate", this,
+                            f -> f.filters != null ? f.filters.expectedFalsePositiveRate(type) : 1)
+                    .tag("type", type.tag)
+                    .description("False positive probability of the duplicate pre-filter at its current fill")
+                    .register(meterRegistry);
+        }
+        this.skipped = checks(meterRegistry, "skipped");
+        this.queried = checks(meterRegistry, "queried");
+        this.ssnFalsePositives = falsePositives(meterRegistry, IdentifierType.SSN);
+        this.emailFalsePositives = falsePositives(meterRegistry, IdentifierType.EMAIL);
+        this.phoneFalsePositives = falsePositives(meterRegistry, IdentifierType.PHONE);
+
+        listenerContainer.addMessageListener(this, new ChannelTopic(ADDITIONS_CHANNEL));
+        backfill.onComplete(this::rebuild); // first build, instead of waiting a rebuild interval
+    }
+
+    /**
+     * Identifiers that may already be in use; a false field is definitely not in use
+     */
+    public IdentifierMatches mightMatch(String ssn, String email, String phone) {
+        Filters current = filters;
+        if (!enabled || current == null) {
+            return ALL;
+        }
+        IdentifierMatches possible = new IdentifierMatches(
+                current.ssn.mightContain(blindIndex.digest(IdentifierType.SSN, ssn)),
+                current.email.mightContain(blindIndex.digest(IdentifierType.EMAIL, email)),
+                current.phone.mightContain(blindIndex.digest(IdentifierType.PHONE, phone)));
+        (possible.any() ? queried : skipped).increment();
+        return possible;
+    }
+
+    /**
+     * Count possible matches that the exact query did not confirm
+     */
+    public void recordOutcome(IdentifierMatches possible, IdentifierMatches actual) {
+        if (possible.ssn() && !actual.ssn()) {
+            ssnFalsePositives.increment();
+        }
+        if (possible.email() && !actual.email()) {
+            emailFalsePositives.increment();
+        }
+        if (possible.phone() && !actual.phone()) {
+            phoneFalsePositives.increment();
+        }
+    }
+
+    /**
+     * Add a new application's identifiers on this node and broadcast them to the others
+     */
+    public void add(String ssn, String email, String phone) {
+        if (!enabled) {
+            return;
+        }
+        String[] digests = {
+                blindIndex.digest(IdentifierType.SSN, ssn),
+                blindIndex.digest(IdentifierType.EMAIL, email),
+                blindIndex.digest(IdentifierType.PHONE, phone)
+        };
+        addDigests(digests);
+        try {
+            byte[] channel = ADDITIONS_CHANNEL.getBytes(StandardCharsets.UTF_8);
+            byte[] body = String.join(",", digests).getBytes(StandardCharsets.UTF_8);
+            redisTemplate.execute((RedisCallback<Long>) connection -> connection.publish(channel, body));
+        } catch (Exception e) {
+            // Other nodes fall back to the unique constraints until their next rebuild
+            log.warn("Could not broadcast identifier addition: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Addition published by any node (including this one)
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] digests = new String(message.getBody(), StandardCharsets.UTF_8).split(",");
+        if (digests.length != 3) {
+            log.warn("Ignoring malformed identifier addition message");
+            return;
+        }
+        addDigests(digests);
+    }
+
+    /**
+     * Build fresh filters from application_blind_index; runs at startup and when the
+     * backfill completes, then periodically
+     * @return number of applications loaded, or -1 if disabled, not backfilled yet or the build failed
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${onboarding.duplicate-filter.rebuild-interval:21600000}")
+    public synchronized long rebuild() { // the backfill completion can overlap a scheduled run
+        if (!enabled || !backfill.isComplete()) {
+            return -1;
+        }
+        synchronized (lock) {
+            receivedDuringRebuild = new ArrayList<>();
+        }
+        long startedAt = System.currentTimeMillis();
+        try {
+            Filters fresh = new Filters(Math.max(expectedInsertions, 2 * lastRowCount), falsePositiveRate);
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(
+                    "SELECT identifier_type, digest FROM application_blind_index",
+                    rs -> {
+                        fresh.add(IdentifierType.valueOf(rs.getString(1)), rs.getString(2));
+                    }));
+            long applications = fresh.insertions();
+            synchronized (lock) {
+                receivedDuringRebuild.forEach(fresh::add);
+                filters = fresh;
+            }
+            lastRowCount = applications;
+            if (applications > expectedInsertions) {
+                log.warn("Duplicate pre-filter holds {} applications, above expected-insertions {}",
+                        applications, expectedInsertions);
+            }
+            log.info("Duplicate pre-filter built from {} applications in {} ms ({} bytes)",
+                    applications, System.currentTimeMillis() - startedAt, fresh.sizeInBytes());
+            return applications;
+        } catch (Exception e) {
+            log.warn("Duplicate pre-filter build failed, keeping current filters: {}", e.getMessage());
+            return -1;
+        } finally {
+            synchronized (lock) {
+                receivedDuringRebuild = null;
+            }
+        }
+    }
+
+    private void addDigests(String[] digests) {
+        synchronized (lock) {
+            if (filters != null) {
+                filters.add(digests);
+            }
+            if (receivedDuringRebuild != null) {
+                receivedDuringRebuild.add(digests);
+            }
+        }
+    }
+
+    private static Counter checks(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("duplicate.filter.checks")
+                .tag("result", result)
+                .description("Duplicate checks answered by the pre-filter (skipped) or sent to the database (queried)")
+                .register(meterRegistry);
+    }
+
+    private static Counter falsePositives(MeterRegistry meterRegistry, IdentifierType type) {
+        return Counter.builder("duplicate.filter.false-positives")
+                .tag("type", type.tag)
+                .description("Possible matches from the pre-filter that the database did not confirm")
+                .register(meterRegistry);
+    }
+
+    private static final class Filters {
+        private final BloomFilter ssn;
+        private final BloomFilter email;
+        private final BloomFilter phone;
+        private final AtomicLong insertions = new AtomicLong();
+
+        Filters(long expectedInsertions, double falsePositiveRate) {
+            this.ssn = new BloomFilter(expectedInsertions, falsePositiveRate);
+            this.email = new BloomFilter(expectedInsertions, falsePositiveRate);
+            this.phone = new BloomFilter(expectedInsertions, falsePositiveRate);
+        }
+
+        void add(String[] digests) {
+            ssn.add(digests[0]);
+            email.add(digests[1]);
+            phone.add(digests[2]);
+            insertions.incrementAndGet();
+        }
+
+        /**
+         * One blind index entry; every indexed application has exactly one SSN entry
+         */
+        void add(IdentifierType type, String digest) {
+            filter(type).add(digest);
+            if (type == IdentifierType.SSN) {
+                insertions.incrementAndGet();
+            }
+        }
+
+        long insertions() {
+            return insertions.get();
+        }
+
+        long sizeInBytes() {
+            return ssn.sizeInBytes() + email.sizeInBytes() + phone.sizeInBytes();
+        }
+
+        double expectedFalsePositiveRate(IdentifierType type) {
+            return filter(type).expectedFalsePositiveRate(insertions.get());
+        }
+
+        private BloomFilter filter(IdentifierType type) {
+            return switch (type) {
+                case SSN -> ssn;
+                case EMAIL -> email;
+                case PHONE -> phone;
+            };
+        }
+    }
+}
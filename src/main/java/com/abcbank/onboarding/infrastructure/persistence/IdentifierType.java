@@ -0,0 +1,29 @@
+package com.abcbank.onboarding.infrastructure.persistence;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Customer identifiers checked for duplicates, with the normalization applied before
+ * hashing. Normalizing can only merge values, so a keyed hash never hides a real match.
+ */
+enum IdentifierType {
+    SSN("ssn"),
+    EMAIL("email"),
+    PHONE("phone");
+
+    final String tag;
+    final byte[] prefix; // domain separation between types in keyed hashes
+
+    IdentifierType(String tag) {
+        this.tag = tag;
+        this.prefix = (tag + ":").getBytes(StandardCharsets.UTF_8);
+    }
+
+    String normalize(String value) {
+        return switch (this) {
+            case SSN, PHONE -> value.replaceAll("[^0-9]", "");
+            case EMAIL -> value.trim().toLowerCase(Locale.ROOT);
+        };
+    }
+}
@@ -0,0 +1,208 @@
+package com.abcbank.onboarding.infrastructure.persistence;
+
+import com.abcbank.onboarding.domain.port.out.CustomerIdentifierLookup;
+import com.abcbank.onboarding.infrastructure.exception.DuplicateCheckUnavailableException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Checks SSN, email and phone in one statement against the blind index.
+ *
+ * application_blind_index holds one keyed hash per identifier, with its primary key on
+ * (identifier_type, digest), so a check is at most three index probes even though the
+ * identifiers in onboarding_application are encrypted. Until the BlindIndexBackfill has
+ * covered older applications on this node, checks are refused with 503: the encrypted
+ * columns cannot be compared, and an incomplete index would miss existing customers.
+ * The IdentifierPreFilter answers most checks for new customers before a query is needed.
+ *
+ * The batch variants pass all identifiers of a batch as arrays, so checking or claiming
+ * a batch of bulk-imported applications is one statement however large the batch.
+ */
+@Component
+public class JdbcCustomerIdentifierLookup implements CustomerIdentifierLookup {
+
+    private static final String FIND_MATCHES = """
+            SELECT identifier_type FROM application_blind_index
+            WHERE (identifier_type, digest) IN (('SSN', ?), ('EMAIL', ?), ('PHONE', ?))
+            """;
+
+    private static final String FIND_MATCHES_BATCH = """
+            SELECT identifier_type, digest FROM application_blind_index
+            WHERE (identifier_type, digest) IN (SELECT * FROM unnest(?::varchar[], ?::varchar[]))
+            """;
+
+    private static final String REGISTER_BATCH = """
+            INSERT INTO application_blind_index (identifier_type, digest, application_id)
+            SELECT * FROM unnest(?::varchar[], ?::varchar[], ?::uuid[])
+            ON CONFLICT DO NOTHING
+            """;
+
+    private static final String REGISTER = """
+            INSERT INTO application_blind_index (identifier_type, digest, application_id)
+            VALUES ('SSN', ?, ?), ('EMAIL', ?, ?), ('PHONE', ?, ?)
+            ON CONFLICT DO NOTHING
+            RETURNING identifier_type
+            """;
+
+    private static final String RELEASE = "DELETE FROM application_blind_index WHERE application_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdentifierPreFilter preFilter;
+    private final BlindIndex blindIndex;
+    private final BlindIndexBackfill backfill;
+
+    public JdbcCustomerIdentifierLookup(DataSource dataSource, IdentifierPreFilter preFilter,
+                                        BlindIndex blindIndex, BlindIndexBackfill backfill) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.preFilter = preFilter;
+        this.blindIndex = blindIndex;
+        this.backfill = backfill;
+    }
+
+    @Override
+    public IdentifierMatches findMatches(String ssn, String email, String phone) {
+        requireBackfilled();
+        IdentifierMatches possible = preFilter.mightMatch(ssn, email, phone);
+        if (!possible.any()) {
+            return IdentifierMatches.NONE; // definitely new
+        }
+
+        IdentifierMatches matches = toMatches(jdbcTemplate.queryForList(FIND_MATCHES, String.class,
+                blindIndex.digest(IdentifierType.SSN, ssn),
+                blindIndex.digest(IdentifierType.EMAIL, email),
+                blindIndex.digest(IdentifierType.PHONE, phone)));
+        preFilter.recordOutcome(possible, matches);
+        return matches;
+    }
+
+    @Override
+    public List<IdentifierMatches> findMatches(List<Identifiers> identifiers) {
+        requireBackfilled();
+        List<IdentifierMatches> results = new ArrayList<>(identifiers.size());
+        List<Integer> candidates = new ArrayList<>();
+        List<IdentifierMatches> possible = new ArrayList<>();
+        for (int i = 0; i < identifiers.size(); i++) {
+            Identifiers customer = identifiers.get(i);
+            IdentifierMatches mightMatch = preFilter.mightMatch(customer.ssn(), customer.email(), customer.phone());
+            results.add(IdentifierMatches.NONE);
+            if (mightMatch.any()) {
+                candidates.add(i);
+                possible.add(mightMatch);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return results; // all definitely new
+        }
+
+        List<IdentifierMatches> matches = findIndexedMatches(candidates.stream().map(identifiers::get).toList());
+        for (int i = 0; i < candidates.size(); i++) {
+            results.set(candidates.get(i), matches.get(i));
+            preFilter.recordOutcome(possible.get(i), matches.get(i));
+        }
+        return results;
+    }
+
+    private List<IdentifierMatches> findIndexedMatches(List<Identifiers> customers) {
+        String[] types = new String[customers.size() * 3];
+        String[] digests = new String[types.length];
+        for (int i = 0; i < customers.size(); i++) {
+            fillDigests(customers.get(i), types, digests, i * 3);
+        }
+
+        Set<String> found = new HashSet<>();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(FIND_MATCHES_BATCH);
+            ps.setArray(1, con.createArrayOf("varchar", types));
+            ps.setArray(2, con.createArrayOf("varchar", digests));
+            return ps;
+        }, rs -> {
+            found.add(rs.getString(1) + ":" + rs.getString(2));
+        });
+
+        List<IdentifierMatches> matches = new ArrayList<>(customers.size());
+        for (int i = 0; i < customers.size(); i++) {
+            matches.add(new IdentifierMatches(
+                    found.contains(types[i * 3] + ":" + digests[i * 3]),
+                    found.contains(types[i * 3 + 1] + ":" + digests[i * 3 + 1]),
+                    found.contains(types[i * 3 + 2] + ":" + digests[i * 3 + 2])));
+        }
+        return matches;
+    }
+
+    @Override
+    public boolean registerAll(Map<UUID, Identifiers> applications) {
+        String[] types = new String[applications.size() * 3];
+        String[] digests = new String[types.length];
+        UUID[] applicationIds = new UUID[types.length];
+        int offset = 0;
+        for (Map.Entry<UUID, Identifiers> application : applications.entrySet()) {
+            fillDigests(application.getValue(), types, digests, offset);
+            applicationIds[offset] = applicationIds[offset + 1] = applicationIds[offset + 2] = application.getKey();
+            offset += 3;
+        }
+
+        int inserted = jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(REGISTER_BATCH);
+            ps.setArray(1, con.createArrayOf("varchar", types));
+            ps.setArray(2, con.createArrayOf("varchar", digests));
+            ps.setArray(3, con.createArrayOf("uuid", applicationIds));
+            return ps;
+        });
+        if (inserted != types.length) {
+            return false; // claimed concurrently since the check
+        }
+
+        applications.values().forEach(customer -> preFilter.add(customer.ssn(), customer.email(), customer.phone()));
+        return true;
+    }
+
+    private void fillDigests(Identifiers customer, String[] types, String[] digests, int offset) {
+        types[offset] = IdentifierType.SSN.name();
+        digests[offset] = blindIndex.digest(IdentifierType.SSN, customer.ssn());
+        types[offset + 1] = IdentifierType.EMAIL.name();
+        digests[offset + 1] = blindIndex.digest(IdentifierType.EMAIL, customer.email());
+        types[offset + 2] = IdentifierType.PHONE.name();
+        digests[offset + 2] = blindIndex.digest(IdentifierType.PHONE, customer.phone());
+    }
+
+    @Override
+    public IdentifierMatches register(UUID applicationId, String ssn, String email, String phone) {
+        List<String> inserted = jdbcTemplate.queryForList(REGISTER, String.class,
+                blindIndex.digest(IdentifierType.SSN, ssn), applicationId,
+                blindIndex.digest(IdentifierType.EMAIL, email), applicationId,
+                blindIndex.digest(IdentifierType.PHONE, phone), applicationId);
+        preFilter.add(ssn, email, phone);
+
+        // Whatever was not inserted belongs to another application
+        IdentifierMatches claimed = toMatches(inserted);
+        return new IdentifierMatches(!claimed.ssn(), !claimed.email(), !claimed.phone());
+    }
+
+    @Override
+    public void release(UUID applicationId) {
+        jdbcTemplate.update(RELEASE, applicationId);
+    }
+
+    private void requireBackfilled() {
+        if (!backfill.isComplete()) {
+            throw new DuplicateCheckUnavailableException(
+                    "Duplicate checks are unavailable until the blind index backfill completes");
+        }
+    }
+
+    private static IdentifierMatches toMatches(List<String> types) {
+        return new IdentifierMatches(
+                types.contains(IdentifierType.SSN.name()),
+                types.contains(IdentifierType.EMAIL.name()),
+                types.contains(IdentifierType.PHONE.name()));
+    }
+}
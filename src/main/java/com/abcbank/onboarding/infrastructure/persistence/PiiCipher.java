@@ -0,0 +1,78 @@
+package com.abcbank.onboarding.infrastructure.persistence;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Field encryption of the PII columns of onboarding_application (widened for it in V2):
+ * Base64 of a random 12-byte IV followed by the AES-256-GCM ciphertext and tag.
+ *
+ * Ciphertext is randomized, so the columns cannot be compared in SQL. Code that reads
+ * them outside the JPA mapping (the blind index backfill) decrypts with this class; lookups
+ * go through the blind index instead.
+ */
+@Component
+public class PiiCipher {
+
+    private static final String CIPHER = "AES/GCM/NoPadding";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+    private static final int KEY_LENGTH = 32;
+
+    private final SecretKeySpec key;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public PiiCipher(@Value("${onboarding.encryption.key}") String base64Key) {
+        byte[] raw = Base64.getDecoder().decode(base64Key);
+        if (raw.length != KEY_LENGTH) {
+            throw new IllegalArgumentException("onboarding.encryption.key must be " + KEY_LENGTH + " bytes, base64 encoded");
+        }
+        this.key = new SecretKeySpec(raw, "AES");
+    }
+
+    public String encrypt(String plaintext) {
+        if (plaintext == null) {
+            return null;
+        }
+        try {
+            byte[] iv = new byte[IV_LENGTH];
+            secureRandom.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance(CIPHER);
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            byte[] ciphertext = cipher.doFinal(plaintext.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(
+                    ByteBuffer.allocate(IV_LENGTH + ciphertext.length).put(iv).put(ciphertext).array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to encrypt field", e);
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if the value is not ciphertext of this key
+     */
+    public String decrypt(String stored) {
+        if (stored == null) {
+            return null;
+        }
+        try {
+            byte[] raw = Base64.getDecoder().decode(stored);
+            if (raw.length <= IV_LENGTH) {
+                throw new IllegalArgumentException("Field is too short to be encrypted");
+            }
+            Cipher cipher = Cipher.getInstance(CIPHER);
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, raw, 0, IV_LENGTH));
+            return new String(cipher.doFinal(raw, IV_LENGTH, raw.length - IV_LENGTH), StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("Field could not be decrypted", e);
+        }
+    }
+}
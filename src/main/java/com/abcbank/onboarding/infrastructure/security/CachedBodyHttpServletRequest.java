@@ -0,0 +1,82 @@
+package com.abcbank.onboarding.infrastructure.security;
+
+import com.abcbank.onboarding.infrastructure.exception.RequestBodyTooLargeException;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Request wrapper that reads the body once so filters can inspect it
+ * and controllers can still read it afterwards
+ * At most maxBodySize bytes are buffered; larger bodies are rejected
+ */
+public class CachedBodyHttpServletRequest extends HttpServletRequestWrapper {
+
+    private final byte[] body;
+
+    /**
+     * @throws RequestBodyTooLargeException if the body is larger than maxBodySize bytes
+     */
+    public CachedBodyHttpServletRequest(HttpServletRequest request, int maxBodySize) throws IOException {
+        super(request);
+        if (request.getContentLengthLong() > maxBodySize) {
+            throw new RequestBodyTooLargeException("Request body exceeds " + maxBodySize + " bytes");
+        }
+        // Content-Length may be absent (chunked), so read one byte past the limit to detect overflow
+        byte[] read = request.getInputStream().readNBytes(maxBodySize + 1);
+        if (read.length > maxBodySize) {
+            throw new RequestBodyTooLargeException("Request body exceeds " + maxBodySize + " bytes");
+        }
+        this.body = read;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        ByteArrayInputStream input = new ByteArrayInputStream(body);
+        return new ServletInputStream() {
+            @Override
+            public boolean isFinished() {
+                return input.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                throw new UnsupportedOperationException("Async reads are not supported");
+            }
+
+            @Override
+            public int read() {
+                return input.read();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                return input.read(b, off, len);
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        String encoding = getCharacterEncoding();
+        Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+        return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+    }
+}
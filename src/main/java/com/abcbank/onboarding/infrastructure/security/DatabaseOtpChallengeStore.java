@@ -0,0 +1,71 @@
+package com.abcbank.onboarding.infrastructure.security;
+
+import com.abcbank.onboarding.domain.model.OtpVerification;
+import com.abcbank.onboarding.domain.model.OtpVerification.OtpChannel;
+import com.abcbank.onboarding.domain.port.out.OtpChallengeStore;
+import com.abcbank.onboarding.domain.port.out.OtpVerificationRepository;
+import com.abcbank.onboarding.domain.service.OtpService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * OTP challenges as otp_verification rows (one insert per send, updates per attempt).
+ * Attempts are counted with a read-modify-write, so this store relies on the caller's
+ * transaction; the Redis store counts atomically.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "onboarding.otp.store", havingValue = "database", matchIfMissing = true)
+public class DatabaseOtpChallengeStore implements OtpChallengeStore {
+
+    private final OtpVerificationRepository otpVerificationRepository;
+    private final OtpService otpService;
+
+    @Override
+    public void issue(UUID applicationId, OtpChannel channel, String otp, LocalDateTime expiresAt) {
+        otpVerificationRepository.save(new OtpVerification(
+                UUID.randomUUID(),
+                applicationId,
+                channel,
+                otpService.hashOtp(otp),
+                expiresAt
+        ));
+    }
+
+    @Override
+    public VerificationResult verify(UUID applicationId, OtpChannel channel, String otp, int maxAttempts) {
+        Optional<OtpVerification> found = otpVerificationRepository
+                .findLatestByApplicationIdAndChannel(applicationId, channel);
+        if (found.isEmpty()) {
+            return new VerificationResult(Outcome.NOT_FOUND, 0);
+        }
+        OtpVerification otpVerification = found.get();
+
+        if (otpVerification.isExpired()) {
+            otpVerification.markAsExpired();
+            otpVerificationRepository.save(otpVerification);
+            return new VerificationResult(Outcome.EXPIRED, otpVerification.getAttempts());
+        }
+
+        if (otpVerification.getAttempts() >= maxAttempts) {
+            otpVerification.markAsMaxAttemptsExceeded();
+            otpVerificationRepository.save(otpVerification);
+            return new VerificationResult(Outcome.MAX_ATTEMPTS_EXCEEDED, otpVerification.getAttempts());
+        }
+
+        if (!otpService.verifyOtp(otp, otpVerification.getOtpHash())) {
+            otpVerification.incrementAttempts();
+            otpVerificationRepository.save(otpVerification);
+            return new VerificationResult(Outcome.INVALID, otpVerification.getAttempts());
+        }
+
+        otpVerification.markAsVerified();
+        otpVerificationRepository.save(otpVerification);
+        return new VerificationResult(Outcome.VERIFIED, otpVerification.getAttempts());
+    }
+}
@@ -0,0 +1,79 @@
+package com.abcbank.onboarding.infrastructure.security;
+
+import com.abcbank.onboarding.infrastructure.exception.RateLimitExceededException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-node fixed-window limiter used while Redis is unavailable.
+ * Each node enforces its share of the global limit (limit / nodeCount, at least 1),
+ * so the replicas together stay close to the configured limit instead of failing open.
+ */
+@Slf4j
+@Component
+public class FallbackRateLimiter {
+
+    private final int nodeCount;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    public FallbackRateLimiter(@Value("${onboarding.rate-limit.node-count:1}") int nodeCount) {
+        this.nodeCount = Math.max(1, nodeCount);
+    }
+
+    /**
+     * Check and consume a permit locally
+     * @throws RateLimitExceededException if this node's share of the limit is used up
+     */
+    public RateLimitService.RateLimitInfo checkRateLimit(String rateLimitKey, int limit, long windowMillis) {
+        int localLimit = Math.max(1, (int) Math.ceil((double) limit / nodeCount));
+        long now = System.currentTimeMillis();
+        long windowStart = now - (now % windowMillis);
+
+        Window window = windows.compute(rateLimitKey, (k, existing) ->
+                existing != null && existing.start == windowStart ? existing : new Window(windowStart, windowMillis));
+        long resetMillis = windowStart + windowMillis - now;
+
+        long count = window.count.incrementAndGet();
+        if (count > localLimit) {
+            window.count.decrementAndGet();
+            throw new RateLimitExceededException(
+                    String.format("Rate limit exceeded. Limit: %d requests per %d ms. Try again in %d ms.",
+                            limit, windowMillis, resetMillis),
+                    resetMillis);
+        }
+
+        return new RateLimitService.RateLimitInfo(
+                localLimit,
+                count,
+                Math.max(0, localLimit - count),
+                Instant.now().plusMillis(resetMillis).getEpochSecond()
+        );
+    }
+
+    /**
+     * Drop windows that have ended
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void evictExpiredWindows() {
+        long now = System.currentTimeMillis();
+        windows.values().removeIf(window -> now >= window.start + window.windowMillis);
+    }
+
+    private static final class Window {
+        private final long start;
+        private final long windowMillis;
+        private final AtomicLong count = new AtomicLong();
+
+        private Window(long start, long windowMillis) {
+            this.start = start;
+            this.windowMillis = windowMillis;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.abcbank.onboarding.infrastructure.security;
+
+import com.abcbank.onboarding.domain.service.OtpHasher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * OTP hashing with HMAC-SHA256 under a server-side pepper.
+ *
+ * Format: "hmac1$" + base64(salt) + "$" + base64(HMAC(pepper, salt || otp)). The random
+ * salt keeps equal OTPs from producing equal hashes; without the pepper the 6-digit space
+ * cannot be searched offline. Verification is a single MAC and a constant-time compare.
+ *
+ * BCrypt hashes written before the switch are still verified with the password encoder
+ * until they expire. digest() is the unsalted variant bound to a context, for stores that
+ * compare server-side.
+ */
+@Slf4j
+@Component
+public class HmacOtpHasher implements OtpHasher {
+
+    static final String PREFIX = "hmac1$";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int SALT_LENGTH = 16;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec pepper;
+    private final PasswordEncoder legacyEncoder;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public HmacOtpHasher(
+            @Value("${onboarding.otp.pepper}") String pepper,
+            PasswordEncoder legacyEncoder) {
+        this.pepper = new SecretKeySpec(pepper.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+        this.legacyEncoder = legacyEncoder;
+    }
+
+    @Override
+    public String hash(String otp) {
+        byte[] salt = new byte[SALT_LENGTH];
+        secureRandom.nextBytes(salt);
+        return PREFIX + ENCODER.encodeToString(salt) + "$" + ENCODER.encodeToString(mac(salt, otp));
+    }
+
+    @Override
+    public boolean matches(String otp, String storedHash) {
+        if (storedHash.startsWith(PREFIX)) {
+            int separator = storedHash.indexOf('$', PREFIX.length());
+            if (separator < 0) {
+                log.warn("Malformed OTP hash");
+                return false;
+            }
+            try {
+                byte[] salt = DECODER.decode(storedHash.substring(PREFIX.length(), separator));
+                byte[] expected = DECODER.decode(storedHash.substring(separator + 1));
+                return MessageDigest.isEqual(expected, mac(salt, otp));
+            } catch (IllegalArgumentException e) {
+                log.warn("Malformed OTP hash");
+                return false;
+            }
+        }
+        if (storedHash.startsWith("$2")) {
+            return legacyEncoder.matches(otp, storedHash); // BCrypt, written before the switch
+        }
+        log.warn("Unknown OTP hash format");
+        return false;
+    }
+
+    @Override
+    public String digest(String otp, String context) {
+        return ENCODER.encodeToString(mac((context + '\0').getBytes(StandardCharsets.UTF_8), otp));
+    }
+
+    private byte[] mac(byte[] salt, String otp) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(pepper);
+            mac.update(salt);
+            return mac.doFinal(otp.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 not available", e);
+        }
+    }
+}
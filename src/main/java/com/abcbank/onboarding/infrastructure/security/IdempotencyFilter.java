@@ -0,0 +1,457 @@
+package com.abcbank.onboarding.infrastructure.security;
+
+import com.abcbank.onboarding.infrastructure.exception.RequestBodyTooLargeException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Idempotency Filter
+ * Deduplicates retried POSTs that carry an Idempotency-Key header (see PATHS)
+ * Order 3: Runs after the Session filter, so keys are scoped to the authenticated caller
+ *
+ * The first request with a key marks it in flight in Redis and runs; its response
+ * (status, headers, body) is then stored for the TTL and replayed for retries with the
+ * same key and the same request. A retry arriving while the first request is still
+ * running polls until that response is stored, instead of running the endpoint again.
+ * Reusing a key for a different request is rejected with 422. If Redis is unavailable,
+ * requests run without deduplication.
+ *
+ * Async endpoints (send-otp and document upload return CompletableFuture) write their
+ * response on the async dispatch, so the filter also runs there and stores the response
+ * once it is complete. Async timeouts and errors are dispatched back as error responses,
+ * which release the key; a dispatch that never comes is covered by lock-ttl.
+ */
+@Slf4j
+@Component
+@Order(3)
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    /**
+     * POST endpoints mobile clients retry on flaky networks
+     */
+    static final List<String> PATHS = List.of(
+            "/api/v1/onboarding/applications",
+            "/api/v1/onboarding/applications/*/send-otp",
+            "/api/v1/applicant/applications/*/documents");
+
+    private static final String KEY_PREFIX = "idempotency:";
+    private static final String EXECUTION_ATTRIBUTE = IdempotencyFilter.class.getName() + ".EXECUTION";
+    private static final String ERROR_BASE_URL = "https://api.abc.nl/errors/";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long INITIAL_POLL_MILLIS = 25;
+    private static final long MAX_POLL_MILLIS = 250;
+
+    // Transient outcomes: a retry should run again rather than replay them
+    private static final Set<Integer> UNCACHED_STATUSES = Set.of(401, 403, 408, 429);
+    // Set per request by earlier filters, or by the container
+    private static final Set<String> UNCACHED_HEADERS = Set.of(
+            "set-cookie", "content-length", "transfer-encoding", "date",
+            "x-ratelimit-limit", "x-ratelimit-remaining", "x-ratelimit-reset");
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final long lockTtlMillis;
+    private final long waitTimeoutMillis;
+    private final int maxBodySize;
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter rejected;
+    private final Counter inFlight;
+    private final Counter bypassed;
+
+    /**
+     * A stored response, or the in-flight marker of the request producing it
+     */
+    record StoredResponse(String fingerprint, boolean complete, int status, String contentType,
+                          Map<String, List<String>> headers, byte[] body) {
+
+        static StoredResponse inFlight(String fingerprint) {
+            return new StoredResponse(fingerprint, false, 0, null, Map.of(), null);
+        }
+    }
+
+    private sealed interface Turn {
+    }
+
+    private record Acquired() implements Turn {
+    }
+
+    private record Replay(StoredResponse response) implements Turn {
+    }
+
+    private record Mismatch() implements Turn {
+    }
+
+    private record StillRunning() implements Turn {
+    }
+
+    /**
+     * The key held by a request that is running, carried over to its async dispatch
+     */
+    private record Execution(String key, String fingerprint) {
+    }
+
+    public IdempotencyFilter(
+            RedisTemplate<String, Object> redisTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${onboarding.idempotency.enabled:true}") boolean enabled,
+            @Value("${onboarding.idempotency.ttl:86400000}") long ttlMillis,
+            @Value("${onboarding.idempotency.lock-ttl:60000}") long lockTtlMillis,
+            @Value("${onboarding.idempotency.wait-timeout:10000}") long waitTimeoutMillis,
+            @Value("${onboarding.idempotency.max-body-size:65536}") int maxBodySize) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.ttlMillis = ttlMillis;
+        this.lockTtlMillis = lockTtlMillis;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.maxBodySize = maxBodySize;
+
+        this.executed = requests(meterRegistry, "executed");
+        this.replayed = requests(meterRegistry, "replayed");
+        this.rejected = requests(meterRegistry, "rejected");
+        this.inFlight = requests(meterRegistry, "in_flight");
+        this.bypassed = requests(meterRegistry, "bypassed");
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("idempotency.requests")
+                .description("Requests carrying an Idempotency-Key, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled
+                || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+                || !"POST".equals(request.getMethod())
+                || PATHS.stream().noneMatch(path -> pathMatcher.match(path, request.getRequestURI()));
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        if (isAsyncDispatch(request)) {
+            resume(request, response, filterChain);
+            return;
+        }
+
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER).trim();
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeProblem(request, response, HttpStatus.BAD_REQUEST, "invalid-idempotency-key",
+                    "Invalid Idempotency-Key", "Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        // Multipart bodies are parsed by the container, so they are fingerprinted by size only
+        HttpServletRequest effectiveRequest = request;
+        byte[] body = null;
+        if (!isMultipart(request)) {
+            CachedBodyHttpServletRequest cached;
+            try {
+                cached = new CachedBodyHttpServletRequest(request, maxBodySize);
+            } catch (RequestBodyTooLargeException e) {
+                writeProblem(request, response, HttpStatus.PAYLOAD_TOO_LARGE, "payload-too-large",
+                        "Payload Too Large", e.getMessage());
+                return;
+            }
+            body = cached.getBody();
+            effectiveRequest = cached;
+        }
+
+        String key = KEY_PREFIX + callerOf() + ":" + request.getRequestURI() + ":" + idempotencyKey;
+        String fingerprint = fingerprint(request, body);
+
+        Turn turn;
+        try {
+            turn = awaitTurn(key, fingerprint);
+        } catch (DataAccessException e) {
+            log.warn("Idempotency store unavailable, running request without deduplication: {}", e.getMessage());
+            bypassed.increment();
+            filterChain.doFilter(effectiveRequest, response);
+            return;
+        }
+
+        switch (turn) {
+            case Acquired acquired -> execute(effectiveRequest, response, filterChain, key, fingerprint);
+            case Replay replay -> replay(response, replay.response());
+            case Mismatch mismatch -> {
+                rejected.increment();
+                writeProblem(request, response, HttpStatus.UNPROCESSABLE_ENTITY, "idempotency-key-reused",
+                        "Idempotency-Key Reused", "Idempotency-Key was already used for a different request");
+            }
+            case StillRunning stillRunning -> {
+                inFlight.increment();
+                response.setHeader("Retry-After", "1");
+                writeProblem(request, response, HttpStatus.CONFLICT, "idempotency-in-flight",
+                        "Request In Progress", "A request with this Idempotency-Key is still being processed");
+            }
+        }
+    }
+
+    /**
+     * Claim the key, or wait for the request holding it to store its response
+     */
+    private Turn awaitTurn(String key, String fingerprint) {
+        long deadline = System.currentTimeMillis() + waitTimeoutMillis;
+        long pause = INITIAL_POLL_MILLIS;
+
+        while (true) {
+            if (write(key, StoredResponse.inFlight(fingerprint), lockTtlMillis,
+                    RedisStringCommands.SetOption.ifAbsent())) {
+                return new Acquired();
+            }
+
+            StoredResponse existing = read(key);
+            if (existing != null && !existing.fingerprint().equals(fingerprint)) {
+                return new Mismatch();
+            }
+            if (existing != null && existing.complete()) {
+                return new Replay(existing);
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                return new StillRunning();
+            }
+            if (existing == null) {
+                continue; // released since the claim attempt; try again
+            }
+
+            try {
+                Thread.sleep(pause);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new StillRunning();
+            }
+            pause = Math.min(pause * 2, MAX_POLL_MILLIS);
+        }
+    }
+
+    private void execute(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                         String key, String fingerprint) throws ServletException, IOException {
+        executed.increment();
+        run(request, new ContentCachingResponseWrapper(response), filterChain, new Execution(key, fingerprint));
+    }
+
+    /**
+     * Async dispatch of a request that started async processing while holding its key
+     */
+    private void resume(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Execution execution = (Execution) request.getAttribute(EXECUTION_ATTRIBUTE);
+        if (execution == null || WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class) == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        run(request, response, filterChain, execution);
+    }
+
+    /**
+     * Run the endpoint, then store the response and send it, unless async processing
+     * started; the async dispatch comes back through resume and finishes it
+     */
+    private void run(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                     Execution execution) throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        request.setAttribute(EXECUTION_ATTRIBUTE, execution);
+        boolean stored = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (!request.isAsyncStarted()) {
+                stored = store(execution.key(), execution.fingerprint(), wrapper);
+            }
+        } finally {
+            if (!request.isAsyncStarted()) {
+                request.removeAttribute(EXECUTION_ATTRIBUTE);
+                if (!stored) {
+                    release(execution.key());
+                }
+                wrapper.copyBodyToResponse();
+            }
+        }
+    }
+
+    /**
+     * @return true if the response was stored for replay
+     */
+    private boolean store(String key, String fingerprint, ContentCachingResponseWrapper response) {
+        int status = response.getStatus();
+        byte[] body = response.getContentAsByteArray();
+        if (status >= 500 || UNCACHED_STATUSES.contains(status) || body.length > maxBodySize) {
+            return false;
+        }
+
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : response.getHeaderNames()) {
+            if (!UNCACHED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.put(name, new ArrayList<>(response.getHeaders(name)));
+            }
+        }
+
+        try {
+            return write(key, new StoredResponse(fingerprint, true, status, response.getContentType(), headers, body),
+                    ttlMillis, RedisStringCommands.SetOption.upsert());
+        } catch (DataAccessException e) {
+            log.warn("Failed to store idempotent response: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void release(String key) {
+        try {
+            redisTemplate.execute((RedisCallback<Long>) connection ->
+                    connection.keyCommands().del(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (DataAccessException e) {
+            log.warn("Failed to release Idempotency-Key, retries wait for the lock to expire: {}", e.getMessage());
+        }
+    }
+
+    private void replay(HttpServletResponse response, StoredResponse stored) throws IOException {
+        replayed.increment();
+        response.setStatus(stored.status());
+        stored.headers().forEach((name, values) -> {
+            for (int i = 0; i < values.size(); i++) {
+                if (i == 0) {
+                    response.setHeader(name, values.get(i));
+                } else {
+                    response.addHeader(name, values.get(i));
+                }
+            }
+        });
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private boolean write(String key, StoredResponse value, long ttl, RedisStringCommands.SetOption option) {
+        byte[] rawKey = key.getBytes(StandardCharsets.UTF_8);
+        byte[] rawValue;
+        try {
+            rawValue = objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize idempotent response", e);
+        }
+        return Boolean.TRUE.equals(redisTemplate.execute((RedisCallback<Boolean>) connection ->
+                connection.stringCommands().set(rawKey, rawValue, Expiration.milliseconds(ttl), option)));
+    }
+
+    private StoredResponse read(String key) {
+        byte[] raw = redisTemplate.execute((RedisCallback<byte[]>) connection ->
+                connection.stringCommands().get(key.getBytes(StandardCharsets.UTF_8)));
+        if (raw == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(raw, StoredResponse.class);
+        } catch (IOException e) {
+            log.warn("Unreadable idempotent response for key, treating as absent: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Keys are scoped to the caller, so one caller cannot replay another's response
+     */
+    private String callerOf() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken
+                || !authentication.isAuthenticated()) {
+            return "anonymous";
+        }
+        return authentication.getName();
+    }
+
+    private String fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod() + " " + request.getRequestURI() + "\n"
+                    + request.getContentType() + "\n").getBytes(StandardCharsets.UTF_8));
+            if (body != null) {
+                digest.update(body);
+            } else {
+                digest.update(String.valueOf(request.getContentLengthLong()).getBytes(StandardCharsets.UTF_8));
+            }
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private boolean isMultipart(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith(MediaType.MULTIPART_FORM_DATA_VALUE);
+    }
+
+    private void writeProblem(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+                              String type, String title, String detail) throws IOException {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(status, detail);
+        problemDetail.setType(URI.create(ERROR_BASE_URL + type));
+        problemDetail.setTitle(title);
+        problemDetail.setProperty("timestamp", Instant.now());
+        problemDetail.setProperty("traceId", UUID.randomUUID().toString());
+        problemDetail.setProperty("path", request.getRequestURI());
+
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), problemDetail);
+    }
+}
@@ -8,20 +8,25 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * JWT Authentication Filter
  * Extracts JWT from Authorization header and sets SecurityContext
+ *
+ * Runs on every request, so the per-request path avoids regexes and throwaway objects:
+ * public endpoints come from the precompiled PublicEndpoints list and authority lists
+ * are shared per role combination.
  */
 @Slf4j
 @Component
@@ -31,9 +36,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final String BEARER_PREFIX = "Bearer ";
 
     private final JwtTokenService jwtTokenService;
+    private final TokenRevocationService tokenRevocationService;
 
-    public JwtAuthenticationFilter(JwtTokenService jwtTokenService) {
+    // Immutable authority lists keyed by comma-joined roles; roles come from our own signed tokens
+    private final Map<String, List<GrantedAuthority>> authoritiesByRoles = new ConcurrentHashMap<>();
+
+    public JwtAuthenticationFilter(JwtTokenService jwtTokenService, TokenRevocationService tokenRevocationService) {
         this.jwtTokenService = jwtTokenService;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @Override
@@ -47,7 +57,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         log.debug("Processing request: {} {}", request.getMethod(), requestUri);
 
         // Skip JWT validation for public endpoints
-        if (isPublicEndpoint(requestUri)) {
+        if (PublicEndpoints.isPublic(request.getMethod(), requestUri)) {
             log.debug("Public endpoint, skipping JWT validation: {}", requestUri);
             filterChain.doFilter(request, response);
             return;
@@ -79,28 +89,28 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 return;
             }
 
-            // Extract roles and create authorities
+            // Check in-memory revocations (token id or session id)
+            if (tokenRevocationService.isRevoked(claims.getId(), jwtTokenService.extractSessionId(claims))) {
+                log.warn("JWT token has been revoked");
+                filterChain.doFilter(request, response);
+                return;
+            }
+
+            // Extract roles and look up the shared authority list
             String[] roles = jwtTokenService.extractRoles(claims);
-            List<SimpleGrantedAuthority> authorities = Arrays.stream(roles)
-                    .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
-                    .collect(Collectors.toList());
 
-            // Create authentication token
+            // Create authentication token, storing claims in its details for later use
             String subject = claims.getSubject();
             UsernamePasswordAuthenticationToken authentication =
-                    new UsernamePasswordAuthenticationToken(subject, null, authorities);
-
-            // Add additional details (application ID, session ID, etc.)
-            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-            // Store claims in authentication details for later use
-            JwtAuthenticationDetails details = new JwtAuthenticationDetails(claims);
-            authentication.setDetails(details);
+                    new UsernamePasswordAuthenticationToken(subject, null, authoritiesFor(roles));
+            authentication.setDetails(new JwtAuthenticationDetails(claims));
 
             // Set authentication in SecurityContext
             SecurityContextHolder.getContext().setAuthentication(authentication);
 
-            log.debug("Successfully authenticated user: {} with roles: {}", subject, Arrays.toString(roles));
+            if (log.isDebugEnabled()) {
+                log.debug("Successfully authenticated user: {} with roles: {}", subject, Arrays.toString(roles));
+            }
 
         } catch (Exception e) {
             log.error("Error processing JWT token: {}", e.getMessage(), e);
@@ -111,18 +121,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     }
 
     /**
-     * Check if endpoint is public (no authentication required)
+     * Shared, immutable authorities for a role combination
      */
-    private boolean isPublicEndpoint(String uri) {
-        return uri.startsWith("/api/v1/onboarding/applications") &&
-               (uri.endsWith("/send-otp") ||
-                uri.endsWith("/verify-otp") ||
-                uri.endsWith("/status") ||
-                uri.matches("/api/v1/onboarding/applications/?$")) ||
-               uri.startsWith("/swagger-ui") ||
-               uri.startsWith("/v3/api-docs") ||
-               uri.startsWith("/actuator/health") ||
-               uri.startsWith("/actuator/info");
+    List<GrantedAuthority> authoritiesFor(String[] roles) {
+        String key = roles.length == 1 ? roles[0] : String.join(",", roles);
+        return authoritiesByRoles.computeIfAbsent(key, k -> Arrays.stream(roles)
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority("ROLE_" + role))
+                .toList());
     }
 
     /**
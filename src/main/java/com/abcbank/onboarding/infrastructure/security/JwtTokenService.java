@@ -2,9 +2,15 @@ package com.abcbank.onboarding.infrastructure.security;
 
 import com.abcbank.onboarding.domain.model.User;
 import com.abcbank.onboarding.domain.model.UserRole;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -14,6 +20,7 @@ import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.*;
@@ -21,12 +28,19 @@ import java.util.*;
 /**
  * JWT Token Service for generating and validating JWT tokens
  * Supports different token types for APPLICANT, COMPLIANCE_OFFICER, and ADMIN
+ *
+ * Tokens are verified with one shared, thread-safe parser. Verified claims are cached by
+ * token digest until the token's exp, so repeat requests with the same token skip the
+ * HMAC check and JSON parsing.
  */
 @Slf4j
 @Service
 public class JwtTokenService {
 
     private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final Cache<String, Claims> verifiedClaims;
+    private final boolean claimsCacheEnabled;
     private final long applicantTokenExpiry;
     private final long officerTokenExpiry;
     private final long adminTokenExpiry;
@@ -34,11 +48,14 @@ public class JwtTokenService {
     private final SecureRandom secureRandom = new SecureRandom();
 
     public JwtTokenService(
-            @Value("${jwt.secret:default-secret-key-change-in-production-min-32-chars}") String secret,
-            @Value("${jwt.expiry.applicant:900000}") long applicantExpiry,      // 15 minutes
-            @Value("${jwt.expiry.officer:1800000}") long officerExpiry,         // 30 minutes
-            @Value("${jwt.expiry.admin:600000}") long adminExpiry,              // 10 minutes
-            @Value("${jwt.expiry.refresh:2592000000}") long refreshExpiry       // 30 days
+            @Value("${onboarding.jwt.secret:default-secret-key-change-in-production-min-32-chars}") String secret,
+            @Value("${onboarding.jwt.expiry.applicant:900000}") long applicantExpiry,      // 15 minutes
+            @Value("${onboarding.jwt.expiry.officer:1800000}") long officerExpiry,         // 30 minutes
+            @Value("${onboarding.jwt.expiry.admin:600000}") long adminExpiry,              // 10 minutes
+            @Value("${onboarding.jwt.expiry.refresh:2592000000}") long refreshExpiry,      // 30 days
+            @Value("${onboarding.jwt.claims-cache.enabled:true}") boolean claimsCacheEnabled,
+            @Value("${onboarding.jwt.claims-cache.max-size:10000}") long claimsCacheMaxSize,
+            MeterRegistry meterRegistry
     ) {
         // Ensure secret is at least 32 characters for HS256
         if (secret.length() < 32) {
@@ -46,6 +63,15 @@ public class JwtTokenService {
             secret = secret + "0".repeat(32 - secret.length());
         }
         this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.claimsCacheEnabled = claimsCacheEnabled;
+        this.verifiedClaims = Caffeine.newBuilder()
+                .maximumSize(claimsCacheMaxSize)
+                .expireAfter(Expiry.creating((String digest, Claims claims) ->
+                        Duration.ofMillis(getRemainingValidity(claims))))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedClaims, "jwt.claims-cache");
         this.applicantTokenExpiry = applicantExpiry;
         this.officerTokenExpiry = officerExpiry;
         this.adminTokenExpiry = adminExpiry;
@@ -68,6 +94,7 @@ public class JwtTokenService {
 
         String token = Jwts.builder()
                 .claims(claims)
+                .id(UUID.randomUUID().toString())
                 .subject("app-" + applicationId.toString())
                 .issuedAt(Date.from(Instant.now()))
                 .expiration(Date.from(Instant.now().plusMillis(applicantTokenExpiry)))
@@ -97,6 +124,7 @@ public class JwtTokenService {
 
         String token = Jwts.builder()
                 .claims(claims)
+                .id(UUID.randomUUID().toString())
                 .subject("user-" + user.getId().toString())
                 .issuedAt(Date.from(Instant.now()))
                 .expiration(Date.from(Instant.now().plusMillis(expiry)))
@@ -119,6 +147,7 @@ public class JwtTokenService {
 
         String token = Jwts.builder()
                 .claims(claims)
+                .id(UUID.randomUUID().toString())
                 .subject("user-" + userId.toString())
                 .issuedAt(Date.from(Instant.now()))
                 .expiration(Date.from(Instant.now().plusMillis(officerTokenExpiry)))
@@ -141,6 +170,7 @@ public class JwtTokenService {
 
         String token = Jwts.builder()
                 .claims(claims)
+                .id(UUID.randomUUID().toString())
                 .subject("user-" + userId.toString())
                 .issuedAt(Date.from(Instant.now()))
                 .expiration(Date.from(Instant.now().plusMillis(adminTokenExpiry)))
@@ -173,7 +203,7 @@ public class JwtTokenService {
     /**
      * Hash a token using SHA-256
      */
-    private String hashToken(String token) {
+    private static String hashToken(String token) {
         try {
             MessageDigest digest = MessageDigest.getInstance("SHA-256");
             byte[] hash = digest.digest(token.getBytes(StandardCharsets.UTF_8));
@@ -202,12 +232,33 @@ public class JwtTokenService {
      * @return Claims if valid, null if invalid
      */
     public Claims validateToken(String token) {
+        if (!claimsCacheEnabled) {
+            return verifyToken(token);
+        }
+
+        String digest = hashToken(token);
+        Claims cached = verifiedClaims.getIfPresent(digest);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = verifyToken(token);
+        if (claims != null && claims.getExpiration() != null) {
+            verifiedClaims.put(digest, claims);
+        }
+        return claims;
+    }
+
+    /**
+     * Drop a token from the verified-claims cache, e.g. when its session has been revoked,
+     * so the next request is verified in full
+     */
+    public void evictToken(String token) {
+        verifiedClaims.invalidate(hashToken(token));
+    }
+
+    private Claims verifyToken(String token) {
         try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(signingKey)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            Claims claims = parser.parseSignedClaims(token).getPayload();
 
             log.debug("Token validated successfully for subject: {}", claims.getSubject());
             return claims;
@@ -0,0 +1,118 @@
+package com.abcbank.onboarding.infrastructure.security;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Keeps otp_verification proportional to live OTPs.
+ *
+ * Each run marks PENDING rows past expires_at as EXPIRED, then deletes finished rows
+ * (VERIFIED, EXPIRED, MAX_ATTEMPTS_EXCEEDED) older than the retention window. Both steps
+ * work in chunks of chunk-size rows, each its own short statement and transaction, with
+ * a pause in between so the job never holds many locks or competes with OTP traffic.
+ * Rows are picked with FOR UPDATE SKIP LOCKED, so replicas running at the same time split
+ * the work instead of blocking each other.
+ */
+@Slf4j
+@Component
+public class OtpVerificationSweeper {
+
+    private static final String EXPIRE_CHUNK = """
+            UPDATE otp_verification SET status = 'EXPIRED'
+            WHERE id IN (SELECT id FROM otp_verification
+                         WHERE status = 'PENDING' AND expires_at < ?
+                         ORDER BY expires_at LIMIT ? FOR UPDATE SKIP LOCKED)
+            """;
+
+    private static final String PURGE_CHUNK = """
+            DELETE FROM otp_verification
+            WHERE id IN (SELECT id FROM otp_verification
+                         WHERE status <> 'PENDING' AND expires_at < ?
+                         ORDER BY expires_at LIMIT ? FOR UPDATE SKIP LOCKED)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DistributionSummary expiredPerRun;
+    private final DistributionSummary purgedPerRun;
+    private final boolean enabled;
+    private final int chunkSize;
+    private final long chunkPauseMillis;
+    private final long retentionMillis;
+
+    public OtpVerificationSweeper(
+            DataSource dataSource,
+            MeterRegistry meterRegistry,
+            @Value("${onboarding.otp.cleanup.enabled:true}") boolean enabled,
+            @Value("${onboarding.otp.cleanup.chunk-size:1000}") int chunkSize,
+            @Value("${onboarding.otp.cleanup.chunk-pause:100}") long chunkPauseMillis,
+            @Value("${onboarding.otp.cleanup.retention:2592000000}") long retentionMillis) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.enabled = enabled;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.chunkPauseMillis = chunkPauseMillis;
+        this.retentionMillis = retentionMillis;
+        this.expiredPerRun = DistributionSummary.builder("otp.sweeper.rows")
+                .tag("action", "expired")
+                .description("OTP verification rows processed per cleanup run")
+                .register(meterRegistry);
+        this.purgedPerRun = DistributionSummary.builder("otp.sweeper.rows")
+                .tag("action", "purged")
+                .description("OTP verification rows processed per cleanup run")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return rows expired and purged, or -1 if disabled
+     */
+    @Scheduled(cron = "${onboarding.otp.cleanup.cron:0 */10 * * * *}")
+    public long sweep() {
+        if (!enabled) {
+            return -1;
+        }
+
+        long startedAt = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        long expired = runInChunks(EXPIRE_CHUNK, now);
+        long purged = runInChunks(PURGE_CHUNK, now.minusNanos(retentionMillis * 1_000_000));
+
+        expiredPerRun.record(expired);
+        purgedPerRun.record(purged);
+        log.info("OTP cleanup expired {} and purged {} rows in {} ms",
+                expired, purged, System.currentTimeMillis() - startedAt);
+        return expired + purged;
+    }
+
+    private long runInChunks(String sql, LocalDateTime cutoff) {
+        Timestamp cutoffTimestamp = Timestamp.valueOf(cutoff);
+        long total = 0;
+        int affected;
+        do {
+            affected = jdbcTemplate.update(sql, cutoffTimestamp, chunkSize);
+            total += affected;
+            if (affected == chunkSize && !pause()) {
+                break;
+            }
+        } while (affected == chunkSize);
+        return total;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(chunkPauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("OTP cleanup interrupted, stopping early");
+            return false;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.abcbank.onboarding.infrastructure.security;
+
+import org.springframework.http.HttpMethod;
+
+import java.util.List;
+
+/**
+ * Endpoints that need no authentication. SecurityConfig permits them and
+ * JwtAuthenticationFilter skips token processing for them, both from this one list.
+ *
+ * Patterns use the Ant subset the list needs: "*" matches one path segment and a
+ * trailing "/**" matches the path itself and everything below it. They are split into
+ * segments once, so classifying a request needs no regex and no allocation.
+ */
+public final class PublicEndpoints {
+
+    /**
+     * A public endpoint; a null method matches any method
+     */
+    public record Endpoint(HttpMethod method, String pattern) {}
+
+    public static final List<Endpoint> ENDPOINTS = List.of(
+            // Applicant onboarding
+            new Endpoint(HttpMethod.POST, "/api/v1/onboarding/applications"),
+            new Endpoint(HttpMethod.POST, "/api/v1/onboarding/applications/*/send-otp"),
+            new Endpoint(HttpMethod.POST, "/api/v1/onboarding/applications/*/verify-otp"),
+            new Endpoint(HttpMethod.GET, "/api/v1/onboarding/applications/*/status"),
+
+            // Authentication (logout and me stay protected)
+            new Endpoint(HttpMethod.POST, "/api/v1/auth/login"),
+            new Endpoint(HttpMethod.POST, "/api/v1/auth/send-otp"),
+            new Endpoint(HttpMethod.POST, "/api/v1/auth/verify-otp"),
+            new Endpoint(HttpMethod.POST, "/api/v1/auth/refresh"),
+
+            // Actuator
+            new Endpoint(null, "/actuator/health"),
+            new Endpoint(null, "/actuator/info"),
+
+            // Swagger/OpenAPI
+            new Endpoint(null, "/swagger-ui/**"),
+            new Endpoint(null, "/v3/api-docs/**"),
+            new Endpoint(null, "/swagger-ui.html")
+    );
+
+    private static final CompiledEndpoint[] COMPILED = ENDPOINTS.stream()
+            .map(CompiledEndpoint::new)
+            .toArray(CompiledEndpoint[]::new);
+
+    private PublicEndpoints() {
+    }
+
+    public static boolean isPublic(String method, String uri) {
+        for (CompiledEndpoint endpoint : COMPILED) {
+            if (endpoint.matches(method, uri)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class CompiledEndpoint {
+        private final String method;
+        private final String[] segments;
+
+        CompiledEndpoint(Endpoint endpoint) {
+            this.method = endpoint.method() != null ? endpoint.method().name() : null;
+            this.segments = endpoint.pattern().substring(1).split("/");
+        }
+
+        boolean matches(String requestMethod, String uri) {
+            if (method != null && !method.equals(requestMethod)) {
+                return false;
+            }
+
+            int position = 0; // index of the '/' before the next segment
+            for (String segment : segments) {
+                if ("**".equals(segment)) {
+                    return true;
+                }
+                if (position >= uri.length() || uri.charAt(position) != '/') {
+                    return false;
+                }
+                int start = position + 1;
+                int end = uri.indexOf('/', start);
+                if (end < 0) {
+                    end = uri.length();
+                }
+                if ("*".equals(segment)) {
+                    if (end == start) {
+                        return false;
+                    }
+                } else if (end - start != segment.length() || !uri.startsWith(segment, start)) {
+                    return false;
+                }
+                position = end;
+            }
+            return position == uri.length();
+        }
+    }
+}
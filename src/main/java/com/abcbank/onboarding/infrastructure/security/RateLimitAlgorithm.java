@@ -0,0 +1,11 @@
+package com.abcbank.onboarding.infrastructure.security;
+
+/**
+ * How a rate limit rule is enforced in Redis
+ */
+public enum RateLimitAlgorithm {
+    /** Sorted set of request timestamps; exact count over the last window */
+    SLIDING_WINDOW,
+    /** Generic Cell Rate Algorithm; a single theoretical arrival time per key, smooth spacing */
+    GCRA
+}
@@ -0,0 +1,174 @@
+package com.abcbank.onboarding.infrastructure.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Circuit breaker around the rate limiter's Redis calls.
+ *
+ * CLOSED: calls go to Redis; outcomes are recorded in a sliding window of the last
+ * N calls. The breaker opens when, after a minimum number of calls, the failure rate
+ * or the slow-call rate reaches its threshold.
+ * OPEN: calls are rejected immediately (callers use the local fallback limiter)
+ * until the open duration has elapsed.
+ * HALF_OPEN: a few probe calls are let through; if all succeed the breaker closes,
+ * any failure re-opens it.
+ */
+@Slf4j
+@Component
+public class RateLimitCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static final byte OUTCOME_SUCCESS = 0;
+    private static final byte OUTCOME_SLOW = 1;
+    private static final byte OUTCOME_FAILURE = 2;
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final long openDurationMillis;
+    private final int halfOpenProbes;
+
+    private final byte[] outcomes;
+    private int position;
+    private int recorded;
+    private int failures;
+    private int slowCalls;
+
+    private volatile State state = State.CLOSED;
+    private long openedAt;
+    private int probesStarted;
+    private int probesSucceeded;
+
+    public RateLimitCircuitBreaker(
+            @Value("${onboarding.rate-limit.circuit-breaker.window-size:50}") int windowSize,
+            @Value("${onboarding.rate-limit.circuit-breaker.minimum-calls:10}") int minimumCalls,
+            @Value("${onboarding.rate-limit.circuit-breaker.failure-rate-threshold:0.5}") double failureRateThreshold,
+            @Value("${onboarding.rate-limit.circuit-breaker.slow-call-rate-threshold:0.5}") double slowCallRateThreshold,
+            @Value("${onboarding.rate-limit.circuit-breaker.slow-call-duration:200}") long slowCallMillis,
+            @Value("${onboarding.rate-limit.circuit-breaker.open-duration:10000}") long openDurationMillis,
+            @Value("${onboarding.rate-limit.circuit-breaker.half-open-probes:3}") int halfOpenProbes) {
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(slowCallMillis);
+        this.openDurationMillis = openDurationMillis;
+        this.halfOpenProbes = halfOpenProbes;
+        this.outcomes = new byte[windowSize];
+    }
+
+    /**
+     * Whether a Redis call may be attempted now
+     */
+    public boolean tryAcquirePermission() {
+        if (state == State.CLOSED) {
+            return true; // fast path, no lock
+        }
+        synchronized (this) {
+            if (state == State.OPEN) {
+                if (System.currentTimeMillis() - openedAt < openDurationMillis) {
+                    return false;
+                }
+                transitionTo(State.HALF_OPEN);
+            }
+            if (state == State.HALF_OPEN) {
+                if (probesStarted >= halfOpenProbes) {
+                    return false;
+                }
+                probesStarted++;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Record a Redis call that completed (slow calls count against the slow-call rate)
+     */
+    public synchronized void onSuccess(long durationNanos) {
+        boolean slow = durationNanos >= slowCallNanos;
+        if (state == State.HALF_OPEN) {
+            if (slow) {
+                transitionTo(State.OPEN);
+            } else if (++probesSucceeded >= halfOpenProbes) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+        record(slow ? OUTCOME_SLOW : OUTCOME_SUCCESS);
+    }
+
+    /**
+     * Record a Redis call that failed
+     */
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.OPEN);
+            return;
+        }
+        record(OUTCOME_FAILURE);
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    private void record(byte outcome) {
+        if (state != State.CLOSED) {
+            return; // late result of a call started before the breaker opened
+        }
+
+        if (recorded == windowSize) {
+            byte evicted = outcomes[position];
+            if (evicted == OUTCOME_FAILURE) {
+                failures--;
+            } else if (evicted == OUTCOME_SLOW) {
+                slowCalls--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[position] = outcome;
+        position = (position + 1) % windowSize;
+
+        if (outcome == OUTCOME_FAILURE) {
+            failures++;
+        } else if (outcome == OUTCOME_SLOW) {
+            slowCalls++;
+        }
+
+        if (recorded >= minimumCalls) {
+            double failureRate = (double) failures / recorded;
+            double slowCallRate = (double) slowCalls / recorded;
+            if (failureRate >= failureRateThreshold || slowCallRate >= slowCallRateThreshold) {
+                log.warn("Rate limit Redis circuit opening (failure rate: {}, slow-call rate: {})",
+                        failureRate, slowCallRate);
+                transitionTo(State.OPEN);
+            }
+        }
+    }
+
+    private void transitionTo(State newState) {
+        log.info("Rate limit Redis circuit {} -> {}", state, newState);
+        state = newState;
+        switch (newState) {
+            case OPEN -> openedAt = System.currentTimeMillis();
+            case HALF_OPEN -> {
+                probesStarted = 0;
+                probesSucceeded = 0;
+            }
+            case CLOSED -> {
+                position = 0;
+                recorded = 0;
+                failures = 0;
+                slowCalls = 0;
+            }
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.abcbank.onboarding.infrastructure.security;
 
+import com.abcbank.onboarding.infrastructure.config.RateLimitProperties;
 import com.abcbank.onboarding.infrastructure.exception.RateLimitExceededException;
+import com.abcbank.onboarding.infrastructure.exception.RequestBodyTooLargeException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -22,7 +25,7 @@ import java.util.UUID;
 
 /**
  * Rate Limiting Filter
- * Applies rate limits to API endpoints based on IP, application, resource
+ * Applies the configured rate limit rules (see RateLimitRuleTable) to API endpoints
  * Order 0: Runs first, before JWT and Session filters
  */
 @Slf4j
@@ -32,25 +35,16 @@ public class RateLimitFilter extends OncePerRequestFilter {
 
     private static final String ERROR_BASE_URL = "https://api.abc.nl/errors/";
 
-    // Rate limit configurations (from application.yml)
-    private static final int CREATE_APPLICATION_LIMIT = 5;
-    private static final long CREATE_APPLICATION_WINDOW = 3600000; // 1 hour
-
-    private static final int SEND_OTP_IP_LIMIT = 3;
-    private static final long SEND_OTP_WINDOW = 3600000; // 1 hour
-
-    private static final int VERIFY_OTP_APP_LIMIT = 3;
-    private static final int VERIFY_OTP_IP_LIMIT = 10;
-    private static final long VERIFY_OTP_WINDOW = 3600000; // 1 hour
-
-    private static final int UPLOAD_DOCUMENT_LIMIT = 10;
-    private static final long UPLOAD_DOCUMENT_WINDOW = 3600000; // 1 hour
-
     private final RateLimitService rateLimitService;
+    private final RateLimitRuleTable ruleTable;
+    private final RateLimitProperties properties;
     private final ObjectMapper objectMapper;
 
-    public RateLimitFilter(RateLimitService rateLimitService, ObjectMapper objectMapper) {
+    public RateLimitFilter(RateLimitService rateLimitService, RateLimitRuleTable ruleTable,
+                           RateLimitProperties properties, ObjectMapper objectMapper) {
         this.rateLimitService = rateLimitService;
+        this.ruleTable = ruleTable;
+        this.properties = properties;
         this.objectMapper = objectMapper;
     }
 
@@ -61,44 +55,47 @@ public class RateLimitFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
 
-        String requestUri = request.getRequestURI();
-        String method = request.getMethod();
-        String ipAddress = getClientIpAddress(request);
+        RateLimitRuleTable.RouteMatch match = properties.isEnabled()
+                ? ruleTable.match(request.getMethod(), request.getRequestURI())
+                : null;
+
+        if (match == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        HttpServletRequest effectiveRequest = request;
+        JsonNode body = null;
+        if (match.requiresBody()) {
+            CachedBodyHttpServletRequest cached;
+            try {
+                cached = new CachedBodyHttpServletRequest(request, properties.getMaxBodySize());
+            } catch (RequestBodyTooLargeException e) {
+                handleBodyTooLarge(request, response, e);
+                return;
+            }
+            body = readJsonBody(cached);
+            effectiveRequest = cached;
+        }
 
         try {
-            // Apply rate limits based on endpoint
-            if (method.equals("POST") && requestUri.matches("/api/v1/onboarding/applications/?")) {
-                // Create application - IP based
-                applyRateLimit(ipAddress, "create_application",
-                        CREATE_APPLICATION_LIMIT, CREATE_APPLICATION_WINDOW, response);
-
-            } else if (method.equals("POST") && requestUri.matches(".*/send-otp")) {
-                // Send OTP - IP based
-                applyRateLimit(ipAddress, "send_otp",
-                        SEND_OTP_IP_LIMIT, SEND_OTP_WINDOW, response);
-
-            } else if (method.equals("POST") && requestUri.matches(".*/verify-otp")) {
-                // Verify OTP - IP and application based
-                UUID applicationId = extractApplicationId(requestUri);
-                if (applicationId != null) {
-                    rateLimitService.checkApplicationRateLimit(applicationId, "verify_otp_app",
-                            VERIFY_OTP_APP_LIMIT, VERIFY_OTP_WINDOW);
+            // Apply every rule of the route; headers reflect the most restrictive one
+            RateLimitService.RateLimitInfo headerInfo = null;
+            for (RateLimitRule rule : match.rules()) {
+                String key = resolveKey(rule.keyType(), request, match.pathVariable(), body);
+                if (key == null) {
+                    continue;
                 }
-                applyRateLimit(ipAddress, "verify_otp_ip",
-                        VERIFY_OTP_IP_LIMIT, VERIFY_OTP_WINDOW, response);
-
-            } else if (method.equals("POST") && requestUri.contains("/documents")) {
-                // Upload document - Application based
-                UUID applicationId = extractApplicationId(requestUri);
-                if (applicationId != null) {
-                    rateLimitService.checkApplicationRateLimit(applicationId, "upload_document",
-                            UPLOAD_DOCUMENT_LIMIT, UPLOAD_DOCUMENT_WINDOW);
+                RateLimitService.RateLimitInfo info =
+                        rateLimitService.checkRateLimit(key, rule.name(), rule.limit(), rule.windowMillis(), rule.algorithm());
+                if (info != null && (headerInfo == null || info.getRemaining() <= headerInfo.getRemaining())) {
+                    headerInfo = info;
                 }
-                addRateLimitHeaders(response, ipAddress, "upload_document", UPLOAD_DOCUMENT_LIMIT);
             }
+            addRateLimitHeaders(response, headerInfo);
 
             // Continue filter chain
-            filterChain.doFilter(request, response);
+            filterChain.doFilter(effectiveRequest, response);
 
         } catch (RateLimitExceededException e) {
             handleRateLimitExceeded(request, response, e);
@@ -106,27 +103,29 @@ public class RateLimitFilter extends OncePerRequestFilter {
     }
 
     /**
-     * Apply rate limit and add headers
+     * Resolve the client key a rule counts by; null if it cannot be determined
      */
-    private void applyRateLimit(String key, String resource, int limit, long windowMillis,
-                                 HttpServletResponse response) {
-        rateLimitService.checkRateLimit(key, resource, limit, windowMillis);
-        addRateLimitHeaders(response, key, resource, limit);
+    private String resolveKey(RateLimitKeyType keyType, HttpServletRequest request,
+                              String pathVariable, JsonNode body) {
+        return switch (keyType) {
+            case IP -> getClientIpAddress(request);
+            case APPLICATION_ID -> toApplicationId(pathVariable);
+            case EMAIL_DOMAIN -> extractDomain(textField(body, "email"));
+            case PHONE -> textField(body, "phone");
+        };
     }
 
     /**
-     * Add rate limit headers to response
+     * Add rate limit headers to response from the state returned by the check
+     * (no extra Redis round trip)
      */
-    private void addRateLimitHeaders(HttpServletResponse response, String key,
-                                      String resource, int limit) {
-        try {
-            RateLimitService.RateLimitInfo info = rateLimitService.getRateLimitInfo(key, resource, limit);
-            response.setHeader("X-RateLimit-Limit", String.valueOf(info.getLimit()));
-            response.setHeader("X-RateLimit-Remaining", String.valueOf(info.getRemaining()));
-            response.setHeader("X-RateLimit-Reset", String.valueOf(info.getResetTimestamp()));
-        } catch (Exception e) {
-            log.debug("Could not add rate limit headers", e);
+    private void addRateLimitHeaders(HttpServletResponse response, RateLimitService.RateLimitInfo info) {
+        if (info == null) {
+            return; // check skipped or failed open
         }
+        response.setHeader("X-RateLimit-Limit", String.valueOf(info.getLimit()));
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(info.getRemaining()));
+        response.setHeader("X-RateLimit-Reset", String.valueOf(info.getResetTimestamp()));
     }
 
     /**
@@ -154,12 +153,33 @@ public class RateLimitFilter extends OncePerRequestFilter {
         // Set response status and headers
         response.setStatus(429); // 429 Too Many Requests
         response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
-        response.setHeader("Retry-After", "3600"); // 1 hour
+        Long retryAfterSeconds = e.getRetryAfterSeconds();
+        response.setHeader("Retry-After", retryAfterSeconds != null ? String.valueOf(retryAfterSeconds) : "3600");
 
         // Write JSON response
         objectMapper.writeValue(response.getOutputStream(), problemDetail);
     }
 
+    /**
+     * Handle a body too large to buffer for body-based keys - return 413 with RFC 7807 Problem Detail
+     */
+    private void handleBodyTooLarge(HttpServletRequest request, HttpServletResponse response,
+                                    RequestBodyTooLargeException e) throws IOException {
+        String traceId = UUID.randomUUID().toString();
+        log.warn("Request body too large on endpoint: {} - traceId: {}", request.getRequestURI(), traceId);
+
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.PAYLOAD_TOO_LARGE, e.getMessage());
+        problemDetail.setType(URI.create(ERROR_BASE_URL + "payload-too-large"));
+        problemDetail.setTitle("Payload Too Large");
+        problemDetail.setProperty("timestamp", Instant.now());
+        problemDetail.setProperty("traceId", traceId);
+        problemDetail.setProperty("path", request.getRequestURI());
+
+        response.setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), problemDetail);
+    }
+
     /**
      * Extract client IP address from request
      */
@@ -178,18 +198,43 @@ public class RateLimitFilter extends OncePerRequestFilter {
     }
 
     /**
-     * Extract application ID from URI
+     * Validate application ID path variable
      */
-    private UUID extractApplicationId(String uri) {
+    private String toApplicationId(String pathVariable) {
+        if (pathVariable == null) {
+            return null;
+        }
         try {
-            String[] parts = uri.split("/");
-            for (int i = 0; i < parts.length; i++) {
-                if (parts[i].equals("applications") && i + 1 < parts.length) {
-                    return UUID.fromString(parts[i + 1]);
-                }
-            }
+            return UUID.fromString(pathVariable).toString();
         } catch (IllegalArgumentException e) {
-            log.debug("Could not extract application ID from URI: {}", uri);
+            log.debug("Path variable is not an application ID: {}", pathVariable);
+            return null;
+        }
+    }
+
+    private JsonNode readJsonBody(CachedBodyHttpServletRequest request) {
+        try {
+            return request.getBody().length > 0 ? objectMapper.readTree(request.getBody()) : null;
+        } catch (IOException e) {
+            log.debug("Request body is not JSON, body-based rate limit keys skipped");
+            return null;
+        }
+    }
+
+    private String textField(JsonNode body, String field) {
+        if (body == null || !body.hasNonNull(field)) {
+            return null;
+        }
+        String value = body.get(field).asText();
+        return value.isBlank() ? null : value.trim();
+    }
+
+    /**
+     * Extract domain from email
+     */
+    private String extractDomain(String email) {
+        if (email != null && email.contains("@")) {
+            return email.substring(email.indexOf("@") + 1).toLowerCase();
         }
         return null;
     }
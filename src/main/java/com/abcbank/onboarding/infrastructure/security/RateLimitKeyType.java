@@ -0,0 +1,19 @@
+package com.abcbank.onboarding.infrastructure.security;
+
+/**
+ * What a rate limit rule counts requests by
+ */
+public enum RateLimitKeyType {
+    /** Client IP (X-Forwarded-For, X-Real-IP, remote address) */
+    IP,
+    /** Application id taken from the path variable of the route */
+    APPLICATION_ID,
+    /** Domain of the "email" field in the JSON request body */
+    EMAIL_DOMAIN,
+    /** "phone" field in the JSON request body */
+    PHONE;
+
+    public boolean requiresBody() {
+        return this == EMAIL_DOMAIN || this == PHONE;
+    }
+}
@@ -0,0 +1,24 @@
+package com.abcbank.onboarding.infrastructure.security;
+
+/**
+ * A single compiled rate limit rule
+ * @param name resource name used in the Redis key
+ * @param algorithm how requests are counted against the limit
+ * @param overridden true when limit/window come from a runtime override instead of configuration
+ */
+public record RateLimitRule(
+        String name,
+        String method,
+        String path,
+        RateLimitKeyType keyType,
+        int limit,
+        long windowMillis,
+        String description,
+        RateLimitAlgorithm algorithm,
+        boolean overridden
+) {
+
+    public RateLimitRule withLimit(int newLimit, long newWindowMillis) {
+        return new RateLimitRule(name, method, path, keyType, newLimit, newWindowMillis, description, algorithm, true);
+    }
+}
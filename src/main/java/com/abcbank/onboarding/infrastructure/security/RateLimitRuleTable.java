@@ -0,0 +1,223 @@
+package com.abcbank.onboarding.infrastructure.security;
+
+import com.abcbank.onboarding.infrastructure.config.RateLimitProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Rate limit route table
+ * Compiles the configured rules into a path-segment trie per HTTP method, so matching
+ * costs one map lookup per URI segment regardless of the number of rules.
+ *
+ * Limits can be changed at runtime without a redeploy: overrides are stored in a
+ * Redis hash shared by all nodes and polled periodically; the compiled table is
+ * swapped atomically when they change.
+ */
+@Slf4j
+@Component
+public class RateLimitRuleTable {
+
+    static final String OVERRIDES_KEY = "rate_limit_rules:overrides";
+
+    private final RateLimitProperties properties;
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final AtomicReference<CompiledTable> table = new AtomicReference<>();
+    private volatile Map<String, String> appliedOverrides = Map.of();
+
+    public RateLimitRuleTable(RateLimitProperties properties, RedisTemplate<String, Object> redisTemplate) {
+        this.properties = properties;
+        this.redisTemplate = redisTemplate;
+        this.table.set(compile(Map.of()));
+        log.info("Compiled {} rate limit rules", table.get().rules().size());
+    }
+
+    /**
+     * Find the rules for a request
+     * @return matched rules, or null if the route is not rate limited
+     */
+    public RouteMatch match(String method, String uri) {
+        return table.get().match(method, uri);
+    }
+
+    /**
+     * All active rules, with overrides applied
+     */
+    public List<RateLimitRule> getRules() {
+        return table.get().rules();
+    }
+
+    /**
+     * Override limit and window for a rule on all nodes (admin operation)
+     * @return true if a rule with this name exists
+     */
+    public boolean overrideRule(String name, int limit, long windowMillis) {
+        if (!hasRule(name)) {
+            return false;
+        }
+        redisTemplate.opsForHash().put(OVERRIDES_KEY, name, limit + ":" + windowMillis);
+        log.info("Rate limit override set for rule: {} ({} per {} ms)", name, limit, windowMillis);
+        refreshOverrides();
+        return true;
+    }
+
+    /**
+     * Remove the runtime override of a rule, reverting to configuration (admin operation)
+     * @return true if a rule with this name exists
+     */
+    public boolean clearOverride(String name) {
+        if (!hasRule(name)) {
+            return false;
+        }
+        redisTemplate.opsForHash().delete(OVERRIDES_KEY, name);
+        log.info("Rate limit override cleared for rule: {}", name);
+        refreshOverrides();
+        return true;
+    }
+
+    /**
+     * Pick up overrides written by other nodes
+     */
+    @Scheduled(fixedDelayString = "${onboarding.rate-limit.override-poll-interval:30000}")
+    public void refreshOverrides() {
+        try {
+            Map<String, String> overrides = new HashMap<>();
+            redisTemplate.opsForHash().entries(OVERRIDES_KEY)
+                    .forEach((field, value) -> overrides.put(String.valueOf(field), String.valueOf(value)));
+
+            if (!overrides.equals(appliedOverrides)) {
+                table.set(compile(overrides));
+                appliedOverrides = Map.copyOf(overrides);
+                log.info("Rate limit rule table rebuilt with {} overrides", overrides.size());
+            }
+        } catch (Exception e) {
+            log.warn("Could not refresh rate limit overrides, keeping current rules", e);
+        }
+    }
+
+    private boolean hasRule(String name) {
+        return properties.getRules().stream().anyMatch(rule -> rule.getName().equals(name));
+    }
+
+    private CompiledTable compile(Map<String, String> overrides) {
+        Map<String, Node> roots = new HashMap<>();
+        List<RateLimitRule> rules = new ArrayList<>();
+        Map<String, RateLimitAlgorithm> algorithms = new HashMap<>();
+
+        for (RateLimitProperties.Rule config : properties.getRules()) {
+            // Rules sharing a name share Redis keys, which only one algorithm can own
+            RateLimitAlgorithm algorithm = algorithms.putIfAbsent(config.getName(), config.getAlgorithm());
+            if (algorithm != null && algorithm != config.getAlgorithm()) {
+                throw new IllegalStateException(
+                        "Rate limit rules named " + config.getName() + " must use the same algorithm");
+            }
+
+            RateLimitRule rule = new RateLimitRule(
+                    config.getName(),
+                    config.getMethod().toUpperCase(Locale.ROOT),
+                    config.getPath(),
+                    config.getKey(),
+                    config.getLimit(),
+                    config.getWindow(),
+                    config.getDescription(),
+                    config.getAlgorithm(),
+                    false
+            );
+
+            String override = overrides.get(rule.name());
+            if (override != null) {
+                try {
+                    String[] parts = override.split(":");
+                    rule = rule.withLimit(Integer.parseInt(parts[0]), Long.parseLong(parts[1]));
+                } catch (RuntimeException e) {
+                    log.warn("Ignoring malformed rate limit override for rule: {}", rule.name());
+                }
+            }
+
+            Node node = roots.computeIfAbsent(rule.method(), m -> new Node());
+            for (String segment : rule.path().split("/")) {
+                if (segment.isEmpty()) {
+                    continue;
+                }
+                if (segment.startsWith("{") && segment.endsWith("}")) {
+                    if (node.variable == null) {
+                        node.variable = new Node();
+                    }
+                    node = node.variable;
+                } else {
+                    node = node.literals.computeIfAbsent(segment, s -> new Node());
+                }
+            }
+            node.rules.add(rule);
+            node.requiresBody |= rule.keyType().requiresBody();
+            rules.add(rule);
+        }
+
+        return new CompiledTable(Map.copyOf(roots), List.copyOf(rules));
+    }
+
+    /**
+     * Result of matching a request against the table
+     * @param pathVariable value of the first path variable of the route, if any
+     * @param requiresBody whether any matched rule needs the JSON request body
+     */
+    public record RouteMatch(List<RateLimitRule> rules, String pathVariable, boolean requiresBody) {
+    }
+
+    private static final class Node {
+        private final Map<String, Node> literals = new HashMap<>();
+        private Node variable;
+        private final List<RateLimitRule> rules = new ArrayList<>();
+        private boolean requiresBody;
+    }
+
+    private record CompiledTable(Map<String, Node> roots, List<RateLimitRule> rules) {
+
+        RouteMatch match(String method, String uri) {
+            Node root = roots.get(method);
+            if (root == null || uri == null) {
+                return null;
+            }
+            return walk(root, uri, 0, null);
+        }
+
+        /**
+         * Walk one segment at a time; literal segments take precedence over variables
+         */
+        private RouteMatch walk(Node node, String uri, int position, String pathVariable) {
+            if (position >= uri.length()) {
+                return node.rules.isEmpty() ? null : new RouteMatch(node.rules, pathVariable, node.requiresBody);
+            }
+
+            int end = uri.indexOf('/', position);
+            if (end < 0) {
+                end = uri.length();
+            }
+            if (end == position) {
+                return walk(node, uri, position + 1, pathVariable); // skip empty segment
+            }
+
+            String segment = uri.substring(position, end);
+            Node literal = node.literals.get(segment);
+            if (literal != null) {
+                RouteMatch match = walk(literal, uri, end + 1, pathVariable);
+                if (match != null) {
+                    return match;
+                }
+            }
+            if (node.variable != null) {
+                return walk(node.variable, uri, end + 1, pathVariable != null ? pathVariable : segment);
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.abcbank.onboarding.infrastructure.security;
+
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+/**
+ * Server-side Lua scripts used by the rate limiter.
+ * Each script runs atomically inside Redis so check, increment and expiry
+ * happen in a single round trip without races between concurrent requests.
+ *
+ * Timestamps are taken from the Redis server clock (TIME) so all replicas
+ * share the same time source.
+ */
+final class RateLimitScripts {
+
+    /**
+     * Sliding-log limiter backed by a sorted set (score = request timestamp in ms).
+     *
+     * KEYS[1] = rate limit key
+     * ARGV[1] = limit, ARGV[2] = window in ms, ARGV[3] = cost (permits to consume)
+     *
+     * Returns {allowed (1/0), count in window, reset in ms, retry-after in ms}
+     */
+    @SuppressWarnings("rawtypes")
+    static final RedisScript<List> SLIDING_WINDOW = new DefaultRedisScript<>("""
+            local limit = tonumber(ARGV[1])
+            local window = tonumber(ARGV[2])
+            local cost = tonumber(ARGV[3])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+            redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - window)
+            local count = redis.call('ZCARD', KEYS[1])
+
+            local allowed = 0
+            local retryAfter = 0
+            if count + cost <= limit then
+                for i = 1, cost do
+                    redis.call('ZADD', KEYS[1], now, now .. '-' .. (count + i))
+                end
+                count = count + cost
+                allowed = 1
+            else
+                local blocking = redis.call('ZRANGE', KEYS[1], count + cost - limit - 1, count + cost - limit - 1, 'WITHSCORES')
+                if blocking[2] then
+                    retryAfter = tonumber(blocking[2]) + window - now
+                else
+                    retryAfter = window
+                end
+            end
+
+            local reset = 0
+            local oldest = redis.call('ZRANGE', KEYS[1], 0, 0, 'WITHSCORES')
+            if oldest[2] then
+                reset = tonumber(oldest[2]) + window - now
+                redis.call('PEXPIRE', KEYS[1], reset)
+            end
+
+            return {allowed, count, reset, retryAfter}
+            """, List.class);
+
+    /**
+     * Generic Cell Rate Algorithm limiter storing one theoretical arrival time (TAT) per key.
+     * Requests are spaced by the emission interval (window / limit) with a burst of up to
+     * limit requests; there is no window boundary to exploit.
+     *
+     * KEYS[1] = rate limit key
+     * ARGV[1] = limit, ARGV[2] = window in ms, ARGV[3] = cost (permits to consume)
+     *
+     * Returns {allowed (1/0), used permits, reset in ms, retry-after in ms}
+     * where reset is the time until the full burst is available again
+     */
+    @SuppressWarnings("rawtypes")
+    static final RedisScript<List> GCRA = new DefaultRedisScript<>("""
+            local limit = tonumber(ARGV[1])
+            local window = tonumber(ARGV[2])
+            local cost = tonumber(ARGV[3])
+            local interval = window / limit
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+            local tat = tonumber(redis.call('GET', KEYS[1]))
+            if not tat or tat < now then
+                tat = now
+            end
+
+            local allowed = 0
+            local retryAfter = 0
+            local newTat = tat + cost * interval
+            local allowAt = newTat - window
+            if allowAt <= now then
+                tat = newTat
+                allowed = 1
+            else
+                retryAfter = math.ceil(allowAt - now)
+            end
+
+            local reset = math.ceil(tat - now)
+            if reset > 0 then
+                redis.call('SET', KEYS[1], string.format('%.3f', tat), 'PX', reset)
+            end
+
+            local remaining = math.floor((now + window - tat) / interval)
+            if remaining < 0 then
+                remaining = 0
+            end
+
+            return {allowed, limit - remaining, reset, retryAfter}
+            """, List.class);
+
+    /**
+     * Read-only view of a sliding-log key, used for admin inspection.
+     *
+     * KEYS[1] = rate limit key
+     * ARGV[1] = window in ms
+     *
+     * Returns {count in window, reset in ms}
+     */
+    @SuppressWarnings("rawtypes")
+    static final RedisScript<List> SLIDING_WINDOW_PEEK = new DefaultRedisScript<>("""
+            local window = tonumber(ARGV[1])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local min = '(' .. (now - window)
+
+            local count = redis.call('ZCOUNT', KEYS[1], min, '+inf')
+            local reset = 0
+            local oldest = redis.call('ZRANGEBYSCORE', KEYS[1], min, '+inf', 'WITHSCORES', 'LIMIT', 0, 1)
+            if oldest[2] then
+                reset = tonumber(oldest[2]) + window - now
+            end
+
+            return {count, reset}
+            """, List.class);
+
+    /**
+     * Read-only statistics for a page of rate limit keys, used by the admin listing.
+     *
+     * KEYS[i] = rate limit key
+     *
+     * Returns {count, ttl in ms} for every key, flattened in key order;
+     * count is -1 for keys that are not sliding-window sets (GCRA arrival times)
+     */
+    @SuppressWarnings("rawtypes")
+    static final RedisScript<List> KEY_STATS = new DefaultRedisScript<>("""
+            local result = {}
+            for i, key in ipairs(KEYS) do
+                local count = -1
+                if redis.call('TYPE', key).ok == 'zset' then
+                    count = redis.call('ZCARD', key)
+                end
+                result[2 * i - 1] = count
+                result[2 * i] = redis.call('PTTL', key)
+            end
+            return result
+            """, List.class);
+
+    private RateLimitScripts() {
+    }
+}
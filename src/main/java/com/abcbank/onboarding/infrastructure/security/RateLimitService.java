@@ -2,13 +2,20 @@ package com.abcbank.onboarding.infrastructure.security;
 
 import com.abcbank.onboarding.infrastructure.exception.RateLimitExceededException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
 
 /**
  * Redis-based Rate Limiting Service
@@ -19,171 +26,268 @@ import java.util.concurrent.TimeUnit;
 public class RateLimitService {
 
     private static final String RATE_LIMIT_KEY_PREFIX = "rate_limit:";
+    private static final StringRedisSerializer ARGS_SERIALIZER = StringRedisSerializer.UTF_8;
+    private static final int SCAN_BATCH_SIZE = 500;
 
     private final RedisTemplate<String, Object> redisTemplate;
+    private final RateLimitCircuitBreaker circuitBreaker;
+    private final FallbackRateLimiter fallbackRateLimiter;
 
-    public RateLimitService(RedisTemplate<String, Object> redisTemplate) {
+    public RateLimitService(RedisTemplate<String, Object> redisTemplate,
+                            RateLimitCircuitBreaker circuitBreaker, FallbackRateLimiter fallbackRateLimiter) {
         this.redisTemplate = redisTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.fallbackRateLimiter = fallbackRateLimiter;
     }
 
     /**
-     * Check and consume rate limit for a resource
+     * Check and consume rate limit for a resource.
+     * Check, increment and expiry run as one atomic Lua script (sliding log),
+     * so concurrent requests cannot slip past the limit and only one Redis
+     * round trip is made.
      * @param key Unique identifier (IP, userId, email, phone, SSN, etc.)
      * @param resource Resource being accessed (e.g., "create_application", "verify_otp")
      * @param limit Maximum requests allowed in window
      * @param windowMillis Time window in milliseconds
-     * @throws RateLimitExceededException if limit exceeded
+     * @return current window state for response headers, or null if the check was skipped
+     * @throws RateLimitExceededException if limit exceeded (by Redis, or by the local
+     * fallback limiter while Redis is unavailable)
      */
-    public void checkRateLimit(String key, String resource, int limit, long windowMillis) {
+    public RateLimitInfo checkRateLimit(String key, String resource, int limit, long windowMillis) {
+        return checkRateLimit(key, resource, limit, windowMillis, RateLimitAlgorithm.SLIDING_WINDOW);
+    }
+
+    /**
+     * Check and consume rate limit with the given algorithm.
+     * Both algorithms decide in one atomic script call and report the exact retry-after.
+     */
+    @SuppressWarnings("rawtypes")
+    public RateLimitInfo checkRateLimit(String key, String resource, int limit, long windowMillis,
+                                        RateLimitAlgorithm algorithm) {
         if (key == null || resource == null) {
             log.warn("Rate limit check called with null key or resource");
-            return;
+            return null;
         }
 
         String rateLimitKey = buildKey(resource, key);
 
+        if (!circuitBreaker.tryAcquirePermission()) {
+            // Redis circuit open - decide locally without waiting for a timeout
+            return fallbackRateLimiter.checkRateLimit(rateLimitKey, limit, windowMillis);
+        }
+
+        long startedAt = System.nanoTime();
         try {
-            // Get current count
-            Long currentCount = getCurrentCount(rateLimitKey);
+            RedisScript<List> script = algorithm == RateLimitAlgorithm.GCRA
+                    ? RateLimitScripts.GCRA
+                    : RateLimitScripts.SLIDING_WINDOW;
+            List<Long> result = executeScript(script, rateLimitKey, limit, windowMillis, 1);
+            circuitBreaker.onSuccess(System.nanoTime() - startedAt);
 
-            if (currentCount != null && currentCount >= limit) {
-                long ttl = getRemainingWindowTime(rateLimitKey);
-                log.warn("Rate limit exceeded for key: {} on resource: {} (count: {}/{}, reset in: {}ms)",
-                        maskKey(key), resource, currentCount, limit, ttl);
+            boolean allowed = result.get(0) == 1L;
+            long count = result.get(1);
+            long resetMillis = result.get(2);
+            long retryAfterMillis = result.get(3);
+
+            if (!allowed) {
+                log.warn("Rate limit exceeded for key: {} on resource: {} (count: {}/{}, retry in: {}ms)",
+                        maskKey(key), resource, count, limit, retryAfterMillis);
 
                 throw new RateLimitExceededException(
                         String.format("Rate limit exceeded for %s. Limit: %d requests per %d ms. Try again in %d ms.",
-                                resource, limit, windowMillis, ttl)
+                                resource, limit, windowMillis, retryAfterMillis),
+                        retryAfterMillis
                 );
             }
 
-            // Increment counter
-            Long newCount = redisTemplate.opsForValue().increment(rateLimitKey);
-
-            // Set expiry on first request in window
-            if (newCount != null && newCount == 1) {
-                redisTemplate.expire(rateLimitKey, windowMillis, TimeUnit.MILLISECONDS);
-            }
-
             log.debug("Rate limit checked for key: {} on resource: {} - count: {}/{}",
-                    maskKey(key), resource, newCount, limit);
+                    maskKey(key), resource, count, limit);
+
+            return toRateLimitInfo(limit, count, resetMillis);
 
         } catch (RateLimitExceededException e) {
             throw e; // Re-throw rate limit exception
         } catch (Exception e) {
+            circuitBreaker.onFailure();
             log.error("Error checking rate limit for key: {} on resource: {}", maskKey(key), resource, e);
-            // Fail open - don't block requests on Redis errors
+            // Don't fail open - fall back to the conservative per-node limiter
+            return fallbackRateLimiter.checkRateLimit(rateLimitKey, limit, windowMillis);
         }
     }
 
     /**
      * Check rate limit for IP-based requests (anonymous)
      */
-    public void checkIpRateLimit(String ipAddress, String resource, int limit, long windowMillis) {
-        checkRateLimit(ipAddress, resource, limit, windowMillis);
+    public RateLimitInfo checkIpRateLimit(String ipAddress, String resource, int limit, long windowMillis) {
+        return checkRateLimit(ipAddress, resource, limit, windowMillis);
     }
 
     /**
      * Check rate limit for application-specific operations
      */
-    public void checkApplicationRateLimit(UUID applicationId, String resource, int limit, long windowMillis) {
-        checkRateLimit(applicationId.toString(), resource, limit, windowMillis);
+    public RateLimitInfo checkApplicationRateLimit(UUID applicationId, String resource, int limit, long windowMillis) {
+        return checkRateLimit(applicationId.toString(), resource, limit, windowMillis);
     }
 
     /**
      * Check rate limit for email domain (prevent bulk signups from same domain)
      */
-    public void checkEmailDomainRateLimit(String email, String resource, int limit, long windowMillis) {
+    public RateLimitInfo checkEmailDomainRateLimit(String email, String resource, int limit, long windowMillis) {
         String domain = extractDomain(email);
         if (domain != null) {
-            checkRateLimit(domain, resource, limit, windowMillis);
+            return checkRateLimit(domain, resource, limit, windowMillis);
         }
+        return null;
     }
 
     /**
      * Check rate limit for phone number
      */
-    public void checkPhoneRateLimit(String phone, String resource, int limit, long windowMillis) {
-        checkRateLimit(phone, resource, limit, windowMillis);
+    public RateLimitInfo checkPhoneRateLimit(String phone, String resource, int limit, long windowMillis) {
+        return checkRateLimit(phone, resource, limit, windowMillis);
     }
 
     /**
-     * Check rate limit for SSN (should be 1 lifetime)
+     * Get remaining requests before rate limit without consuming a permit
      */
-    public void checkSsnRateLimit(String ssn, String resource) {
-        // SSN gets lifetime limit (1 application per SSN)
-        String rateLimitKey = buildKey(resource, ssn);
-        Boolean exists = redisTemplate.hasKey(rateLimitKey);
-
-        if (Boolean.TRUE.equals(exists)) {
-            log.warn("SSN rate limit exceeded - already used: {}", maskSsn(ssn));
-            throw new RateLimitExceededException(
-                    "An application with this Social Security Number already exists"
-            );
-        }
-
-        // Mark SSN as used (no expiry - lifetime ban)
-        redisTemplate.opsForValue().set(rateLimitKey, 1);
-        log.info("SSN rate limit recorded for: {}", maskSsn(ssn));
+    public RateLimitInfo getRateLimitInfo(String key, String resource, int limit, long windowMillis) {
+        String rateLimitKey = buildKey(resource, key);
+        List<Long> result = executeScript(RateLimitScripts.SLIDING_WINDOW_PEEK, rateLimitKey, windowMillis);
+        return toRateLimitInfo(limit, result.get(0), result.get(1));
     }
 
     /**
-     * Get current count for a rate limit key
+     * Reset rate limit for a key (admin operation)
      */
-    public Long getCurrentCount(String rateLimitKey) {
-        Object value = redisTemplate.opsForValue().get(rateLimitKey);
-        if (value instanceof Integer) {
-            return ((Integer) value).longValue();
-        } else if (value instanceof Long) {
-            return (Long) value;
-        }
-        return null;
+    public void resetRateLimit(String key, String resource) {
+        String rateLimitKey = buildKey(resource, key);
+        redisTemplate.delete(rateLimitKey);
+        log.info("Rate limit reset for key: {} on resource: {}", maskKey(key), resource);
     }
 
     /**
-     * Get remaining time in rate limit window
+     * Reset all rate limits for a resource (admin operation).
+     * Streams matching keys with SCAN and removes them with UNLINK in chunks,
+     * so Redis is never blocked by a KEYS call or a single huge delete.
      */
-    public long getRemainingWindowTime(String rateLimitKey) {
-        Long ttl = redisTemplate.getExpire(rateLimitKey, TimeUnit.MILLISECONDS);
-        return ttl != null && ttl > 0 ? ttl : 0;
+    public ResetResult resetAllRateLimits(String resource) {
+        String pattern = RATE_LIMIT_KEY_PREFIX + escapeGlob(resource) + ":*";
+        long startedAt = System.currentTimeMillis();
+        long scanned = 0;
+        long deleted = 0;
+
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(SCAN_BATCH_SIZE).build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            List<String> chunk = new ArrayList<>(SCAN_BATCH_SIZE);
+            while (cursor.hasNext()) {
+                chunk.add(cursor.next());
+                scanned++;
+                if (chunk.size() == SCAN_BATCH_SIZE) {
+                    deleted += unlink(chunk);
+                    chunk.clear();
+                    log.info("Resetting rate limits for resource: {} - {} keys removed so far", resource, deleted);
+                }
+            }
+            deleted += unlink(chunk);
+        }
+
+        long durationMillis = System.currentTimeMillis() - startedAt;
+        log.info("Reset {} rate limits for resource: {} ({} keys scanned, {} ms)",
+                deleted, resource, scanned, durationMillis);
+        return new ResetResult(scanned, deleted, durationMillis);
     }
 
     /**
-     * Get remaining requests before rate limit
+     * List one page of rate limit keys, optionally for a single resource (admin operation).
+     * Uses the raw SCAN cursor so clients can page through keys without any state on
+     * the server; a returned cursor of "0" means the iteration is complete.
+     * Pages may be smaller or larger than the requested count (SCAN semantics).
      */
-    public RateLimitInfo getRateLimitInfo(String key, String resource, int limit) {
-        String rateLimitKey = buildKey(resource, key);
-        Long currentCount = getCurrentCount(rateLimitKey);
-        long remaining = limit - (currentCount != null ? currentCount : 0);
-        long resetTime = getRemainingWindowTime(rateLimitKey);
+    @SuppressWarnings("unchecked")
+    public KeyPage listRateLimitKeys(String resource, String cursor, int count) {
+        String pattern = RATE_LIMIT_KEY_PREFIX + (resource != null ? escapeGlob(resource) + ":*" : "*");
+        String startCursor = cursor != null ? cursor : "0";
+
+        List<Object> reply = redisTemplate.execute((RedisCallback<List<Object>>) connection ->
+                (List<Object>) connection.execute("SCAN",
+                        ARGS_SERIALIZER.serialize(startCursor),
+                        ARGS_SERIALIZER.serialize("MATCH"), ARGS_SERIALIZER.serialize(pattern),
+                        ARGS_SERIALIZER.serialize("COUNT"), ARGS_SERIALIZER.serialize(String.valueOf(count))));
+
+        if (reply == null || reply.size() < 2) {
+            throw new IllegalStateException("Unexpected SCAN reply");
+        }
 
-        return new RateLimitInfo(
-                limit,
-                currentCount != null ? currentCount : 0,
-                Math.max(0, remaining),
-                Instant.now().plusMillis(resetTime).getEpochSecond()
-        );
+        String nextCursor = ARGS_SERIALIZER.deserialize((byte[]) reply.get(0));
+        List<String> keys = ((List<byte[]>) reply.get(1)).stream()
+                .map(ARGS_SERIALIZER::deserialize)
+                .toList();
+
+        List<KeyStats> stats = new ArrayList<>(keys.size());
+        if (!keys.isEmpty()) {
+            List<Long> result = executeScript(RateLimitScripts.KEY_STATS, keys);
+            for (int i = 0; i < keys.size(); i++) {
+                stats.add(new KeyStats(keys.get(i), result.get(2 * i), result.get(2 * i + 1)));
+            }
+            stats.sort(Comparator.comparingLong(KeyStats::count).reversed());
+        }
+
+        return new KeyPage(nextCursor, stats);
+    }
+
+    private long unlink(List<String> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        Long removed = redisTemplate.unlink(keys);
+        return removed != null ? removed : 0;
     }
 
     /**
-     * Reset rate limit for a key (admin operation)
+     * Escape glob characters so a resource name is matched literally by SCAN
      */
-    public void resetRateLimit(String key, String resource) {
-        String rateLimitKey = buildKey(resource, key);
-        redisTemplate.delete(rateLimitKey);
-        log.info("Rate limit reset for key: {} on resource: {}", maskKey(key), resource);
+    private String escapeGlob(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            if (c == '*' || c == '?' || c == '[' || c == ']' || c == '\\') {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
     }
 
     /**
-     * Reset all rate limits for a resource (admin operation)
+     * Run a rate limit script against a single key.
+     * Arguments are sent as plain strings so Lua can parse them with tonumber,
+     * independent of the template's value serializer.
      */
-    public void resetAllRateLimits(String resource) {
-        String pattern = RATE_LIMIT_KEY_PREFIX + resource + ":*";
-        var keys = redisTemplate.keys(pattern);
-        if (keys != null && !keys.isEmpty()) {
-            redisTemplate.delete(keys);
-            log.info("Reset {} rate limits for resource: {}", keys.size(), resource);
+    @SuppressWarnings("rawtypes")
+    private List<Long> executeScript(RedisScript<List> script, String rateLimitKey, Object... args) {
+        return executeScript(script, List.of(rateLimitKey), args);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private List<Long> executeScript(RedisScript<List> script, List<String> rateLimitKeys, Object... args) {
+        Object[] scriptArgs = new Object[args.length];
+        for (int i = 0; i < args.length; i++) {
+            scriptArgs[i] = String.valueOf(args[i]);
         }
+        List<Long> result = redisTemplate.execute(script, ARGS_SERIALIZER, (RedisSerializer) ARGS_SERIALIZER,
+                rateLimitKeys, scriptArgs);
+        if (result == null || result.isEmpty()) {
+            throw new IllegalStateException("Empty response from rate limit script");
+        }
+        return result;
+    }
+
+    private RateLimitInfo toRateLimitInfo(int limit, long count, long resetMillis) {
+        return new RateLimitInfo(
+                limit,
+                count,
+                Math.max(0, limit - count),
+                Instant.now().plusMillis(resetMillis).getEpochSecond()
+        );
     }
 
     /**
@@ -214,13 +318,22 @@ public class RateLimitService {
     }
 
     /**
-     * Mask SSN for logging
+     * Outcome of a bulk reset
      */
-    private String maskSsn(String ssn) {
-        if (ssn == null || ssn.length() < 4) {
-            return "XXX-XX-****";
-        }
-        return "XXX-XX-" + ssn.substring(ssn.length() - 4);
+    public record ResetResult(long scanned, long deleted, long durationMillis) {
+    }
+
+    /**
+     * One page of a rate limit key listing
+     * @param nextCursor cursor for the next page, "0" when the iteration is complete
+     */
+    public record KeyPage(String nextCursor, List<KeyStats> keys) {
+    }
+
+    /**
+     * Requests counted for a key in its current window (-1 for GCRA keys) and its TTL
+     */
+    public record KeyStats(String key, long count, long ttlMillis) {
     }
 
     /**
@@ -0,0 +1,173 @@
+package com.abcbank.onboarding.infrastructure.security;
+
+import com.abcbank.onboarding.domain.model.OtpVerification;
+import com.abcbank.onboarding.domain.model.OtpVerification.OtpChannel;
+import com.abcbank.onboarding.domain.model.OtpVerification.OtpStatus;
+import com.abcbank.onboarding.domain.port.out.OtpChallengeStore;
+import com.abcbank.onboarding.domain.port.out.OtpVerificationRepository;
+import com.abcbank.onboarding.domain.service.OtpHasher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * OTP challenges in Redis, one hash per application and channel:
+ * otp_challenge:{applicationId}:{channel} -> id, digest, attempts, createdAt, expiresAt.
+ *
+ * The key lives until a grace period after the OTP expiry, so a late attempt is still
+ * reported as expired rather than missing. Verification is one Lua script: expiry check,
+ * attempt limit, compare and consume, or count the failed attempt. The code is compared
+ * as a keyed digest (OtpHasher.digest) bound to the application and channel.
+ *
+ * A verified challenge is consumed. An expired or locked one is kept until its TTL, so
+ * later attempts get the same answer (as with the database store) instead of NOT_FOUND.
+ *
+ * Postgres only receives one otp_verification summary row when an attempt ends a
+ * challenge (verified, expired or locked), for audit. A challenge that expires without
+ * any attempt leaves no summary row; its issue is recorded by the OTP_SENT audit event.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "onboarding.otp.store", havingValue = "redis")
+public class RedisOtpChallengeStore implements OtpChallengeStore {
+
+    static final String KEY_PREFIX = "otp_challenge:";
+    private static final long EXPIRED_GRACE_MILLIS = 600_000;
+    private static final StringRedisSerializer SERIALIZER = StringRedisSerializer.UTF_8;
+
+    // ARGV: id, digest, createdAt, expiresAt, ttl (all millis)
+    static final RedisScript<Long> ISSUE = new DefaultRedisScript<>("""
+            redis.call('DEL', KEYS[1])
+            redis.call('HSET', KEYS[1], 'id', ARGV[1], 'digest', ARGV[2], 'attempts', 0,
+                    'createdAt', ARGV[3], 'expiresAt', ARGV[4])
+            redis.call('PEXPIRE', KEYS[1], ARGV[5])
+            return 1
+            """, Long.class);
+
+    // ARGV: candidate digest, max attempts
+    // Returns {outcome, attempts, id, createdAt, expiresAt, digest, ended}, or {'NOT_FOUND', '0'};
+    // ended is '1' only for the attempt that ended the challenge
+    @SuppressWarnings("rawtypes")
+    static final RedisScript<List> VERIFY = new DefaultRedisScript<>("""
+            local c = redis.call('HMGET', KEYS[1], 'digest', 'attempts', 'expiresAt', 'id', 'createdAt')
+            if not c[1] then
+                return {'NOT_FOUND', '0'}
+            end
+            local attempts = tonumber(c[2])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+            local outcome
+            if now > tonumber(c[3]) then
+                outcome = 'EXPIRED'
+            elseif attempts >= tonumber(ARGV[2]) then
+                outcome = 'MAX_ATTEMPTS_EXCEEDED'
+            elseif c[1] == ARGV[1] then
+                redis.call('DEL', KEYS[1])
+                return {'VERIFIED', tostring(attempts), c[4], c[5], c[3], c[1], '1'}
+            else
+                attempts = redis.call('HINCRBY', KEYS[1], 'attempts', 1)
+                return {'INVALID', tostring(attempts), c[4], c[5], c[3], c[1], '0'}
+            end
+            -- Keep the hash until its TTL so later attempts are still refused the same way
+            local ended = redis.call('HSETNX', KEYS[1], 'ended', outcome)
+            return {outcome, tostring(attempts), c[4], c[5], c[3], c[1], tostring(ended)}
+            """, List.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final OtpHasher otpHasher;
+    private final OtpVerificationRepository otpVerificationRepository;
+
+    public RedisOtpChallengeStore(
+            RedisTemplate<String, Object> redisTemplate,
+            OtpHasher otpHasher,
+            OtpVerificationRepository otpVerificationRepository) {
+        this.redisTemplate = redisTemplate;
+        this.otpHasher = otpHasher;
+        this.otpVerificationRepository = otpVerificationRepository;
+        log.info("OTP challenges are stored in Redis");
+    }
+
+    @Override
+    public void issue(UUID applicationId, OtpChannel channel, String otp, LocalDateTime expiresAt) {
+        long now = System.currentTimeMillis();
+        long expiresAtMillis = toMillis(expiresAt);
+        executeScript(ISSUE, key(applicationId, channel),
+                UUID.randomUUID().toString(),
+                otpHasher.digest(otp, context(applicationId, channel)),
+                String.valueOf(now),
+                String.valueOf(expiresAtMillis),
+                String.valueOf(Math.max(1, expiresAtMillis - now) + EXPIRED_GRACE_MILLIS));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public VerificationResult verify(UUID applicationId, OtpChannel channel, String otp, int maxAttempts) {
+        List<String> reply = (List<String>) executeScript(VERIFY, key(applicationId, channel),
+                otpHasher.digest(otp, context(applicationId, channel)),
+                String.valueOf(maxAttempts));
+
+        Outcome outcome = Outcome.valueOf(reply.get(0));
+        int attempts = Integer.parseInt(reply.get(1));
+        if (outcome == Outcome.NOT_FOUND || !"1".equals(reply.get(6))) {
+            return new VerificationResult(outcome, attempts);
+        }
+        switch (outcome) {
+            case VERIFIED -> saveSummary(applicationId, channel, reply, OtpStatus.VERIFIED);
+            case EXPIRED -> saveSummary(applicationId, channel, reply, OtpStatus.EXPIRED);
+            case MAX_ATTEMPTS_EXCEEDED -> saveSummary(applicationId, channel, reply, OtpStatus.MAX_ATTEMPTS_EXCEEDED);
+            default -> { }
+        }
+        return new VerificationResult(outcome, attempts);
+    }
+
+    /**
+     * One audit row per ended challenge
+     */
+    private void saveSummary(UUID applicationId, OtpChannel channel, List<String> reply, OtpStatus status) {
+        otpVerificationRepository.save(new OtpVerification(
+                UUID.fromString(reply.get(2)),
+                applicationId,
+                channel,
+                reply.get(5),
+                toDateTime(Long.parseLong(reply.get(4))),
+                Integer.parseInt(reply.get(1)),
+                status,
+                toDateTime(Long.parseLong(reply.get(3))),
+                status == OtpStatus.VERIFIED ? LocalDateTime.now() : null
+        ));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Object executeScript(RedisScript<?> script, String key, Object... args) {
+        return redisTemplate.execute(script, SERIALIZER, (RedisSerializer) SERIALIZER, List.of(key), args);
+    }
+
+    private static String key(UUID applicationId, OtpChannel channel) {
+        return KEY_PREFIX + applicationId + ":" + channel.name();
+    }
+
+    private static String context(UUID applicationId, OtpChannel channel) {
+        return applicationId + ":" + channel.name();
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+}
@@ -63,6 +63,7 @@ public class SessionFilter extends OncePerRequestFilter {
                     if (session == null) {
                         log.warn("Invalid or expired session: {} for user: {}",
                                 sessionId, authentication.getName());
+                        evictCachedToken(request);
                         SecurityContextHolder.clearContext();
                         response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                         response.setContentType("application/json");
@@ -79,6 +80,16 @@ public class SessionFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Revoked sessions must not keep being served from the verified-claims cache
+     */
+    private void evictCachedToken(HttpServletRequest request) {
+        String authorizationHeader = request.getHeader("Authorization");
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
+            jwtTokenService.evictToken(authorizationHeader.substring(7));
+        }
+    }
+
     /**
      * Extract client IP address from request
      * Handles X-Forwarded-For header for proxy/load balancer scenarios
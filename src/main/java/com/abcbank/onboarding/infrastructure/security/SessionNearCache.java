@@ -0,0 +1,178 @@
+package com.abcbank.onboarding.infrastructure.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-node cache of recently validated sessions, so most employee requests skip the
+ * Redis read and JSON deserialization.
+ *
+ * Entries live for a short TTL. The session scripts publish terminations on a Redis
+ * pub/sub channel as "id1,id2,...|publishedAtMillis"; every node evicts the sessions on
+ * receipt, so a terminated session is rejected cluster-wide within the pub/sub delivery
+ * time rather than the TTL. The TTL bounds staleness if a message is lost (e.g. during
+ * a reconnect).
+ *
+ * An invalidation can overtake a request that loaded the session from Redis just before
+ * the termination. Every invalidation therefore advances a generation counter, and a put
+ * is refused if the generation moved since the caller read it before loading. Entries are
+ * immutable snapshots; each get returns a fresh Session, so request threads never share one.
+ */
+@Slf4j
+@Component
+public class SessionNearCache implements MessageListener {
+
+    static final String INVALIDATION_CHANNEL = "session:invalidations";
+
+    private final Cache<String, Snapshot> cache;
+    private final AtomicLong generation = new AtomicLong();
+    private final Timer invalidationLag;
+    private final boolean enabled;
+
+    public SessionNearCache(
+            RedisMessageListenerContainer listenerContainer,
+            MeterRegistry meterRegistry,
+            @Value("${onboarding.session.near-cache.enabled:true}") boolean enabled,
+            @Value("${onboarding.session.near-cache.max-size:10000}") long maxSize,
+            @Value("${onboarding.session.near-cache.ttl:5000}") long ttlMillis) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "session.near-cache");
+        Gauge.builder("session.near-cache.hit-ratio", cache, c -> c.stats().hitRate())
+                .description("Share of session validations served from the near-cache")
+                .register(meterRegistry);
+        this.invalidationLag = Timer.builder("session.near-cache.invalidation.lag")
+                .description("Time from a session termination to its eviction on this node")
+                .register(meterRegistry);
+
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    /**
+     * Cached session (a copy the caller may modify), or null on a miss
+     */
+    public Session get(String sessionId) {
+        if (!enabled) {
+            return null;
+        }
+        Snapshot snapshot = cache.getIfPresent(sessionId);
+        return snapshot != null ? snapshot.toSession() : null;
+    }
+
+    /**
+     * Current invalidation generation; read it before loading a session to cache
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Cache a snapshot of the session, unless an invalidation arrived after the caller
+     * read {@code loadedAtGeneration}
+     */
+    public void put(Session session, long loadedAtGeneration) {
+        if (!enabled || generation.get() != loadedAtGeneration) {
+            return;
+        }
+        cache.put(session.getSessionId(), Snapshot.of(session));
+        // An invalidation between the check and the put may have missed the new entry
+        if (generation.get() != loadedAtGeneration) {
+            cache.invalidate(session.getSessionId());
+        }
+    }
+
+    /**
+     * Evict sessions on this node only (other nodes are notified through the channel)
+     */
+    public void evict(Collection<String> sessionIds) {
+        invalidate(sessionIds);
+    }
+
+    private void invalidate(Collection<String> sessionIds) {
+        // Advance first, so a concurrent put either sees the new generation or is evicted here
+        generation.incrementAndGet();
+        cache.invalidateAll(sessionIds);
+    }
+
+    /**
+     * Invalidation published by any node (including this one)
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.lastIndexOf('|');
+        if (separator <= 0) {
+            log.warn("Ignoring malformed session invalidation message");
+            return;
+        }
+
+        invalidate(Arrays.asList(body.substring(0, separator).split(",")));
+        try {
+            long publishedAt = Long.parseLong(body.substring(separator + 1));
+            invalidationLag.record(Math.max(0, System.currentTimeMillis() - publishedAt), TimeUnit.MILLISECONDS);
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed session invalidation timestamp");
+        }
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Immutable copy of a validated session
+     */
+    private record Snapshot(String sessionId, UUID userId, String employeeId, String email, String[] roles,
+                            String deviceFingerprint, String ipAddress, String userAgent, LocalDateTime createdAt,
+                            LocalDateTime lastActivityAt, LocalDateTime expiresAt, boolean active) {
+
+        static Snapshot of(Session session) {
+            return new Snapshot(session.getSessionId(), session.getUserId(), session.getEmployeeId(),
+                    session.getEmail(), session.getRoles() != null ? session.getRoles().clone() : null,
+                    session.getDeviceFingerprint(), session.getIpAddress(), session.getUserAgent(),
+                    session.getCreatedAt(), session.getLastActivityAt(), session.getExpiresAt(), session.isActive());
+        }
+
+        Session toSession() {
+            Session session = new Session();
+            session.setSessionId(sessionId);
+            session.setUserId(userId);
+            session.setEmployeeId(employeeId);
+            session.setEmail(email);
+            session.setRoles(roles != null ? roles.clone() : null);
+            session.setDeviceFingerprint(deviceFingerprint);
+            session.setIpAddress(ipAddress);
+            session.setUserAgent(userAgent);
+            session.setCreatedAt(createdAt);
+            session.setLastActivityAt(lastActivityAt);
+            session.setExpiresAt(expiresAt);
+            session.setActive(active);
+            return session;
+        }
+    }
+}
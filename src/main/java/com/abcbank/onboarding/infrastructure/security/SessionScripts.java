@@ -0,0 +1,118 @@
+package com.abcbank.onboarding.infrastructure.security;
+
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+/**
+ * Server-side Lua scripts used by SessionService.
+ *
+ * A session is a hash at session:v2:{id} (TTL = absolute timeout) with its last activity in
+ * session_activity:v2:{id} (TTL = idle timeout); user_sessions:v2:{userId} is the set of a
+ * user's session ids. Scripts that touch other sessions of a user build those keys from
+ * the same prefixes (standalone Redis; keys are not declared for cluster routing).
+ *
+ * Scripts that end sessions publish "id1,id2,...|publishedAtMillis" on the near-cache
+ * invalidation channel, so eviction on all nodes needs no extra round trip.
+ */
+final class SessionScripts {
+
+    /**
+     * Read a session and its last activity.
+     *
+     * KEYS[1] = session key, KEYS[2] = activity key
+     *
+     * Returns {} if there is no session hash, otherwise
+     * {last activity in ms or '', field1, value1, field2, value2, ...}
+     */
+    @SuppressWarnings("rawtypes")
+    static final RedisScript<List> LOAD = new DefaultRedisScript<>("""
+            if redis.call('TYPE', KEYS[1]).ok ~= 'hash' then
+                return {}
+            end
+            local result = redis.call('HGETALL', KEYS[1])
+            table.insert(result, 1, redis.call('GET', KEYS[2]) or '')
+            return result
+            """, List.class);
+
+    /**
+     * Create a session, first ending all of the user's sessions when the concurrency
+     * limit is reached.
+     *
+     * KEYS[1] = user sessions set, KEYS[2] = session key, KEYS[3] = activity key
+     * ARGV[1] = max concurrent sessions, ARGV[2] = session id, ARGV[3] = absolute timeout in ms,
+     * ARGV[4] = idle TTL in ms, ARGV[5] = last activity in ms, ARGV[6] = invalidation channel,
+     * ARGV[7...] = session hash field/value pairs
+     *
+     * Returns the ids of the sessions that were ended
+     */
+    @SuppressWarnings("rawtypes")
+    static final RedisScript<List> CREATE = new DefaultRedisScript<>("""
+            local ended = {}
+            if redis.call('SCARD', KEYS[1]) >= tonumber(ARGV[1]) then
+                ended = redis.call('SMEMBERS', KEYS[1])
+                for _, id in ipairs(ended) do
+                    redis.call('DEL', 'session:v2:' .. id, 'session_activity:v2:' .. id)
+                end
+                redis.call('DEL', KEYS[1])
+                if #ended > 0 then
+                    redis.call('PUBLISH', ARGV[6], table.concat(ended, ',') .. '|' .. ARGV[5])
+                end
+            end
+
+            redis.call('DEL', KEYS[2])
+            redis.call('HSET', KEYS[2], unpack(ARGV, 7))
+            redis.call('PEXPIRE', KEYS[2], ARGV[3])
+            redis.call('SET', KEYS[3], ARGV[5], 'PX', ARGV[4])
+            redis.call('SADD', KEYS[1], ARGV[2])
+            redis.call('PEXPIRE', KEYS[1], ARGV[3])
+            return ended
+            """, List.class);
+
+    /**
+     * End one session.
+     *
+     * KEYS[1] = session key, KEYS[2] = activity key
+     * ARGV[1] = session id, ARGV[2] = invalidation channel, ARGV[3] = now in ms
+     *
+     * Returns the employee id of the ended session, or nil if there was none
+     */
+    static final RedisScript<String> TERMINATE = new DefaultRedisScript<>("""
+            local owner = false
+            if redis.call('TYPE', KEYS[1]).ok == 'hash' then
+                owner = redis.call('HMGET', KEYS[1], 'userId', 'employeeId')
+                redis.call('SREM', 'user_sessions:v2:' .. owner[1], ARGV[1])
+            end
+            redis.call('DEL', KEYS[1], KEYS[2])
+            redis.call('PUBLISH', ARGV[2], ARGV[1] .. '|' .. ARGV[3])
+            if owner then
+                return owner[2]
+            end
+            return false
+            """, String.class);
+
+    /**
+     * End all sessions of a user.
+     *
+     * KEYS[1] = user sessions set
+     * ARGV[1] = invalidation channel, ARGV[2] = now in ms
+     *
+     * Returns the ids of the sessions that were ended
+     */
+    @SuppressWarnings("rawtypes")
+    static final RedisScript<List> TERMINATE_ALL = new DefaultRedisScript<>("""
+            local ended = redis.call('SMEMBERS', KEYS[1])
+            for _, id in ipairs(ended) do
+                redis.call('DEL', 'session:v2:' .. id, 'session_activity:v2:' .. id)
+            end
+            redis.call('DEL', KEYS[1])
+            if #ended > 0 then
+                redis.call('PUBLISH', ARGV[1], table.concat(ended, ',') .. '|' .. ARGV[2])
+            end
+            return ended
+            """, List.class);
+
+    private SessionScripts() {
+    }
+}
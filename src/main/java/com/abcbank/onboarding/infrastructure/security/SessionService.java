@@ -2,47 +2,91 @@ package com.abcbank.onboarding.infrastructure.security;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.util.Set;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Session Management Service
  * Manages Redis-based sessions for COMPLIANCE_OFFICER and ADMIN users
+ *
+ * A session is a Redis hash (session:v2:{id}) written once with the absolute timeout as TTL,
+ * so single fields can be read without decoding the whole session. Last activity lives in
+ * a separate small key (session_activity:v2:{id}) whose TTL is the idle timeout, so both
+ * expiries are enforced by Redis. Activity is written at most once per write interval;
+ * writes are coalesced per node and flushed in a pipeline.
+ *
+ * Creation (including the concurrency limit), termination and termination of all of a
+ * user's sessions each run as one Lua script - a single atomic round trip regardless of
+ * the number of sessions. See {@link SessionScripts}.
+ *
+ * The v2 keys never overlap the JSON values of the previous format, so neither format
+ * meets the other's keys during a rolling deploy (no WRONGTYPE errors). Sessions created
+ * before the deploy are simply not found: their users log in again once, and the old keys
+ * expire by their own TTLs.
  */
 @Slf4j
 @Service
 public class SessionService {
 
-    private static final String SESSION_KEY_PREFIX = "session:";
-    private static final String USER_SESSIONS_KEY_PREFIX = "user_sessions:";
+    private static final String SESSION_KEY_PREFIX = "session:v2:";
+    private static final String USER_SESSIONS_KEY_PREFIX = "user_sessions:v2:";
+    private static final String ACTIVITY_KEY_PREFIX = "session_activity:v2:";
+    private static final StringRedisSerializer ARGS_SERIALIZER = StringRedisSerializer.UTF_8;
 
     private final RedisTemplate<String, Object> redisTemplate;
+    private final SessionNearCache nearCache;
+    private final SessionSweeper sessionSweeper;
     private final long idleTimeout;
     private final long officerAbsoluteTimeout;
     private final long adminAbsoluteTimeout;
     private final int maxConcurrentSessions;
+    private final long activityWriteInterval;
+
+    // Activity writes waiting for the next flush, latest value per session wins
+    private final Map<String, PendingActivity> pendingActivity = new ConcurrentHashMap<>();
 
     public SessionService(
             RedisTemplate<String, Object> redisTemplate,
-            @Value("${session.timeout.idle:900000}") long idleTimeout,
-            @Value("${session.timeout.officer-absolute:28800000}") long officerAbsoluteTimeout,
-            @Value("${session.timeout.admin-absolute:14400000}") long adminAbsoluteTimeout,
-            @Value("${session.max-concurrent:1}") int maxConcurrentSessions
+            SessionNearCache nearCache,
+            SessionSweeper sessionSweeper,
+            @Value("${onboarding.session.timeout.idle:900000}") long idleTimeout,
+            @Value("${onboarding.session.timeout.officer-absolute:28800000}") long officerAbsoluteTimeout,
+            @Value("${onboarding.session.timeout.admin-absolute:14400000}") long adminAbsoluteTimeout,
+            @Value("${onboarding.session.max-concurrent:1}") int maxConcurrentSessions,
+            @Value("${onboarding.session.activity.write-interval:60000}") long activityWriteInterval
     ) {
         this.redisTemplate = redisTemplate;
+        this.nearCache = nearCache;
+        this.sessionSweeper = sessionSweeper;
         this.idleTimeout = idleTimeout;
         this.officerAbsoluteTimeout = officerAbsoluteTimeout;
         this.adminAbsoluteTimeout = adminAbsoluteTimeout;
         this.maxConcurrentSessions = maxConcurrentSessions;
+        this.activityWriteInterval = activityWriteInterval;
 
-        log.info("SessionService initialized - Idle: {}ms, Officer: {}ms, Admin: {}ms, MaxSessions: {}",
-                idleTimeout, officerAbsoluteTimeout, adminAbsoluteTimeout, maxConcurrentSessions);
+        log.info("SessionService initialized - Idle: {}ms, Officer: {}ms, Admin: {}ms, MaxSessions: {}, " +
+                        "ActivityWriteInterval: {}ms",
+                idleTimeout, officerAbsoluteTimeout, adminAbsoluteTimeout, maxConcurrentSessions,
+                activityWriteInterval);
     }
 
     /**
@@ -64,17 +108,25 @@ public class SessionService {
         Session session = new Session(sessionId, userId, employeeId, email,
                 roles, ipAddress, userAgent, expiresAt);
 
-        // Terminate existing sessions if limit exceeded
-        terminateExistingSessions(userId, employeeId);
-
-        // Store session in Redis
-        String sessionKey = SESSION_KEY_PREFIX + sessionId;
-        redisTemplate.opsForValue().set(sessionKey, session, absoluteTimeout, TimeUnit.MILLISECONDS);
-
-        // Track user sessions
-        String userSessionsKey = USER_SESSIONS_KEY_PREFIX + userId.toString();
-        redisTemplate.opsForSet().add(userSessionsKey, sessionId);
-        redisTemplate.expire(userSessionsKey, absoluteTimeout, TimeUnit.MILLISECONDS);
+        // Store session, track it for the user and terminate existing sessions
+        // if the concurrent limit is reached - one atomic script
+        List<Object> args = new ArrayList<>(List.of(
+                maxConcurrentSessions, sessionId, absoluteTimeout, Math.min(idleTimeout, absoluteTimeout),
+                toEpochMillis(session.getLastActivityAt()), SessionNearCache.INVALIDATION_CHANNEL));
+        toFields(session).forEach((field, value) -> {
+            args.add(field);
+            args.add(value);
+        });
+        List<String> ended = executeScript(SessionScripts.CREATE,
+                List.of(USER_SESSIONS_KEY_PREFIX + userId, SESSION_KEY_PREFIX + sessionId,
+                        ACTIVITY_KEY_PREFIX + sessionId),
+                args.toArray());
+
+        if (ended != null && !ended.isEmpty()) {
+            log.warn("Max concurrent sessions reached for user: {}. Terminated {} existing sessions.",
+                    employeeId, ended.size());
+            forgetLocally(ended);
+        }
 
         log.info("Session created successfully: {} for user: {} with timeout: {}ms",
                 sessionId, employeeId, absoluteTimeout);
@@ -91,12 +143,28 @@ public class SessionService {
             return null;
         }
 
-        String sessionKey = SESSION_KEY_PREFIX + sessionId;
-        Session session = (Session) redisTemplate.opsForValue().get(sessionKey);
+        // Read before loading, so a termination that overtakes the load is not cached
+        long generation = nearCache.generation();
 
-        if (session == null) {
-            log.warn("Session not found: {}", sessionId);
-            return null;
+        // Recently validated on this node - anomaly and expiry checks below still apply
+        Session session = nearCache.get(sessionId);
+        boolean cached = session != null;
+
+        if (!cached) {
+            // Session fields and last activity in one round trip
+            session = loadSession(sessionId);
+
+            if (session == null) {
+                log.warn("Session not found: {}", sessionId);
+                return null;
+            }
+
+            if (session.getLastActivityAt() == null) {
+                // Activity key expired after the idle timeout
+                log.warn("Session idle timeout: {}", sessionId);
+                terminateSession(sessionId, "Idle timeout");
+                return null;
+            }
         }
 
         if (!session.isActive()) {
@@ -131,9 +199,11 @@ public class SessionService {
             return null;
         }
 
-        // Update last activity time
-        session.updateActivity();
-        redisTemplate.opsForValue().set(sessionKey, session);
+        // Update last activity time (coalesced, the session body is not rewritten)
+        boolean activityRecorded = recordActivity(session);
+        if (!cached || activityRecorded) {
+            nearCache.put(session, generation);
+        }
 
         log.debug("Session validated successfully: {}", sessionId);
         return session;
@@ -145,51 +215,31 @@ public class SessionService {
     public void terminateSession(String sessionId, String reason) {
         log.info("Terminating session: {} - Reason: {}", sessionId, reason);
 
-        String sessionKey = SESSION_KEY_PREFIX + sessionId;
-        Session session = (Session) redisTemplate.opsForValue().get(sessionKey);
-
-        if (session != null) {
-            // Remove from user sessions set
-            String userSessionsKey = USER_SESSIONS_KEY_PREFIX + session.getUserId().toString();
-            redisTemplate.opsForSet().remove(userSessionsKey, sessionId);
-
-            // Delete session
-            redisTemplate.delete(sessionKey);
+        // Remove the session and its user-set entry, and notify all nodes - one script
+        forgetLocally(List.of(sessionId));
+        String employeeId = executeScript(SessionScripts.TERMINATE,
+                List.of(SESSION_KEY_PREFIX + sessionId, ACTIVITY_KEY_PREFIX + sessionId),
+                sessionId, SessionNearCache.INVALIDATION_CHANNEL, System.currentTimeMillis());
 
-            log.info("Session terminated: {} for user: {}", sessionId, session.getEmployeeId());
+        if (employeeId != null) {
+            log.info("Session terminated: {} for user: {}", sessionId, employeeId);
         }
     }
 
     /**
-     * Terminate all sessions for a user
+     * Terminate all sessions for a user in one round trip, however many there are
      */
     public void terminateAllUserSessions(UUID userId, String reason) {
         log.info("Terminating all sessions for user: {} - Reason: {}", userId, reason);
 
-        String userSessionsKey = USER_SESSIONS_KEY_PREFIX + userId.toString();
-        Set<Object> sessionIds = redisTemplate.opsForSet().members(userSessionsKey);
-
-        if (sessionIds != null) {
-            for (Object sessionId : sessionIds) {
-                terminateSession((String) sessionId, reason);
-            }
+        List<String> ended = executeScript(SessionScripts.TERMINATE_ALL,
+                List.of(USER_SESSIONS_KEY_PREFIX + userId),
+                SessionNearCache.INVALIDATION_CHANNEL, System.currentTimeMillis());
+        if (ended != null) {
+            forgetLocally(ended);
         }
 
-        redisTemplate.delete(userSessionsKey);
-        log.info("All sessions terminated for user: {}", userId);
-    }
-
-    /**
-     * Terminate existing sessions if concurrent limit exceeded
-     */
-    private void terminateExistingSessions(UUID userId, String employeeId) {
-        String userSessionsKey = USER_SESSIONS_KEY_PREFIX + userId.toString();
-        Long sessionCount = redisTemplate.opsForSet().size(userSessionsKey);
-
-        if (sessionCount != null && sessionCount >= maxConcurrentSessions) {
-            log.warn("Max concurrent sessions reached for user: {}. Terminating existing sessions.", employeeId);
-            terminateAllUserSessions(userId, "New login - max concurrent sessions exceeded");
-        }
+        log.info("All sessions terminated for user: {} ({} sessions)", userId, ended != null ? ended.size() : 0);
     }
 
     /**
@@ -205,8 +255,7 @@ public class SessionService {
      * Refresh session expiry
      */
     public void refreshSession(String sessionId) {
-        String sessionKey = SESSION_KEY_PREFIX + sessionId;
-        Session session = (Session) redisTemplate.opsForValue().get(sessionKey);
+        Session session = loadSession(sessionId);
 
         if (session != null) {
             long absoluteTimeout = isAdmin(session.getRoles()) ? adminAbsoluteTimeout : officerAbsoluteTimeout;
@@ -214,9 +263,14 @@ public class SessionService {
             // Check if session hasn't exceeded absolute timeout
             Duration duration = Duration.between(session.getCreatedAt(), LocalDateTime.now());
             if (duration.toMillis() < absoluteTimeout) {
-                session.updateActivity();
+                // Written immediately; the session body keeps its absolute TTL
                 long remainingTime = absoluteTimeout - duration.toMillis();
-                redisTemplate.opsForValue().set(sessionKey, session, remainingTime, TimeUnit.MILLISECONDS);
+                pendingActivity.remove(sessionId);
+                byte[] activityKey = ARGS_SERIALIZER.serialize(ACTIVITY_KEY_PREFIX + sessionId);
+                byte[] now = ARGS_SERIALIZER.serialize(String.valueOf(System.currentTimeMillis()));
+                redisTemplate.execute((RedisCallback<Boolean>) connection -> connection.stringCommands()
+                        .set(activityKey, now, Expiration.milliseconds(Math.min(idleTimeout, remainingTime)),
+                                RedisStringCommands.SetOption.upsert()));
                 log.debug("Session refreshed: {}", sessionId);
             } else {
                 log.warn("Cannot refresh session: absolute timeout exceeded for session: {}", sessionId);
@@ -225,6 +279,154 @@ public class SessionService {
         }
     }
 
+    /**
+     * Get a session without validating it. Test seam for reading the stored hash;
+     * request paths must use validateSession.
+     * @return the session (last activity null if it has idled out), or null if there is none
+     */
+    Session getSession(String sessionId) {
+        return loadSession(sessionId);
+    }
+
+    /**
+     * Queue a last-activity write if the stored value is older than the write interval.
+     * Idle expiry is therefore accurate to within one write interval.
+     * @return true if a write was queued and the session's last activity updated
+     */
+    private boolean recordActivity(Session session) {
+        long now = System.currentTimeMillis();
+        if (now - toEpochMillis(session.getLastActivityAt()) < activityWriteInterval) {
+            return false;
+        }
+        long remainingTime = toEpochMillis(session.getExpiresAt()) - now;
+        if (remainingTime <= 0) {
+            return false;
+        }
+        session.updateActivity();
+        pendingActivity.put(session.getSessionId(),
+                new PendingActivity(now, Math.min(idleTimeout, remainingTime)));
+        return true;
+    }
+
+    /**
+     * Write queued last-activity updates in one pipeline.
+     * SET XX, so a session terminated or expired in the meantime is not revived.
+     */
+    @Scheduled(fixedDelayString = "${onboarding.session.activity.flush-interval:1000}")
+    public void flushActivity() {
+        if (pendingActivity.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<String, PendingActivity>> batch = new ArrayList<>();
+        for (String sessionId : pendingActivity.keySet()) {
+            PendingActivity activity = pendingActivity.remove(sessionId);
+            if (activity != null) {
+                batch.add(Map.entry(sessionId, activity));
+            }
+        }
+
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Map.Entry<String, PendingActivity> entry : batch) {
+                    connection.stringCommands().set(
+                            ARGS_SERIALIZER.serialize(ACTIVITY_KEY_PREFIX + entry.getKey()),
+                            ARGS_SERIALIZER.serialize(String.valueOf(entry.getValue().lastActivityMillis())),
+                            Expiration.milliseconds(entry.getValue().ttlMillis()),
+                            RedisStringCommands.SetOption.ifPresent());
+                }
+                return null;
+            });
+            log.debug("Flushed last activity for {} sessions", batch.size());
+        } catch (Exception e) {
+            // Put back unless a newer value was queued meanwhile
+            batch.forEach(entry -> pendingActivity.putIfAbsent(entry.getKey(), entry.getValue()));
+            log.warn("Could not flush session activity for {} sessions, will retry", batch.size(), e);
+        }
+    }
+
+    /**
+     * Drop sessions from this node's near-cache and activity queue
+     */
+    private void forgetLocally(List<String> sessionIds) {
+        sessionIds.forEach(pendingActivity::remove);
+        nearCache.evict(sessionIds);
+    }
+
+    /**
+     * Read session fields and last activity in one round trip
+     */
+    private Session loadSession(String sessionId) {
+        List<String> reply = executeScript(SessionScripts.LOAD,
+                List.of(SESSION_KEY_PREFIX + sessionId, ACTIVITY_KEY_PREFIX + sessionId));
+        if (reply == null || reply.isEmpty()) {
+            return null;
+        }
+
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 1; i + 1 < reply.size(); i += 2) {
+            fields.put(reply.get(i), reply.get(i + 1));
+        }
+        Session session = fromFields(fields);
+        String lastActivity = reply.get(0);
+        session.setLastActivityAt(lastActivity.isEmpty() ? null : toLocalDateTime(Long.parseLong(lastActivity)));
+        return session;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private <T> T executeScript(RedisScript<?> script, List<String> keys, Object... args) {
+        Object[] stringArgs = new Object[args.length];
+        for (int i = 0; i < args.length; i++) {
+            stringArgs[i] = String.valueOf(args[i]);
+        }
+        return (T) redisTemplate.execute((RedisScript) script, ARGS_SERIALIZER, (RedisSerializer) ARGS_SERIALIZER,
+                keys, stringArgs);
+    }
+
+    /**
+     * Session hash fields (last activity is kept in its own key)
+     */
+    private static Map<String, String> toFields(Session session) {
+        Map<String, String> fields = new HashMap<>();
+        fields.put("sessionId", Objects.toString(session.getSessionId(), ""));
+        fields.put("userId", session.getUserId().toString());
+        fields.put("employeeId", Objects.toString(session.getEmployeeId(), ""));
+        fields.put("email", Objects.toString(session.getEmail(), ""));
+        fields.put("roles", session.getRoles() != null ? String.join(",", session.getRoles()) : "");
+        fields.put("deviceFingerprint", Objects.toString(session.getDeviceFingerprint(), ""));
+        fields.put("ipAddress", Objects.toString(session.getIpAddress(), ""));
+        fields.put("userAgent", Objects.toString(session.getUserAgent(), ""));
+        fields.put("createdAt", String.valueOf(toEpochMillis(session.getCreatedAt())));
+        fields.put("expiresAt", String.valueOf(toEpochMillis(session.getExpiresAt())));
+        fields.put("active", session.isActive() ? "1" : "0");
+        return fields;
+    }
+
+    private static Session fromFields(Map<String, String> fields) {
+        Session session = new Session();
+        session.setSessionId(fields.get("sessionId"));
+        session.setUserId(UUID.fromString(fields.get("userId")));
+        session.setEmployeeId(fields.get("employeeId"));
+        session.setEmail(fields.get("email"));
+        String roles = fields.getOrDefault("roles", "");
+        session.setRoles(roles.isEmpty() ? new String[0] : roles.split(","));
+        session.setDeviceFingerprint(fields.get("deviceFingerprint"));
+        session.setIpAddress(fields.get("ipAddress"));
+        session.setUserAgent(fields.get("userAgent"));
+        session.setCreatedAt(toLocalDateTime(Long.parseLong(fields.get("createdAt"))));
+        session.setExpiresAt(toLocalDateTime(Long.parseLong(fields.get("expiresAt"))));
+        session.setActive("1".equals(fields.get("active")));
+        return session;
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
     /**
      * Check if user has ADMIN role
      */
@@ -241,11 +443,16 @@ public class SessionService {
     }
 
     /**
-     * Clean up expired sessions (can be called by scheduler)
+     * Clean up after expired sessions: Redis TTLs delete the sessions themselves, this removes
+     * their ids from the user session sets (one replica at a time)
+     * @return number of dangling ids removed, or -1 if another replica ran the cleanup
      */
-    public void cleanupExpiredSessions() {
+    @Scheduled(cron = "${onboarding.session.cleanup.cron:0 */15 * * * *}")
+    public long cleanupExpiredSessions() {
         log.info("Starting cleanup of expired sessions");
-        // Redis TTL handles automatic deletion, but this can be used for additional cleanup logic
-        // or reporting purposes
+        return sessionSweeper.sweep(USER_SESSIONS_KEY_PREFIX, SESSION_KEY_PREFIX);
+    }
+
+    private record PendingActivity(long lastActivityMillis, long ttlMillis) {
     }
 }
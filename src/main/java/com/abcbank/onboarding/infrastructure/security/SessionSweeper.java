@@ -0,0 +1,167 @@
+package com.abcbank.onboarding.infrastructure.security;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Removes dangling ids from user_sessions:{userId} sets.
+ *
+ * Sessions end by TTL without touching the user's set, so their ids would otherwise stay
+ * there, inflating getActiveSessionCount and making the concurrency limit end live sessions.
+ * The sweeper walks the sets with SCAN, checks member existence and removes the dangling
+ * ids, all in pipelined batches. A Redis lock makes sure only one replica sweeps at a time.
+ */
+@Slf4j
+@Component
+public class SessionSweeper {
+
+    static final String LOCK_KEY = "session_sweeper:lock";
+    private static final StringRedisSerializer SERIALIZER = StringRedisSerializer.UTF_8;
+
+    // Release the lock only if this node still holds it
+    private static final RedisScript<Long> RELEASE_LOCK = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final DistributionSummary reclaimedPerRun;
+    private final int batchSize;
+    private final long lockTimeoutMillis;
+    private final boolean enabled;
+
+    public SessionSweeper(
+            RedisTemplate<String, Object> redisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${onboarding.session.cleanup.enabled:true}") boolean enabled,
+            @Value("${onboarding.session.cleanup.batch-size:500}") int batchSize,
+            @Value("${onboarding.session.cleanup.lock-timeout:600000}") long lockTimeoutMillis) {
+        this.redisTemplate = redisTemplate;
+        this.batchSize = Math.max(1, batchSize);
+        this.lockTimeoutMillis = lockTimeoutMillis;
+        this.enabled = enabled;
+        this.reclaimedPerRun = DistributionSummary.builder("session.sweeper.reclaimed")
+                .description("Dangling session ids removed from user session sets per sweep")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Sweep all user session sets, unless disabled or another replica is already sweeping
+     * @return number of dangling ids removed, or -1 if the sweep was skipped
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public long sweep(String userSessionsKeyPrefix, String sessionKeyPrefix) {
+        if (!enabled) {
+            return -1;
+        }
+
+        String token = UUID.randomUUID().toString();
+        Boolean locked = redisTemplate.execute((RedisCallback<Boolean>) connection -> connection.stringCommands()
+                .set(SERIALIZER.serialize(LOCK_KEY), SERIALIZER.serialize(token),
+                        Expiration.milliseconds(lockTimeoutMillis), RedisStringCommands.SetOption.ifAbsent()));
+        if (!Boolean.TRUE.equals(locked)) {
+            log.debug("Session sweep skipped, another replica holds the lock");
+            return -1;
+        }
+
+        long startedAt = System.currentTimeMillis();
+        long scanned = 0;
+        long reclaimed = 0;
+        try {
+            ScanOptions options = ScanOptions.scanOptions()
+                    .match(userSessionsKeyPrefix + "*")
+                    .count(batchSize)
+                    .build();
+            List<String> batch = new ArrayList<>(batchSize);
+            try (Cursor<String> cursor = redisTemplate.scan(options)) {
+                while (cursor.hasNext()) {
+                    batch.add(cursor.next());
+                    if (batch.size() == batchSize) {
+                        reclaimed += sweepBatch(batch, sessionKeyPrefix);
+                        scanned += batch.size();
+                        batch.clear();
+                    }
+                }
+            }
+            reclaimed += sweepBatch(batch, sessionKeyPrefix);
+            scanned += batch.size();
+        } finally {
+            redisTemplate.execute(RELEASE_LOCK, SERIALIZER, (RedisSerializer) SERIALIZER, List.of(LOCK_KEY), token);
+        }
+
+        reclaimedPerRun.record(reclaimed);
+        log.info("Session sweep removed {} dangling ids from {} user session sets in {} ms",
+                reclaimed, scanned, System.currentTimeMillis() - startedAt);
+        return reclaimed;
+    }
+
+    /**
+     * Three pipelines per batch: SMEMBERS, EXISTS per member, SREM of dangling ids
+     */
+    @SuppressWarnings("unchecked")
+    private long sweepBatch(List<String> userSessionsKeys, String sessionKeyPrefix) {
+        if (userSessionsKeys.isEmpty()) {
+            return 0;
+        }
+
+        List<Object> members = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            userSessionsKeys.forEach(key -> connection.setCommands().sMembers(SERIALIZER.serialize(key)));
+            return null;
+        }, SERIALIZER);
+
+        // (user sessions key, session id)
+        List<Map.Entry<String, String>> candidates = new ArrayList<>();
+        for (int i = 0; i < userSessionsKeys.size(); i++) {
+            for (Object sessionId : (Collection<Object>) members.get(i)) {
+                candidates.add(Map.entry(userSessionsKeys.get(i), (String) sessionId));
+            }
+        }
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+
+        List<Object> exists = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            candidates.forEach(candidate -> connection.keyCommands()
+                    .exists(SERIALIZER.serialize(sessionKeyPrefix + candidate.getValue())));
+            return null;
+        }, SERIALIZER);
+
+        List<Map.Entry<String, String>> dangling = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            if (!Boolean.TRUE.equals(exists.get(i))) {
+                dangling.add(candidates.get(i));
+            }
+        }
+        if (dangling.isEmpty()) {
+            return 0;
+        }
+
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            dangling.forEach(entry -> connection.setCommands().sRem(
+                    SERIALIZER.serialize(entry.getKey()), SERIALIZER.serialize(entry.getValue())));
+            return null;
+        });
+        return dangling.size();
+    }
+}
@@ -0,0 +1,200 @@
+package com.abcbank.onboarding.infrastructure.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.zset.Tuple;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revocation of access tokens before their exp, by token id (jti) or session id.
+ *
+ * Revocations are stored in the revoked_tokens sorted set (score = when the revoked
+ * token expires anyway) and published on a pub/sub channel as "id|expiresAtMillis".
+ * Every node keeps them in memory: a Bloom filter answers the common "not revoked" case
+ * and an exact map confirms the rest, so checks never go to Redis. Each node rebuilds its
+ * copy from the sorted set periodically, which drops expired entries, resizes the filter
+ * and repairs messages lost during a reconnect.
+ *
+ * Token ids and session ids are random UUIDs and share one namespace.
+ */
+@Slf4j
+@Component
+public class TokenRevocationService implements MessageListener {
+
+    static final String REVOKED_KEY = "revoked_tokens";
+    static final String REVOCATION_CHANNEL = "token:revocations";
+    private static final StringRedisSerializer SERIALIZER = StringRedisSerializer.UTF_8;
+
+    // Record the revocation and notify every node in one round trip
+    private static final RedisScript<Long> REVOKE = new DefaultRedisScript<>("""
+            redis.call('ZADD', KEYS[1], ARGV[2], ARGV[1])
+            redis.call('PUBLISH', ARGV[3], ARGV[1] .. '|' .. ARGV[2])
+            return 1
+            """, Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final Counter bloomFalsePositives;
+    private final boolean enabled;
+    private final long expectedRevocations;
+    private final double falsePositiveRate;
+
+    private final Object lock = new Object();
+    private volatile Revocations revocations;
+    private List<Map.Entry<String, Long>> receivedDuringRebuild; // guarded by lock
+
+    public TokenRevocationService(
+            RedisTemplate<String, Object> redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            MeterRegistry meterRegistry,
+            @Value("${onboarding.jwt.revocation.enabled:true}") boolean enabled,
+            @Value("${onboarding.jwt.revocation.expected-revocations:100000}") long expectedRevocations,
+            @Value("${onboarding.jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.revocations = new Revocations(expectedRevocations, falsePositiveRate);
+
+        Gauge.builder("token.revocation.size", this, service -> service.revocations.expiresAt.size())
+                .description("Revoked token and session ids held in memory")
+                .register(meterRegistry);
+        this.bloomFalsePositives = Counter.builder("token.revocation.bloom.false-positives")
+                .description("Revocation checks that passed the Bloom filter but were not revoked")
+                .register(meterRegistry);
+
+        listenerContainer.addMessageListener(this, new ChannelTopic(REVOCATION_CHANNEL));
+    }
+
+    /**
+     * Revoke a token id or session id until the given time (the token's exp)
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void revoke(String id, long expiresAtMillis) {
+        if (id == null || expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        add(id, expiresAtMillis); // effective on this node even before the message arrives
+        redisTemplate.execute(REVOKE, SERIALIZER, (RedisSerializer) SERIALIZER, List.of(REVOKED_KEY),
+                id, String.valueOf(expiresAtMillis), REVOCATION_CHANNEL);
+        log.info("Revoked token/session id {} until {}", id, expiresAtMillis);
+    }
+
+    /**
+     * True if the token id or the session id has been revoked; either may be null
+     */
+    public boolean isRevoked(String tokenId, String sessionId) {
+        if (!enabled) {
+            return false;
+        }
+        Revocations current = revocations;
+        return current.contains(tokenId) || current.contains(sessionId);
+    }
+
+    /**
+     * Revocation published by any node (including this one)
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.lastIndexOf('|');
+        try {
+            add(body.substring(0, separator), Long.parseLong(body.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed token revocation message");
+        }
+    }
+
+    /**
+     * Reload from Redis; revocations received while loading are carried over
+     */
+    @Scheduled(fixedDelayString = "${onboarding.jwt.revocation.rebuild-interval:60000}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (lock) {
+            receivedDuringRebuild = new ArrayList<>();
+        }
+        try {
+            long now = System.currentTimeMillis();
+            byte[] key = SERIALIZER.serialize(REVOKED_KEY);
+            Set<Tuple> entries = redisTemplate.execute((RedisCallback<Set<Tuple>>) connection -> {
+                connection.zSetCommands().zRemRangeByScore(key, Double.NEGATIVE_INFINITY, now);
+                return connection.zSetCommands().zRangeByScoreWithScores(key, now, Double.POSITIVE_INFINITY);
+            });
+
+            int size = entries != null ? entries.size() : 0;
+            Revocations fresh = new Revocations(Math.max(expectedRevocations, 2L * size), falsePositiveRate);
+            if (entries != null) {
+                entries.forEach(entry -> fresh.add(SERIALIZER.deserialize(entry.getValue()), entry.getScore().longValue()));
+            }
+            synchronized (lock) {
+                receivedDuringRebuild.forEach(entry -> fresh.add(entry.getKey(), entry.getValue()));
+                revocations = fresh;
+            }
+            log.debug("Token revocations rebuilt with {} entries", size);
+        } catch (Exception e) {
+            log.warn("Token revocation rebuild failed, keeping current entries: {}", e.getMessage());
+        } finally {
+            synchronized (lock) {
+                receivedDuringRebuild = null;
+            }
+        }
+    }
+
+    private void add(String id, long expiresAtMillis) {
+        synchronized (lock) {
+            revocations.add(id, expiresAtMillis);
+            if (receivedDuringRebuild != null) {
+                receivedDuringRebuild.add(Map.entry(id, expiresAtMillis));
+            }
+        }
+    }
+
+    private final class Revocations {
+        private final BloomFilter filter;
+        private final Map<String, Long> expiresAt = new ConcurrentHashMap<>();
+
+        Revocations(long expectedInsertions, double falsePositiveRate) {
+            this.filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+        }
+
+        void add(String id, long expiresAtMillis) {
+            expiresAt.merge(id, expiresAtMillis, Math::max);
+            filter.add(id);
+        }
+
+        boolean contains(String id) {
+            if (id == null || !filter.mightContain(id)) {
+                return false;
+            }
+            Long until = expiresAt.get(id);
+            if (until == null) {
+                bloomFalsePositives.increment();
+                return false;
+            }
+            return until > System.currentTimeMillis();
+        }
+    }
+}
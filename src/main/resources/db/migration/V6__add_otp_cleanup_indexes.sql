@@ -0,0 +1,8 @@
+-- Indexes for the chunked OTP cleanup job (OtpVerificationSweeper)
+
+-- Pending OTPs by expiry: only holds rows still waiting to be expired, so finding the
+-- next chunk does not walk past finished rows. Purging finished rows uses idx_otp_expires.
+CREATE INDEX idx_otp_pending_expires ON otp_verification(expires_at) WHERE status = 'PENDING';
+
+-- Status alone has four values and is never selective; the partial index replaces it
+DROP INDEX IF EXISTS idx_otp_status;
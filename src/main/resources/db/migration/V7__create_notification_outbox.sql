@@ -0,0 +1,20 @@
+-- Outbox for asynchronous notification delivery (JdbcNotificationOutbox, NotificationDispatcher)
+
+CREATE TABLE notification_outbox (
+    id UUID PRIMARY KEY,
+    application_id UUID NOT NULL,
+    channel VARCHAR(10) NOT NULL,
+    payload BYTEA,                       -- AES-GCM recipient and code, cleared once finished
+    status VARCHAR(20) NOT NULL,         -- PENDING, SENT, FAILED, EXPIRED
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    sent_at TIMESTAMP,
+    last_error VARCHAR(100),
+    CONSTRAINT chk_outbox_status CHECK (status IN ('PENDING', 'SENT', 'FAILED', 'EXPIRED'))
+);
+
+-- Due messages per channel: only holds pending rows, so claims never walk finished ones
+CREATE INDEX idx_outbox_pending_due ON notification_outbox(channel, next_attempt_at) WHERE status = 'PENDING';
+CREATE INDEX idx_outbox_created ON notification_outbox(created_at);
@@ -0,0 +1,19 @@
+-- Blind indexes for encrypted identifiers (BlindIndex, JdbcCustomerIdentifierLookup)
+-- One row per identifier: a keyed hash of the normalized SSN, email or phone. The primary
+-- key is the unique index that duplicate checks probe and that rejects concurrent
+-- registrations of the same identifier. Existing applications are filled in by
+-- BlindIndexBackfill in batches.
+
+CREATE TABLE application_blind_index (
+    identifier_type VARCHAR(10) NOT NULL,  -- SSN, EMAIL, PHONE
+    digest VARCHAR(44) NOT NULL,
+    application_id UUID NOT NULL,
+
+    CONSTRAINT pk_application_blind_index PRIMARY KEY (identifier_type, digest),
+    -- Deferred: entries are written in the same transaction as the application,
+    -- possibly before the application row is flushed
+    CONSTRAINT fk_blind_index_application FOREIGN KEY (application_id)
+        REFERENCES onboarding_application(id) ON DELETE CASCADE DEFERRABLE INITIALLY DEFERRED
+);
+
+CREATE INDEX idx_blind_index_application ON application_blind_index(application_id);
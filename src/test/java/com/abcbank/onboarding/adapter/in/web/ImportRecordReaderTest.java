@@ -0,0 +1,83 @@
+package com.abcbank.onboarding.adapter.in.web;
+
+import com.abcbank.onboarding.adapter.in.web.ImportRecordReader.Format;
+import com.abcbank.onboarding.adapter.in.web.ImportRecordReader.ParsedRecord;
+import com.abcbank.onboarding.domain.exception.BusinessRuleViolationException;
+import com.abcbank.onboarding.domain.model.Gender;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Import Record Reader Tests")
+class ImportRecordReaderTest {
+
+    private static final String HEADER = String.join(",", ImportRecordReader.CSV_COLUMNS);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    @DisplayName("Should parse CSV records by header name, with quoted fields")
+    void shouldParseCsv() throws Exception {
+        // Given
+        String csv = HEADER + "\r\n"
+                + "John,Doe,male,1990-01-15,+31612345678,john@abc.nl,NL,\"Main \"\"Old\"\" St, East\",12A,1234AB,Amsterdam,NL,123456789\r\n";
+        ImportRecordReader reader = reader(csv, Format.CSV, 16384);
+
+        // When
+        ParsedRecord record = reader.next();
+
+        // Then
+        assertThat(record.line()).isEqualTo(2);
+        assertThat(record.error()).isNull();
+        assertThat(record.request().gender()).isEqualTo(Gender.MALE);
+        assertThat(record.request().dateOfBirth()).isEqualTo(LocalDate.of(1990, 1, 15));
+        assertThat(record.request().residentialAddress().street()).isEqualTo("Main \"Old\" St, East");
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject a CSV header missing required columns")
+    void shouldRejectIncompleteHeader() {
+        // Given
+        ImportRecordReader reader = reader("firstName,lastName\nJohn,Doe\n", Format.CSV, 16384);
+
+        // When / Then
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(BusinessRuleViolationException.class)
+                .hasMessageContaining("socialSecurityNumber");
+    }
+
+    @Test
+    @DisplayName("Should report malformed and oversized NDJSON lines and keep reading")
+    void shouldReportBadLines() throws Exception {
+        // Given
+        String ndjson = "{not json\n"
+                + "\n"
+                + "{\"firstName\":\"" + "x".repeat(200) + "\"}\n"
+                + "{\"firstName\":\"John\",\"dateOfBirth\":\"1990-01-15\"}";
+        ImportRecordReader reader = reader(ndjson, Format.NDJSON, 100);
+
+        // When
+        ParsedRecord malformed = reader.next();
+        ParsedRecord oversized = reader.next();
+        ParsedRecord valid = reader.next();
+
+        // Then - the blank line is skipped but still counted
+        assertThat(malformed.error()).startsWith("Malformed JSON");
+        assertThat(oversized.line()).isEqualTo(3);
+        assertThat(oversized.error()).isEqualTo("Record exceeds 100 characters");
+        assertThat(valid.line()).isEqualTo(4);
+        assertThat(valid.request().firstName()).isEqualTo("John");
+        assertThat(reader.next()).isNull();
+    }
+
+    private ImportRecordReader reader(String content, Format format, int maxRecordLength) {
+        return new ImportRecordReader(new StringReader(content), format, objectMapper, maxRecordLength);
+    }
+}
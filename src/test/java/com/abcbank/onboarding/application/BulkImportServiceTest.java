@@ -0,0 +1,171 @@
+package com.abcbank.onboarding.application;
+
+import com.abcbank.onboarding.domain.model.Address;
+import com.abcbank.onboarding.domain.model.AuditEvent;
+import com.abcbank.onboarding.domain.model.Gender;
+import com.abcbank.onboarding.domain.port.in.CreateApplicationUseCase.CreateApplicationCommand;
+import com.abcbank.onboarding.domain.port.in.ImportApplicationsUseCase.ImportRecord;
+import com.abcbank.onboarding.domain.port.in.ImportApplicationsUseCase.ImportResult;
+import com.abcbank.onboarding.domain.port.in.ImportApplicationsUseCase.ImportStatus;
+import com.abcbank.onboarding.domain.port.out.AuditRepository;
+import com.abcbank.onboarding.domain.port.out.EventPublisher;
+import com.abcbank.onboarding.domain.port.out.OnboardingRepository;
+import com.abcbank.onboarding.domain.service.DuplicateDetectionService;
+import com.abcbank.onboarding.domain.service.DuplicateDetectionService.DuplicateType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BulkImportService Unit Tests")
+class BulkImportServiceTest {
+
+    @Mock
+    private DuplicateDetectionService duplicateDetectionService;
+
+    @Mock
+    private OnboardingRepository onboardingRepository;
+
+    @Mock
+    private EventPublisher eventPublisher;
+
+    @Mock
+    private AuditRepository auditRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BulkImportService bulkImportService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        bulkImportService = new BulkImportService(
+                duplicateDetectionService, onboardingRepository, eventPublisher, auditRepository, transactionManager);
+    }
+
+    @Test
+    @DisplayName("Should import a batch with one lookup, one saveAll and one audit record")
+    void shouldImportBatch() {
+        // Given
+        List<ImportRecord> records = List.of(
+                record(1, "111111111", "first@abc.nl", "+31611111111"),
+                record(2, "222222222", "second@abc.nl", "+31622222222"));
+        when(duplicateDetectionService.detectDuplicateTypes(anyList()))
+                .thenReturn(List.of(DuplicateType.NONE, DuplicateType.NONE));
+        when(duplicateDetectionService.registerCustomers(anyMap())).thenReturn(true);
+
+        // When
+        List<ImportResult> results = bulkImportService.importBatch(records, "partner@abc.nl");
+
+        // Then
+        assertThat(results).extracting(ImportResult::status)
+                .containsExactly(ImportStatus.CREATED, ImportStatus.CREATED);
+        assertThat(results).allSatisfy(result -> assertThat(result.applicationId()).isNotNull());
+        verify(onboardingRepository, times(1)).saveAll(argThat(applications -> applications.size() == 2));
+        verify(onboardingRepository, never()).save(any());
+        verify(eventPublisher, times(2)).publish(any());
+
+        ArgumentCaptor<AuditEvent> audit = ArgumentCaptor.forClass(AuditEvent.class);
+        verify(auditRepository, times(1)).save(audit.capture());
+        assertThat(audit.getValue().getEventType()).isEqualTo("APPLICATIONS_BULK_IMPORTED");
+        assertThat(audit.getValue().getEventDetails()).containsEntry("created", 2L);
+    }
+
+    @Test
+    @DisplayName("Should reject repeated identifiers within the batch and existing customers")
+    void shouldRejectDuplicates() {
+        // Given - line 2 repeats line 1's email in another case; line 3 is an existing customer
+        List<ImportRecord> records = List.of(
+                record(1, "111111111", "first@abc.nl", "+31611111111"),
+                record(2, "222222222", "First@ABC.nl", "+31622222222"),
+                record(3, "333333333", "third@abc.nl", "+31633333333"));
+        when(duplicateDetectionService.detectDuplicateTypes(anyList()))
+                .thenReturn(List.of(DuplicateType.NONE, DuplicateType.SSN));
+        when(duplicateDetectionService.registerCustomers(anyMap())).thenReturn(true);
+
+        // When
+        List<ImportResult> results = bulkImportService.importBatch(records, "partner@abc.nl");
+
+        // Then
+        assertThat(results).extracting(ImportResult::status)
+                .containsExactly(ImportStatus.CREATED, ImportStatus.DUPLICATE, ImportStatus.DUPLICATE);
+        assertThat(results.get(1).error()).isEqualTo("Email already used earlier in this import");
+        assertThat(results.get(2).error()).isEqualTo("Customer with this Social Security Number already exists in the system");
+    }
+
+    @Test
+    @DisplayName("Should reject applicants younger than 18")
+    void shouldRejectMinors() {
+        // Given
+        CreateApplicationCommand minor = command("111111111", "young@abc.nl", "+31611111111",
+                LocalDate.now().minusYears(17));
+        when(duplicateDetectionService.detectDuplicateTypes(anyList())).thenReturn(List.of());
+        when(duplicateDetectionService.registerCustomers(anyMap())).thenReturn(true);
+
+        // When
+        List<ImportResult> results = bulkImportService.importBatch(List.of(new ImportRecord(7, minor)), "partner@abc.nl");
+
+        // Then
+        assertThat(results).singleElement()
+                .satisfies(result -> {
+                    assertThat(result.line()).isEqualTo(7);
+                    assertThat(result.status()).isEqualTo(ImportStatus.INVALID);
+                });
+    }
+
+    @Test
+    @DisplayName("Should roll back and re-check the batch when identifiers are claimed concurrently")
+    void shouldRetryAfterConcurrentClaim() {
+        // Given - the first claim conflicts; the re-check finds the concurrent customer
+        List<ImportRecord> records = List.of(record(1, "111111111", "first@abc.nl", "+31611111111"));
+        when(duplicateDetectionService.detectDuplicateTypes(anyList()))
+                .thenReturn(List.of(DuplicateType.NONE), List.of(DuplicateType.EMAIL));
+        when(duplicateDetectionService.registerCustomers(anyMap())).thenReturn(false, true);
+
+        // When
+        List<ImportResult> results = bulkImportService.importBatch(records, "partner@abc.nl");
+
+        // Then
+        assertThat(results).extracting(ImportResult::status).containsExactly(ImportStatus.DUPLICATE);
+        ArgumentCaptor<TransactionStatus> transactions = ArgumentCaptor.forClass(TransactionStatus.class);
+        verify(transactionManager, times(2)).commit(transactions.capture());
+        assertThat(transactions.getAllValues()).extracting(TransactionStatus::isRollbackOnly)
+                .containsExactly(true, false);
+        verify(eventPublisher, never()).publish(any());
+    }
+
+    private ImportRecord record(long line, String ssn, String email, String phone) {
+        return new ImportRecord(line, command(ssn, email, phone, LocalDate.of(1990, 1, 15)));
+    }
+
+    private CreateApplicationCommand command(String ssn, String email, String phone, LocalDate dateOfBirth) {
+        return new CreateApplicationCommand(
+                "John",
+                "Doe",
+                Gender.MALE,
+                dateOfBirth,
+                phone,
+                email,
+                "NL",
+                new Address("Main St", "123", "1234AB", "Amsterdam", "NL"),
+                ssn
+        );
+    }
+}
@@ -0,0 +1,154 @@
+package com.abcbank.onboarding.domain.service;
+
+import com.abcbank.onboarding.domain.exception.DuplicateCustomerException;
+import com.abcbank.onboarding.domain.port.out.CustomerIdentifierLookup;
+import com.abcbank.onboarding.domain.port.out.CustomerIdentifierLookup.IdentifierMatches;
+import com.abcbank.onboarding.domain.port.out.CustomerIdentifierLookup.Identifiers;
+import com.abcbank.onboarding.domain.service.DuplicateDetectionService.DuplicateType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DuplicateDetectionService Unit Tests")
+class DuplicateDetectionServiceTest {
+
+    private static final String SSN = "123-45-6789";
+    private static final String EMAIL = "applicant@abc.nl";
+    private static final String PHONE = "+31612345678";
+    private static final UUID APPLICATION_ID = UUID.randomUUID();
+
+    @Mock
+    private CustomerIdentifierLookup identifierLookup;
+
+    private DuplicateDetectionService duplicateDetectionService;
+
+    @BeforeEach
+    void setUp() {
+        duplicateDetectionService = new DuplicateDetectionService(identifierLookup);
+    }
+
+    @Test
+    @DisplayName("Should report SSN before email and phone from a single lookup")
+    void shouldKeepSsnPriority() {
+        // Given
+        when(identifierLookup.findMatches(SSN, EMAIL, PHONE)).thenReturn(new IdentifierMatches(true, true, true));
+
+        // When
+        DuplicateType type = duplicateDetectionService.detectDuplicateType(SSN, EMAIL, PHONE);
+
+        // Then
+        assertThat(type).isEqualTo(DuplicateType.SSN);
+        verify(identifierLookup, times(1)).findMatches(SSN, EMAIL, PHONE);
+    }
+
+    @Test
+    @DisplayName("Should report email before phone")
+    void shouldReportEmailBeforePhone() {
+        // Given
+        when(identifierLookup.findMatches(SSN, EMAIL, PHONE)).thenReturn(new IdentifierMatches(false, true, true));
+
+        // When
+        DuplicateType type = duplicateDetectionService.detectDuplicateType(SSN, EMAIL, PHONE);
+
+        // Then
+        assertThat(type).isEqualTo(DuplicateType.EMAIL);
+    }
+
+    @Test
+    @DisplayName("Should throw DuplicateCustomerException naming the matched field")
+    void shouldThrowForDuplicatePhone() {
+        // Given
+        when(identifierLookup.findMatches(SSN, EMAIL, PHONE)).thenReturn(new IdentifierMatches(false, false, true));
+
+        // When / Then
+        assertThatThrownBy(() -> duplicateDetectionService.checkDuplicates(SSN, EMAIL, PHONE))
+                .isInstanceOf(DuplicateCustomerException.class)
+                .hasMessage("Customer with this Phone Number already exists in the system")
+                .extracting(e -> ((DuplicateCustomerException) e).getDuplicateField())
+                .isEqualTo("PHONE");
+    }
+
+    @Test
+    @DisplayName("Should pass when no identifier matches")
+    void shouldPassWithoutMatches() {
+        // Given
+        when(identifierLookup.findMatches(SSN, EMAIL, PHONE)).thenReturn(IdentifierMatches.NONE);
+
+        // When / Then
+        assertThatCode(() -> duplicateDetectionService.checkDuplicates(SSN, EMAIL, PHONE))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Should list every matched field from a single lookup")
+    void shouldDetectAllDuplicates() {
+        // Given
+        when(identifierLookup.findMatches(SSN, EMAIL, PHONE)).thenReturn(new IdentifierMatches(true, false, true));
+
+        // When / Then
+        assertThat(duplicateDetectionService.detectAllDuplicates(SSN, EMAIL, PHONE))
+                .containsExactly(DuplicateType.SSN, DuplicateType.PHONE);
+        verify(identifierLookup, times(1)).findMatches(SSN, EMAIL, PHONE);
+    }
+
+    @Test
+    @DisplayName("Should apply the same priority to every customer of a batch lookup")
+    void shouldDetectDuplicateTypesInBatch() {
+        // Given
+        List<Identifiers> customers = List.of(
+                new Identifiers(SSN, EMAIL, PHONE),
+                new Identifiers("987654321", "other@abc.nl", "+31687654321"));
+        when(identifierLookup.findMatches(customers))
+                .thenReturn(List.of(new IdentifierMatches(false, true, true), IdentifierMatches.NONE));
+
+        // When / Then
+        assertThat(duplicateDetectionService.detectDuplicateTypes(customers))
+                .containsExactly(DuplicateType.EMAIL, DuplicateType.NONE);
+    }
+
+    @Test
+    @DisplayName("Should claim a new customer's identifiers with the lookup")
+    void shouldRegisterCustomer() {
+        // Given
+        when(identifierLookup.register(APPLICATION_ID, SSN, EMAIL, PHONE)).thenReturn(IdentifierMatches.NONE);
+
+        // When / Then
+        assertThatCode(() -> duplicateDetectionService.registerCustomer(APPLICATION_ID, SSN, EMAIL, PHONE))
+                .doesNotThrowAnyException();
+        verify(identifierLookup).register(APPLICATION_ID, SSN, EMAIL, PHONE);
+    }
+
+    @Test
+    @DisplayName("Should reject registration when another application holds an identifier")
+    void shouldRejectConflictingRegistration() {
+        // Given - a concurrent application claimed the email first
+        when(identifierLookup.register(APPLICATION_ID, SSN, EMAIL, PHONE))
+                .thenReturn(new IdentifierMatches(false, true, false));
+
+        // When / Then
+        assertThatThrownBy(() -> duplicateDetectionService.registerCustomer(APPLICATION_ID, SSN, EMAIL, PHONE))
+                .isInstanceOf(DuplicateCustomerException.class)
+                .extracting(e -> ((DuplicateCustomerException) e).getDuplicateField())
+                .isEqualTo("EMAIL");
+    }
+
+    @Test
+    @DisplayName("Should release an anonymized customer's identifiers")
+    void shouldReleaseCustomer() {
+        // When
+        duplicateDetectionService.releaseCustomer(APPLICATION_ID);
+
+        // Then
+        verify(identifierLookup).release(APPLICATION_ID);
+    }
+}
@@ -6,7 +6,6 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDateTime;
 
@@ -25,11 +24,11 @@ class OtpServiceTest {
     private OtpService otpService;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private OtpHasher otpHasher;
 
     @BeforeEach
     void setUp() {
-        otpService = new OtpService(passwordEncoder);
+        otpService = new OtpService(otpHasher);
     }
 
     @Test
@@ -76,19 +75,19 @@ class OtpServiceTest {
     }
 
     @Test
-    @DisplayName("Should hash OTP using password encoder")
+    @DisplayName("Should hash OTP using the OTP hasher")
     void shouldHashOtpUsingPasswordEncoder() {
         // Given
         String otp = "123456";
         String hashedOtp = "$2a$10$hashedValue";
-        when(passwordEncoder.encode(otp)).thenReturn(hashedOtp);
+        when(otpHasher.hash(otp)).thenReturn(hashedOtp);
 
         // When
         String result = otpService.hashOtp(otp);
 
         // Then
         assertThat(result).isEqualTo(hashedOtp);
-        verify(passwordEncoder, times(1)).encode(otp);
+        verify(otpHasher, times(1)).hash(otp);
     }
 
     @Test
@@ -99,7 +98,7 @@ class OtpServiceTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("OTP cannot be null or empty");
 
-        verify(passwordEncoder, never()).encode(anyString());
+        verify(otpHasher, never()).hash(anyString());
     }
 
     @Test
@@ -110,7 +109,7 @@ class OtpServiceTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("OTP cannot be null or empty");
 
-        verify(passwordEncoder, never()).encode(anyString());
+        verify(otpHasher, never()).hash(anyString());
     }
 
     @Test
@@ -121,7 +120,7 @@ class OtpServiceTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("OTP cannot be null or empty");
 
-        verify(passwordEncoder, never()).encode(anyString());
+        verify(otpHasher, never()).hash(anyString());
     }
 
     @Test
@@ -135,7 +134,7 @@ class OtpServiceTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("OTP must be exactly 6 digits");
 
-        verify(passwordEncoder, never()).encode(anyString());
+        verify(otpHasher, never()).hash(anyString());
     }
 
     @Test
@@ -144,14 +143,14 @@ class OtpServiceTest {
         // Given
         String providedOtp = "123456";
         String hashedOtp = "$2a$10$hashedValue";
-        when(passwordEncoder.matches(providedOtp, hashedOtp)).thenReturn(true);
+        when(otpHasher.matches(providedOtp, hashedOtp)).thenReturn(true);
 
         // When
         boolean result = otpService.verifyOtp(providedOtp, hashedOtp);
 
         // Then
         assertThat(result).isTrue();
-        verify(passwordEncoder, times(1)).matches(providedOtp, hashedOtp);
+        verify(otpHasher, times(1)).matches(providedOtp, hashedOtp);
     }
 
     @Test
@@ -160,14 +159,14 @@ class OtpServiceTest {
         // Given
         String providedOtp = "123456";
         String hashedOtp = "$2a$10$hashedValue";
-        when(passwordEncoder.matches(providedOtp, hashedOtp)).thenReturn(false);
+        when(otpHasher.matches(providedOtp, hashedOtp)).thenReturn(false);
 
         // When
         boolean result = otpService.verifyOtp(providedOtp, hashedOtp);
 
         // Then
         assertThat(result).isFalse();
-        verify(passwordEncoder, times(1)).matches(providedOtp, hashedOtp);
+        verify(otpHasher, times(1)).matches(providedOtp, hashedOtp);
     }
 
     @Test
@@ -181,7 +180,7 @@ class OtpServiceTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Provided OTP cannot be null or empty");
 
-        verify(passwordEncoder, never()).matches(anyString(), anyString());
+        verify(otpHasher, never()).matches(anyString(), anyString());
     }
 
     @Test
@@ -195,7 +194,7 @@ class OtpServiceTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Provided OTP cannot be null or empty");
 
-        verify(passwordEncoder, never()).matches(anyString(), anyString());
+        verify(otpHasher, never()).matches(anyString(), anyString());
     }
 
     @Test
@@ -209,7 +208,7 @@ class OtpServiceTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Hashed OTP cannot be null or empty");
 
-        verify(passwordEncoder, never()).matches(anyString(), anyString());
+        verify(otpHasher, never()).matches(anyString(), anyString());
     }
 
     @Test
@@ -223,7 +222,7 @@ class OtpServiceTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Hashed OTP cannot be null or empty");
 
-        verify(passwordEncoder, never()).matches(anyString(), anyString());
+        verify(otpHasher, never()).matches(anyString(), anyString());
     }
 
     @Test
@@ -292,12 +291,12 @@ class OtpServiceTest {
     }
 
     @Test
-    @DisplayName("Should throw exception when constructing with null password encoder")
-    void shouldThrowExceptionWhenConstructingWithNullPasswordEncoder() {
+    @DisplayName("Should throw exception when constructing with null OTP hasher")
+    void shouldThrowExceptionWhenConstructingWithNullOtpHasher() {
         // When/Then
         assertThatThrownBy(() -> new OtpService(null))
                 .isInstanceOf(NullPointerException.class)
-                .hasMessageContaining("PasswordEncoder cannot be null");
+                .hasMessageContaining("OtpHasher cannot be null");
     }
 
     @Test
@@ -0,0 +1,65 @@
+package com.abcbank.onboarding.infrastructure.config;
+
+import com.abcbank.onboarding.infrastructure.security.Session;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Compact Redis Serializer Tests")
+class CompactRedisSerializerTest {
+
+    private final GenericJackson2JsonRedisSerializer json = RedisConfig.jsonValueSerializer();
+    private final CompactRedisSerializer compact = new CompactRedisSerializer(json);
+
+    @Test
+    @DisplayName("Should round-trip well-known types")
+    void shouldRoundTripWellKnownTypes() {
+        // When/Then
+        assertThat(compact.deserialize(compact.serialize("100:60000"))).isEqualTo("100:60000");
+        assertThat(compact.deserialize(compact.serialize(1700000000000L))).isEqualTo(1700000000000L);
+        assertThat(compact.deserialize(compact.serialize(true))).isEqualTo(true);
+    }
+
+    @Test
+    @DisplayName("Should round-trip application types smaller than JSON")
+    void shouldRoundTripApplicationTypesCompactly() {
+        // Given
+        Session session = new Session("sess_" + UUID.randomUUID(), UUID.randomUUID(), "EMP123", "officer@abc.nl",
+                new String[]{"COMPLIANCE_OFFICER"}, "192.168.1.1", "Mozilla/5.0", LocalDateTime.now().plusHours(8));
+
+        // When
+        byte[] bytes = compact.serialize(session);
+        Session read = (Session) compact.deserialize(bytes);
+
+        // Then
+        assertThat(read.getSessionId()).isEqualTo(session.getSessionId());
+        assertThat(read.getExpiresAt()).isEqualTo(session.getExpiresAt());
+        assertThat(read.getRoles()).containsExactly("COMPLIANCE_OFFICER");
+        assertThat(bytes.length).isLessThan(json.serialize(session).length);
+    }
+
+    @Test
+    @DisplayName("Should read values written by the legacy JSON serializer")
+    void shouldReadLegacyJson() {
+        // Given
+        byte[] legacy = json.serialize("100:60000");
+
+        // When/Then
+        assertThat(compact.deserialize(legacy)).isEqualTo("100:60000");
+    }
+
+    @Test
+    @DisplayName("Should reject types outside the application packages")
+    void shouldRejectForeignTypes() {
+        // When/Then
+        assertThatThrownBy(() -> compact.serialize(List.of("a")))
+                .isInstanceOf(SerializationException.class);
+    }
+}
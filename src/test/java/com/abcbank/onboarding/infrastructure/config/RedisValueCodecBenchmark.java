@@ -0,0 +1,78 @@
+package com.abcbank.onboarding.infrastructure.config;
+
+import com.abcbank.onboarding.infrastructure.security.Session;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode cost of the JSON and compact Redis value codecs for a session-sized value.
+ * Not part of the test suite; run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.abcbank.onboarding.infrastructure.config.RedisValueCodecBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RedisValueCodecBenchmark {
+
+    private GenericJackson2JsonRedisSerializer json;
+    private CompactRedisSerializer compact;
+    private Session session;
+    private byte[] jsonBytes;
+    private byte[] compactBytes;
+
+    @Setup
+    public void setUp() {
+        json = RedisConfig.jsonValueSerializer();
+        compact = new CompactRedisSerializer(json);
+        session = new Session("sess_" + UUID.randomUUID(), UUID.randomUUID(), "EMP123", "officer@abc.nl",
+                new String[]{"COMPLIANCE_OFFICER"}, "192.168.1.1",
+                "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36", LocalDateTime.now().plusHours(8));
+        jsonBytes = json.serialize(session);
+        compactBytes = compact.serialize(session);
+        System.out.printf("Encoded size - json: %d bytes, compact: %d bytes%n", jsonBytes.length, compactBytes.length);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() {
+        return json.serialize(session);
+    }
+
+    @Benchmark
+    public byte[] encodeCompact() {
+        return compact.serialize(session);
+    }
+
+    @Benchmark
+    public Object decodeJson() {
+        return json.deserialize(jsonBytes);
+    }
+
+    @Benchmark
+    public Object decodeCompact() {
+        return compact.deserialize(compactBytes);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RedisValueCodecBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,231 @@
+package com.abcbank.onboarding.infrastructure.notification;
+
+import com.abcbank.onboarding.domain.model.OtpVerification.OtpChannel;
+import com.abcbank.onboarding.domain.port.out.NotificationService;
+import com.abcbank.onboarding.infrastructure.notification.JdbcNotificationOutbox.OutboxMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Notification Dispatcher Tests")
+class NotificationDispatcherTest {
+
+    @Mock
+    private JdbcNotificationOutbox outbox;
+
+    @Mock
+    private NotificationService notificationService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = dispatcher(2, 200);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.destroy();
+    }
+
+    @Test
+    @DisplayName("Should deliver a claimed OTP through its channel and mark it sent")
+    void shouldDeliverAndMarkSent() {
+        // Given
+        OutboxMessage message = message(OtpChannel.SMS, 1);
+        givenClaimed(OtpChannel.SMS, message);
+
+        // When
+        int claimed = dispatcher.dispatch();
+
+        // Then
+        assertThat(claimed).isEqualTo(1);
+        verify(outbox, timeout(1000)).markSent(message.id());
+        verify(notificationService).sendOtpSms("+31612345678", "123456");
+        verify(notificationService, never()).sendOtpEmail(anyString(), anyString());
+        assertThat(meterRegistry.get("notification.outbox.deliveries")
+                .tags("channel", "sms", "outcome", "sent").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reschedule with backoff when the provider fails")
+    void shouldRescheduleOnProviderError() {
+        // Given
+        OutboxMessage message = message(OtpChannel.EMAIL, 2);
+        givenClaimed(OtpChannel.EMAIL, message);
+        doThrow(new IllegalStateException("SMTP unavailable for applicant@abc.nl"))
+                .when(notificationService).sendOtpEmail(anyString(), anyString());
+
+        // When
+        dispatcher.dispatch();
+
+        // Then - only the exception type is stored
+        verify(outbox, timeout(1000)).reschedule(eq(message.id()), any(LocalDateTime.class),
+                eq("IllegalStateException"));
+        verify(outbox, never()).markSent(any());
+        assertThat(dispatcher.backoffMillis(1)).isEqualTo(1000);
+        assertThat(dispatcher.backoffMillis(3)).isEqualTo(4000);
+        assertThat(dispatcher.backoffMillis(40)).isEqualTo(30000);
+    }
+
+    @Test
+    @DisplayName("Should mark failed when the last attempt fails")
+    void shouldMarkFailedAfterMaxAttempts() {
+        // Given
+        OutboxMessage message = message(OtpChannel.EMAIL, 5);
+        givenClaimed(OtpChannel.EMAIL, message);
+        doThrow(new IllegalStateException("SMTP unavailable"))
+                .when(notificationService).sendOtpEmail(anyString(), anyString());
+
+        // When
+        dispatcher.dispatch();
+
+        // Then
+        verify(outbox, timeout(1000)).markFailed(message.id(), "IllegalStateException");
+        verify(outbox, never()).reschedule(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should interrupt a provider call that exceeds the timeout")
+    void shouldInterruptSlowProvider() throws Exception {
+        // Given - the provider hangs until interrupted
+        OutboxMessage message = message(OtpChannel.SMS, 1);
+        givenClaimed(OtpChannel.SMS, message);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            try {
+                Thread.sleep(10000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw new IllegalStateException("Interrupted");
+            }
+            return null;
+        }).when(notificationService).sendOtpSms(anyString(), anyString());
+
+        // When
+        dispatcher.dispatch();
+
+        // Then
+        assertThat(interrupted.await(2, TimeUnit.SECONDS)).isTrue();
+        verify(outbox, timeout(1000)).reschedule(eq(message.id()), any(LocalDateTime.class), anyString());
+        assertThat(meterRegistry.get("notification.outbox.deliveries")
+                .tags("channel", "sms", "outcome", "timeout").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep the slot until a timed-out provider call actually returns")
+    void shouldHoldSlotUntilWorkerFinishes() throws Exception {
+        // Given - one SMS slot; the provider ignores the interrupt and keeps running
+        dispatcher.destroy();
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = dispatcher(1, 100);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+            while (release.getCount() > 0 && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            return null;
+        }).when(notificationService).sendOtpSms(anyString(), anyString());
+        givenClaimed(OtpChannel.SMS, message(OtpChannel.SMS, 1));
+        dispatcher.dispatch();
+        await(() -> meterRegistry.find("notification.outbox.deliveries")
+                .tags("channel", "sms", "outcome", "timeout").counter() != null);
+
+        // When
+        int claimed = dispatcher.dispatch();
+
+        // Then - the cancelled call still occupies the slot
+        assertThat(claimed).isZero();
+        assertThat(meterRegistry.get("notification.outbox.in-flight").tag("channel", "sms").gauge().value())
+                .isEqualTo(1);
+        release.countDown();
+        await(() -> meterRegistry.get("notification.outbox.in-flight").tag("channel", "sms").gauge().value() == 0);
+    }
+
+    @Test
+    @DisplayName("Should claim no more messages than the channel has free slots")
+    void shouldClaimOnlyFreeSlots() throws Exception {
+        // Given - both SMS slots are busy, well within the provider timeout
+        dispatcher.destroy();
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = dispatcher(2, 5000);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> release.await(2, TimeUnit.SECONDS))
+                .when(notificationService).sendOtpSms(anyString(), anyString());
+        givenClaimed(OtpChannel.SMS, message(OtpChannel.SMS, 1), message(OtpChannel.SMS, 1));
+        dispatcher.dispatch();
+
+        // When
+        int claimed = dispatcher.dispatch();
+
+        // Then
+        assertThat(claimed).isZero();
+        verify(outbox, times(1)).claim(eq(OtpChannel.SMS), eq(2), anyInt(), anyLong(), anyLong(), anyLong());
+        assertThat(meterRegistry.get("notification.outbox.in-flight").tag("channel", "sms").gauge().value())
+                .isEqualTo(2);
+        release.countDown();
+        verify(outbox, timeout(1000).times(2)).markSent(any());
+    }
+
+    @Test
+    @DisplayName("Should not claim when disabled")
+    void shouldNotClaimWhenDisabled() {
+        // Given
+        NotificationDispatcher disabled = new NotificationDispatcher(outbox, notificationService,
+                new SimpleMeterRegistry(), false, 50, 5, 200, 1000, 30000, 86400000, 2, 2);
+
+        // When
+        int claimed = disabled.dispatch();
+
+        // Then
+        assertThat(claimed).isZero();
+        verifyNoInteractions(outbox);
+        disabled.destroy();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private NotificationDispatcher dispatcher(int concurrency, long providerTimeoutMillis) {
+        return new NotificationDispatcher(outbox, notificationService, meterRegistry, true, 50, 5,
+                providerTimeoutMillis, 1000, 30000, 86400000, concurrency, concurrency);
+    }
+
+    private void givenClaimed(OtpChannel channel, OutboxMessage... messages) {
+        // lenient: the other channel is claimed with different arguments
+        lenient().when(outbox.claim(eq(channel), anyInt(), anyInt(), anyLong(), anyLong(), anyLong()))
+                .thenReturn(List.of(messages))
+                .thenReturn(List.of());
+    }
+
+    private OutboxMessage message(OtpChannel channel, int attempts) {
+        String recipient = channel == OtpChannel.EMAIL ? "applicant@abc.nl" : "+31612345678";
+        return new OutboxMessage(UUID.randomUUID(), UUID.randomUUID(), channel, recipient, "123456",
+                attempts, LocalDateTime.now().plusMinutes(10));
+    }
+}
@@ -0,0 +1,103 @@
+package com.abcbank.onboarding.infrastructure.persistence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Blind Index Backfill Tests")
+class BlindIndexBackfillTest {
+
+    // Postgres sorts these first; a signed java.util.UUID cursor would have skipped them
+    private static final UUID LOW_ID = UUID.fromString("00000000-0000-4000-8000-000000000001");
+    private static final UUID MID_ID = UUID.fromString("7fffffff-0000-4000-8000-000000000002");
+    private static final UUID HIGH_ID = UUID.fromString("80000000-0000-4000-8000-000000000003");
+
+    private final BlindIndex blindIndex = new BlindIndex("test-secret");
+    private final PiiCipher piiCipher = new PiiCipher("MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=");
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement selectStatement;
+
+    @Mock
+    private PreparedStatement insertStatement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(startsWith("SELECT"))).thenReturn(selectStatement);
+        when(connection.prepareStatement(contains("INSERT"))).thenReturn(insertStatement);
+        when(selectStatement.executeQuery()).thenReturn(resultSet);
+        lenient().when(insertStatement.executeUpdate()).thenReturn(1);
+    }
+
+    @Test
+    @DisplayName("Should start without a cursor and continue after the last id of each batch")
+    void shouldBackfillFromTheLowestId() throws Exception {
+        // Given - a full first batch with the lowest ids, then a partial one
+        when(resultSet.next()).thenReturn(true, true, false, true, false);
+        when(resultSet.getObject(1, UUID.class)).thenReturn(LOW_ID, MID_ID, HIGH_ID);
+        when(resultSet.getString(anyInt())).thenReturn(piiCipher.encrypt("applicant@abc.nl"));
+        BlindIndexBackfill backfill = backfill(2);
+
+        // When
+        long applications = backfill.backfill();
+
+        // Then - SSN, email and phone entries per application
+        assertThat(applications).isEqualTo(3);
+        assertThat(backfill.isComplete()).isTrue();
+        verify(connection).prepareStatement(BlindIndexBackfill.SELECT_FIRST_BATCH);
+        verify(connection).prepareStatement(BlindIndexBackfill.SELECT_NEXT_BATCH);
+        verify(selectStatement).setObject(1, MID_ID);
+        verify(insertStatement, times(3)).setObject(3, LOW_ID);
+        verify(insertStatement, times(3)).setObject(3, HIGH_ID);
+    }
+
+    @Test
+    @DisplayName("Should hash the decrypted identifiers and skip anonymized applications")
+    void shouldHashPlaintext() throws Exception {
+        // Given - one live application, then one anonymized
+        when(resultSet.next()).thenReturn(true, true, false);
+        when(resultSet.getObject(1, UUID.class)).thenReturn(LOW_ID, MID_ID);
+        when(resultSet.getString(2)).thenReturn(piiCipher.encrypt("123456789"), piiCipher.encrypt("DELETED"));
+        when(resultSet.getString(3)).thenReturn(piiCipher.encrypt("applicant@abc.nl"),
+                piiCipher.encrypt("deleted@anonymized.local"));
+        when(resultSet.getString(4)).thenReturn(piiCipher.encrypt("+31612345678"), piiCipher.encrypt("DELETED"));
+
+        // When
+        long applications = backfill(10).backfill();
+
+        // Then
+        assertThat(applications).isEqualTo(1);
+        verify(insertStatement).setString(2, blindIndex.digest(IdentifierType.SSN, "123456789"));
+        verify(insertStatement).setString(2, blindIndex.digest(IdentifierType.EMAIL, "applicant@abc.nl"));
+        verify(insertStatement).setString(2, blindIndex.digest(IdentifierType.PHONE, "+31612345678"));
+        verify(insertStatement, never()).setObject(3, MID_ID);
+    }
+
+    private BlindIndexBackfill backfill(int batchSize) {
+        return new BlindIndexBackfill(dataSource, blindIndex, piiCipher, true, batchSize, 0);
+    }
+}
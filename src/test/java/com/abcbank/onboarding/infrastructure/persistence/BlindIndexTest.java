@@ -0,0 +1,35 @@
+package com.abcbank.onboarding.infrastructure.persistence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Blind Index Tests")
+class BlindIndexTest {
+
+    private final BlindIndex blindIndex = new BlindIndex("test-secret");
+
+    @Test
+    @DisplayName("Should map formatting variants of an identifier to the same digest")
+    void shouldNormalizeBeforeHashing() {
+        // When / Then
+        assertThat(blindIndex.digest(IdentifierType.SSN, "123-45-6789"))
+                .isEqualTo(blindIndex.digest(IdentifierType.SSN, "123456789"))
+                .hasSize(43);
+        assertThat(blindIndex.digest(IdentifierType.EMAIL, " Applicant@ABC.nl"))
+                .isEqualTo(blindIndex.digest(IdentifierType.EMAIL, "applicant@abc.nl"));
+    }
+
+    @Test
+    @DisplayName("Should separate identifier types and secrets")
+    void shouldDependOnTypeAndSecret() {
+        // Given
+        String ssnDigest = blindIndex.digest(IdentifierType.SSN, "31612345678");
+
+        // When / Then
+        assertThat(blindIndex.digest(IdentifierType.PHONE, "31612345678")).isNotEqualTo(ssnDigest);
+        assertThat(new BlindIndex("other-secret").digest(IdentifierType.SSN, "31612345678"))
+                .isNotEqualTo(ssnDigest);
+    }
+}
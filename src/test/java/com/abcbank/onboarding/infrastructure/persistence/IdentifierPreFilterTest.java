@@ -0,0 +1,181 @@
+package com.abcbank.onboarding.infrastructure.persistence;
+
+import com.abcbank.onboarding.domain.port.out.CustomerIdentifierLookup.IdentifierMatches;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Identifier Pre-Filter Tests")
+class IdentifierPreFilterTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private BlindIndexBackfill backfill;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private final BlindIndex blindIndex = new BlindIndex("test-secret");
+    private SimpleMeterRegistry meterRegistry;
+    private IdentifierPreFilter preFilter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        preFilter = new IdentifierPreFilter(redisTemplate, listenerContainer, dataSource, transactionManager,
+                meterRegistry, blindIndex, backfill, true, 1000, 0.01);
+    }
+
+    @Test
+    @DisplayName("Should send every check to the database before the first build")
+    void shouldFallThroughBeforeBuild() {
+        // When
+        IdentifierMatches possible = preFilter.mightMatch("123456789", "new@abc.nl", "+31600000000");
+
+        // Then
+        assertThat(possible).isEqualTo(new IdentifierMatches(true, true, true));
+    }
+
+    @Test
+    @DisplayName("Should wait for the blind index backfill and build when it completes")
+    void shouldBuildWhenBackfillCompletes() throws Exception {
+        // Given
+        ArgumentCaptor<Runnable> onComplete = ArgumentCaptor.forClass(Runnable.class);
+        verify(backfill).onComplete(onComplete.capture());
+        when(backfill.isComplete()).thenReturn(false);
+
+        // When / Then - an incomplete index would answer "new" for existing customers
+        assertThat(preFilter.rebuild()).isEqualTo(-1);
+        verifyNoInteractions(dataSource);
+
+        // When
+        givenApplication("123-45-6789", "existing@abc.nl", "+31612345678");
+        onComplete.getValue().run();
+
+        // Then
+        assertThat(preFilter.mightMatch("987654321", "new@abc.nl", "+31600000000").any()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should answer new identifiers without the database once built")
+    void shouldSkipDefiniteNegatives() throws Exception {
+        // Given
+        givenApplication("123-45-6789", "existing@abc.nl", "+31612345678");
+        assertThat(preFilter.rebuild()).isEqualTo(1);
+
+        // When
+        IdentifierMatches fresh = preFilter.mightMatch("987654321", "new@abc.nl", "+31600000000");
+        IdentifierMatches known = preFilter.mightMatch("123456789", "Existing@ABC.nl", "+31600000000");
+
+        // Then - normalization may only merge values
+        assertThat(fresh.any()).isFalse();
+        assertThat(known.ssn()).isTrue();
+        assertThat(known.email()).isTrue();
+        assertThat(meterRegistry.get("duplicate.filter.checks").tag("result", "skipped").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("duplicate.filter.memory").gauge().value()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should add new identifiers locally and broadcast them")
+    @SuppressWarnings("unchecked")
+    void shouldAddAndBroadcast() throws Exception {
+        // Given
+        givenApplication("123456789", "existing@abc.nl", "+31612345678");
+        preFilter.rebuild();
+
+        // When
+        preFilter.add("111223333", "added@abc.nl", "+31611111111");
+
+        // Then
+        assertThat(preFilter.mightMatch("111223333", "other@abc.nl", "+31600000000").ssn()).isTrue();
+        verify(redisTemplate).execute(any(RedisCallback.class));
+    }
+
+    @Test
+    @DisplayName("Should apply additions published by other nodes")
+    void shouldApplyAdditionsFromOtherNodes() throws Exception {
+        // Given
+        givenApplication("123456789", "existing@abc.nl", "+31612345678");
+        preFilter.rebuild();
+        String body = String.join(",",
+                blindIndex.digest(IdentifierType.SSN, "444556666"),
+                blindIndex.digest(IdentifierType.EMAIL, "remote@abc.nl"),
+                blindIndex.digest(IdentifierType.PHONE, "+31622222222"));
+
+        // When
+        preFilter.onMessage(new DefaultMessage(
+                IdentifierPreFilter.ADDITIONS_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8)), null);
+
+        // Then
+        assertThat(preFilter.mightMatch("000000000", "remote@abc.nl", "+31600000000").email()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should count possible matches the database did not confirm")
+    void shouldCountFalsePositives() {
+        // When
+        preFilter.recordOutcome(new IdentifierMatches(true, true, false), new IdentifierMatches(true, false, false));
+
+        // Then
+        assertThat(meterRegistry.get("duplicate.filter.false-positives").tag("type", "email").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("duplicate.filter.false-positives").tag("type", "ssn").counter().count())
+                .isZero();
+    }
+
+    /**
+     * One indexed application: its SSN, email and phone rows in application_blind_index
+     */
+    private void givenApplication(String ssn, String email, String phone) throws Exception {
+        lenient().when(backfill.isComplete()).thenReturn(true);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, true, false);
+        when(resultSet.getString(1)).thenReturn("SSN", "EMAIL", "PHONE");
+        when(resultSet.getString(2)).thenReturn(
+                blindIndex.digest(IdentifierType.SSN, ssn),
+                blindIndex.digest(IdentifierType.EMAIL, email),
+                blindIndex.digest(IdentifierType.PHONE, phone));
+    }
+}
@@ -0,0 +1,69 @@
+package com.abcbank.onboarding.infrastructure.persistence;
+
+import com.abcbank.onboarding.domain.port.out.CustomerIdentifierLookup.IdentifierMatches;
+import com.abcbank.onboarding.domain.port.out.CustomerIdentifierLookup.Identifiers;
+import com.abcbank.onboarding.infrastructure.exception.DuplicateCheckUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JDBC Customer Identifier Lookup Tests")
+class JdbcCustomerIdentifierLookupTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private IdentifierPreFilter preFilter;
+
+    @Mock
+    private BlindIndexBackfill backfill;
+
+    private JdbcCustomerIdentifierLookup lookup;
+
+    @BeforeEach
+    void setUp() {
+        lookup = new JdbcCustomerIdentifierLookup(dataSource, preFilter, new BlindIndex("test-secret"), backfill);
+    }
+
+    @Test
+    @DisplayName("Should refuse duplicate checks until the blind index is backfilled")
+    void shouldRefuseBeforeBackfill() {
+        // Given
+        when(backfill.isComplete()).thenReturn(false);
+
+        // When / Then - encrypted columns cannot be compared, so there is no fallback query
+        assertThatThrownBy(() -> lookup.findMatches("123456789", "applicant@abc.nl", "+31612345678"))
+                .isInstanceOf(DuplicateCheckUnavailableException.class);
+        assertThatThrownBy(() -> lookup.findMatches(List.of(
+                new Identifiers("123456789", "applicant@abc.nl", "+31612345678"))))
+                .isInstanceOf(DuplicateCheckUnavailableException.class);
+        verifyNoInteractions(dataSource, preFilter);
+    }
+
+    @Test
+    @DisplayName("Should answer definite negatives from the pre-filter once backfilled")
+    void shouldSkipQueryForDefiniteNegatives() {
+        // Given
+        when(backfill.isComplete()).thenReturn(true);
+        when(preFilter.mightMatch(anyString(), anyString(), anyString())).thenReturn(IdentifierMatches.NONE);
+
+        // When
+        IdentifierMatches matches = lookup.findMatches("123456789", "applicant@abc.nl", "+31612345678");
+
+        // Then
+        assertThat(matches).isEqualTo(IdentifierMatches.NONE);
+        verifyNoInteractions(dataSource);
+    }
+}
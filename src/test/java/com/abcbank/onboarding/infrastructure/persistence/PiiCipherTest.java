@@ -0,0 +1,38 @@
+package com.abcbank.onboarding.infrastructure.persistence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("PII Cipher Tests")
+class PiiCipherTest {
+
+    private static final String KEY = "MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=";
+
+    private final PiiCipher piiCipher = new PiiCipher(KEY);
+
+    @Test
+    @DisplayName("Should decrypt what it encrypts, with a fresh IV per value")
+    void shouldRoundTrip() {
+        // When
+        String first = piiCipher.encrypt("123456789");
+        String second = piiCipher.encrypt("123456789");
+
+        // Then
+        assertThat(first).isNotEqualTo(second).doesNotContain("123456789");
+        assertThat(piiCipher.decrypt(first)).isEqualTo("123456789");
+        assertThat(piiCipher.decrypt(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject plaintext and values encrypted with another key")
+    void shouldRejectForeignValues() {
+        // Given
+        String otherKey = new PiiCipher("ZGV2LWVuY3J5cHRpb24ta2V5LWNoYW5nZS1pbi1wcmQ=").encrypt("123456789");
+
+        // When / Then
+        assertThatThrownBy(() -> piiCipher.decrypt("applicant@abc.nl")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> piiCipher.decrypt(otherKey)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,50 @@
+package com.abcbank.onboarding.infrastructure.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Bloom Filter Tests")
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("Should contain every added value and few others")
+    void shouldHaveNoFalseNegatives() {
+        // Given
+        BloomFilter filter = new BloomFilter(10000, 0.01);
+        String[] added = new String[10000];
+        for (int i = 0; i < added.length; i++) {
+            added[i] = UUID.randomUUID().toString();
+            filter.add(added[i]);
+        }
+
+        // When
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        for (String value : added) {
+            assertThat(filter.mightContain(value)).isTrue();
+        }
+        assertThat(falsePositives).isLessThan(300); // expected around 100
+    }
+
+    @Test
+    @DisplayName("Should report memory use and expected false positive rate at capacity")
+    void shouldReportSizing() {
+        // Given
+        BloomFilter filter = new BloomFilter(1_000_000, 0.01);
+
+        // When / Then - about 9.6 bits per value at 1%
+        assertThat(filter.sizeInBytes()).isBetween(1_190_000L, 1_210_000L);
+        assertThat(filter.expectedFalsePositiveRate(0)).isZero();
+        assertThat(filter.expectedFalsePositiveRate(1_000_000)).isCloseTo(0.01, within(0.001));
+    }
+}
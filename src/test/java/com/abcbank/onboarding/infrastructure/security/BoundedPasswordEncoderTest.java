@@ -0,0 +1,101 @@
+package com.abcbank.onboarding.infrastructure.security;
+
+import com.abcbank.onboarding.infrastructure.exception.HashingCapacityExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Bounded Password Encoder Tests")
+class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.destroy();
+    }
+
+    @Test
+    @DisplayName("Should verify on the pool and record latency")
+    void shouldDelegate() {
+        // Given
+        encoder = new BoundedPasswordEncoder(new PlainEncoder(), 1, 1, 5000, meterRegistry);
+
+        // When
+        boolean matches = encoder.matches("secret", "secret");
+
+        // Then
+        assertThat(matches).isTrue();
+        assertThat(meterRegistry.get("password.hashing.duration").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject immediately when the pool and queue are full")
+    void shouldRejectWhenSaturated() throws Exception {
+        // Given - one busy thread and one queued request
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(), 1, 1, 5000, meterRegistry);
+        CompletableFuture.runAsync(() -> encoder.matches("a", "a"));
+        CompletableFuture.runAsync(() -> encoder.matches("b", "b"));
+        waitForQueueDepth(1);
+
+        // When / Then
+        assertThatThrownBy(() -> encoder.matches("c", "c"))
+                .isInstanceOf(HashingCapacityExceededException.class);
+        assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should give up after the timeout")
+    void shouldTimeOut() {
+        // Given
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(), 1, 1, 50, meterRegistry);
+
+        // When / Then
+        assertThatThrownBy(() -> encoder.matches("a", "a"))
+                .isInstanceOf(HashingCapacityExceededException.class)
+                .hasMessageContaining("timed out");
+    }
+
+    private void waitForQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meterRegistry.get("password.hashing.queue.depth").gauge().value() < depth
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static class PlainEncoder implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    }
+
+    private class BlockingEncoder extends PlainEncoder {
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.matches(rawPassword, encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.abcbank.onboarding.infrastructure.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("HMAC OTP Hasher Tests")
+class HmacOtpHasherTest {
+
+    private final BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(4);
+    private HmacOtpHasher hasher;
+
+    @BeforeEach
+    void setUp() {
+        hasher = new HmacOtpHasher("test-otp-pepper", bcrypt);
+    }
+
+    @Test
+    @DisplayName("Should verify its own salted hashes")
+    void shouldVerifyOwnHashes() {
+        // Given
+        String first = hasher.hash("123456");
+        String second = hasher.hash("123456");
+
+        // When / Then
+        assertThat(first).startsWith(HmacOtpHasher.PREFIX).isNotEqualTo(second);
+        assertThat(hasher.matches("123456", first)).isTrue();
+        assertThat(hasher.matches("123457", first)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject hashes made with another pepper")
+    void shouldRejectOtherPepper() {
+        // Given
+        String hash = new HmacOtpHasher("another-pepper", bcrypt).hash("123456");
+
+        // When / Then
+        assertThat(hasher.matches("123456", hash)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should still verify legacy BCrypt hashes")
+    void shouldVerifyLegacyBcrypt() {
+        // Given
+        String legacy = bcrypt.encode("123456");
+
+        // When / Then
+        assertThat(hasher.matches("123456", legacy)).isTrue();
+        assertThat(hasher.matches("654321", legacy)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject malformed hashes")
+    void shouldRejectMalformed() {
+        // When / Then
+        assertThat(hasher.matches("123456", "hmac1$no-separator")).isFalse();
+        assertThat(hasher.matches("123456", "hmac1$!!$!!")).isFalse();
+        assertThat(hasher.matches("123456", "plain")).isFalse();
+    }
+}
@@ -0,0 +1,217 @@
+package com.abcbank.onboarding.infrastructure.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Idempotency Filter Tests")
+class IdempotencyFilterTest {
+
+    private static final String PATH = "/api/v1/onboarding/applications";
+    private static final String BODY = "{\"email\":\"applicant@abc.nl\"}";
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private RedisConnection connection;
+
+    @Mock
+    private RedisStringCommands stringCommands;
+
+    @Mock
+    private RedisKeyCommands keyCommands;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final Map<String, byte[]> store = new HashMap<>();
+    private final AtomicInteger executions = new AtomicInteger();
+    private SimpleMeterRegistry meterRegistry;
+    private IdempotencyFilter filter;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new IdempotencyFilter(redisTemplate, objectMapper, meterRegistry, true, 86400000, 60000, 100, 65536);
+
+        // In-memory stand-in for the Redis strings the filter uses
+        lenient().when(redisTemplate.execute(any(RedisCallback.class)))
+                .thenAnswer(invocation -> ((RedisCallback<Object>) invocation.getArgument(0)).doInRedis(connection));
+        lenient().when(connection.stringCommands()).thenReturn(stringCommands);
+        lenient().when(connection.keyCommands()).thenReturn(keyCommands);
+        lenient().when(stringCommands.set(any(), any(), any(), any())).thenAnswer(invocation -> {
+            String key = new String((byte[]) invocation.getArgument(0), StandardCharsets.UTF_8);
+            if (invocation.getArgument(3) == RedisStringCommands.SetOption.SET_IF_ABSENT && store.containsKey(key)) {
+                return false;
+            }
+            store.put(key, invocation.getArgument(1));
+            return true;
+        });
+        lenient().when(stringCommands.get(any())).thenAnswer(invocation ->
+                store.get(new String((byte[]) invocation.getArgument(0), StandardCharsets.UTF_8)));
+        lenient().when(keyCommands.del(any())).thenAnswer(invocation ->
+                store.remove(new String((byte[]) invocation.getArgument(0), StandardCharsets.UTF_8)) != null ? 1L : 0L);
+    }
+
+    @Test
+    @DisplayName("Should run the first request once and replay its response for retries")
+    void shouldReplayStoredResponse() throws Exception {
+        // When
+        MockHttpServletResponse first = send("key-1", BODY, created());
+        MockHttpServletResponse retry = send("key-1", BODY, created());
+
+        // Then
+        assertThat(executions).hasValue(1);
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getHeader("Location")).isEqualTo(first.getHeader("Location"));
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString());
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(first.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different request")
+    void shouldRejectReusedKey() throws Exception {
+        // Given
+        send("key-1", BODY, created());
+
+        // When
+        MockHttpServletResponse response = send("key-1", "{\"email\":\"other@abc.nl\"}", created());
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(422);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should answer 409 when the first request is still running after the wait timeout")
+    void shouldNotRunConcurrentDuplicate() throws Exception {
+        // Given - the first request holds the key (same caller, path and body)
+        send("key-1", BODY, (request, response) -> {
+            MockHttpServletResponse concurrent = send("key-1", BODY, created());
+
+            // Then
+            assertThat(concurrent.getStatus()).isEqualTo(409);
+            assertThat(concurrent.getHeader("Retry-After")).isEqualTo("1");
+            ((HttpServletResponse) response).setStatus(201);
+        });
+
+        assertThat(meterRegistry.get("idempotency.requests").tag("outcome", "in_flight").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should release the key after a server error so a retry runs again")
+    void shouldNotStoreServerErrors() throws Exception {
+        // Given
+        send("key-1", BODY, (request, response) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(503);
+        });
+
+        // When
+        MockHttpServletResponse retry = send("key-1", BODY, created());
+
+        // Then
+        assertThat(executions).hasValue(2);
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should store the response of an async endpoint once its async dispatch completes")
+    void shouldStoreAsyncResponse() throws Exception {
+        // Given - the endpoint starts async processing and writes its response on the async dispatch
+        MockHttpServletRequest request = request("key-1", BODY);
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> req.startAsync(req, res));
+        assertThat(response.getContentAsString()).isEmpty();
+
+        // When
+        AsyncContext asyncContext = request.getAsyncContext();
+        request.setAsyncStarted(false);
+        request.setDispatcherType(DispatcherType.ASYNC);
+        filter.doFilter(asyncContext.getRequest(), asyncContext.getResponse(), created());
+        MockHttpServletResponse retry = send("key-1", BODY, created());
+
+        // Then
+        assertThat(executions).hasValue(1);
+        assertThat(response.getStatus()).isEqualTo(201);
+        assertThat(response.getContentAsString()).isEqualTo("{\"applicationId\":\"1\"}");
+        assertThat(retry.getContentAsString()).isEqualTo(response.getContentAsString());
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    @DisplayName("Should run the request without deduplication when Redis is unavailable")
+    @SuppressWarnings("unchecked")
+    void shouldFailOpen() throws Exception {
+        // Given
+        doThrow(new QueryTimeoutException("Redis timeout")).when(redisTemplate).execute(any(RedisCallback.class));
+
+        // When
+        MockHttpServletResponse response = send("key-1", BODY, created());
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(201);
+        assertThat(executions).hasValue(1);
+        assertThat(meterRegistry.get("idempotency.requests").tag("outcome", "bypassed").counter().count())
+                .isEqualTo(1);
+    }
+
+    private FilterChain created() {
+        return (request, response) -> {
+            executions.incrementAndGet();
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            httpResponse.setStatus(201);
+            httpResponse.setHeader("Location", PATH + "/" + executions.get());
+            httpResponse.setContentType("application/json");
+            httpResponse.getWriter().write("{\"applicationId\":\"" + executions.get() + "\"}");
+        };
+    }
+
+    private MockHttpServletResponse send(String key, String body, FilterChain chain) throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(key, body), response, chain);
+        return response;
+    }
+
+    private MockHttpServletRequest request(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", PATH);
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,75 @@
+package com.abcbank.onboarding.infrastructure.security;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("JWT Token Service Tests")
+class JwtTokenServiceTest {
+
+    private static final String SECRET = "test-secret-key-with-at-least-32-characters";
+
+    private SimpleMeterRegistry meterRegistry;
+    private JwtTokenService jwtTokenService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jwtTokenService = new JwtTokenService(SECRET, 900000, 1800000, 600000, 2592000000L,
+                true, 100, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should serve repeat validations of the same token from the cache")
+    void shouldCacheVerifiedClaims() {
+        // Given
+        String token = jwtTokenService.generateOfficerToken(UUID.randomUUID(), "EMP123", "officer@abc.nl", "sess_1");
+
+        // When
+        Claims first = jwtTokenService.validateToken(token);
+        Claims second = jwtTokenService.validateToken(token);
+
+        // Then
+        assertThat(first).isNotNull();
+        assertThat(second).isSameAs(first);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "jwt.claims-cache")
+                .tag("result", "hit").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should verify the token again after eviction")
+    void shouldVerifyAgainAfterEviction() {
+        // Given
+        String token = jwtTokenService.generateApplicantToken(UUID.randomUUID());
+        Claims first = jwtTokenService.validateToken(token);
+
+        // When
+        jwtTokenService.evictToken(token);
+        Claims second = jwtTokenService.validateToken(token);
+
+        // Then
+        assertThat(second).isNotNull();
+        assertThat(second).isNotSameAs(first);
+    }
+
+    @Test
+    @DisplayName("Should reject a token signed with another key")
+    void shouldRejectForeignToken() {
+        // Given
+        JwtTokenService other = new JwtTokenService("another-secret-key-with-at-least-32-chars",
+                900000, 1800000, 600000, 2592000000L, true, 100, new SimpleMeterRegistry());
+        String token = other.generateApplicantToken(UUID.randomUUID());
+
+        // When
+        Claims claims = jwtTokenService.validateToken(token);
+
+        // Then
+        assertThat(claims).isNull();
+    }
+}
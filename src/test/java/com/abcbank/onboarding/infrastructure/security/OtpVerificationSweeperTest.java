@@ -0,0 +1,73 @@
+package com.abcbank.onboarding.infrastructure.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OTP Verification Sweeper Tests")
+class OtpVerificationSweeperTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        lenient().when(dataSource.getConnection()).thenReturn(connection);
+        lenient().when(connection.prepareStatement(anyString())).thenReturn(statement);
+    }
+
+    @Test
+    @DisplayName("Should repeat full chunks until a partial chunk and record rows per run")
+    void shouldSweepInChunks() throws Exception {
+        // Given - expire: 2 + 2 + 1 rows, purge: 0 rows
+        when(statement.executeUpdate()).thenReturn(2, 2, 1, 0);
+        OtpVerificationSweeper sweeper = new OtpVerificationSweeper(dataSource, meterRegistry, true, 2, 0, 60000);
+
+        // When
+        long processed = sweeper.sweep();
+
+        // Then
+        assertThat(processed).isEqualTo(5);
+        verify(statement, times(4)).executeUpdate();
+        assertThat(meterRegistry.get("otp.sweeper.rows").tag("action", "expired").summary().totalAmount())
+                .isEqualTo(5);
+        assertThat(meterRegistry.get("otp.sweeper.rows").tag("action", "purged").summary().totalAmount())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("Should do nothing when disabled")
+    void shouldSkipWhenDisabled() {
+        // Given
+        OtpVerificationSweeper sweeper = new OtpVerificationSweeper(dataSource, meterRegistry, false, 2, 0, 60000);
+
+        // When
+        long processed = sweeper.sweep();
+
+        // Then
+        assertThat(processed).isEqualTo(-1);
+        verifyNoInteractions(dataSource);
+    }
+}
@@ -0,0 +1,39 @@
+package com.abcbank.onboarding.infrastructure.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Public Endpoints Tests")
+class PublicEndpointsTest {
+
+    @Test
+    @DisplayName("Should match exact paths and single-segment wildcards with their method")
+    void shouldMatchPathAndMethod() {
+        // When / Then
+        assertThat(PublicEndpoints.isPublic("POST", "/api/v1/onboarding/applications")).isTrue();
+        assertThat(PublicEndpoints.isPublic("POST", "/api/v1/onboarding/applications/abc-123/send-otp")).isTrue();
+        assertThat(PublicEndpoints.isPublic("GET", "/api/v1/onboarding/applications/abc-123/status")).isTrue();
+        assertThat(PublicEndpoints.isPublic("POST", "/api/v1/auth/login")).isTrue();
+
+        assertThat(PublicEndpoints.isPublic("GET", "/api/v1/onboarding/applications/abc-123/send-otp")).isFalse();
+        assertThat(PublicEndpoints.isPublic("POST", "/api/v1/onboarding/applications//send-otp")).isFalse();
+        assertThat(PublicEndpoints.isPublic("POST", "/api/v1/onboarding/applications/a/b/send-otp")).isFalse();
+        assertThat(PublicEndpoints.isPublic("POST", "/api/v1/auth/logout")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should match trailing double wildcards for any method")
+    void shouldMatchDoubleWildcard() {
+        // When / Then
+        assertThat(PublicEndpoints.isPublic("GET", "/swagger-ui")).isTrue();
+        assertThat(PublicEndpoints.isPublic("GET", "/swagger-ui/index.html")).isTrue();
+        assertThat(PublicEndpoints.isPublic("GET", "/v3/api-docs/swagger-config")).isTrue();
+        assertThat(PublicEndpoints.isPublic("GET", "/actuator/health")).isTrue();
+
+        assertThat(PublicEndpoints.isPublic("GET", "/swagger-uix")).isFalse();
+        assertThat(PublicEndpoints.isPublic("GET", "/actuator/metrics")).isFalse();
+        assertThat(PublicEndpoints.isPublic("GET", "/api/v1/compliance/applications")).isFalse();
+    }
+}
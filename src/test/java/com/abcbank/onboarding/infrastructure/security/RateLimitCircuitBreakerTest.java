@@ -0,0 +1,109 @@
+package com.abcbank.onboarding.infrastructure.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Rate Limit Circuit Breaker Tests")
+class RateLimitCircuitBreakerTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    @Test
+    @DisplayName("Should stay closed below minimum number of calls")
+    void shouldStayClosedBelowMinimumCalls() {
+        // Given
+        RateLimitCircuitBreaker breaker = breaker(10000);
+
+        // When
+        for (int i = 0; i < 9; i++) {
+            breaker.onFailure();
+        }
+
+        // Then
+        assertThat(breaker.getState()).isEqualTo(RateLimitCircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should open when failure rate reaches threshold")
+    void shouldOpenOnFailureRate() {
+        // Given
+        RateLimitCircuitBreaker breaker = breaker(10000);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            breaker.onSuccess(FAST);
+            breaker.onFailure();
+        }
+
+        // Then
+        assertThat(breaker.getState()).isEqualTo(RateLimitCircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should open when slow-call rate reaches threshold")
+    void shouldOpenOnSlowCallRate() {
+        // Given
+        RateLimitCircuitBreaker breaker = breaker(10000);
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            breaker.onSuccess(SLOW);
+        }
+
+        // Then
+        assertThat(breaker.getState()).isEqualTo(RateLimitCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    @DisplayName("Should close after successful half-open probes")
+    void shouldCloseAfterSuccessfulProbes() {
+        // Given - open with zero open duration so the next call probes
+        RateLimitCircuitBreaker breaker = breaker(0);
+        tripOpen(breaker);
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            assertThat(breaker.tryAcquirePermission()).isTrue();
+        }
+        assertThat(breaker.tryAcquirePermission()).isFalse(); // probe budget used
+        for (int i = 0; i < 3; i++) {
+            breaker.onSuccess(FAST);
+        }
+
+        // Then
+        assertThat(breaker.getState()).isEqualTo(RateLimitCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Should re-open when a half-open probe fails")
+    void shouldReopenWhenProbeFails() {
+        // Given
+        RateLimitCircuitBreaker breaker = breaker(0);
+        tripOpen(breaker);
+
+        // When
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        breaker.onFailure();
+
+        // Then
+        assertThat(breaker.getState()).isEqualTo(RateLimitCircuitBreaker.State.OPEN);
+    }
+
+    private RateLimitCircuitBreaker breaker(long openDurationMillis) {
+        return new RateLimitCircuitBreaker(20, 10, 0.5, 0.5, 200, openDurationMillis, 3);
+    }
+
+    private void tripOpen(RateLimitCircuitBreaker breaker) {
+        for (int i = 0; i < 10; i++) {
+            breaker.onFailure();
+        }
+        assertThat(breaker.getState()).isEqualTo(RateLimitCircuitBreaker.State.OPEN);
+    }
+}
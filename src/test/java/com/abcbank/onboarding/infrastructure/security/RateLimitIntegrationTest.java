@@ -10,6 +10,7 @@ import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.Map;
 
+import static org.hamcrest.Matchers.matchesPattern;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -49,7 +50,8 @@ class RateLimitIntegrationTest extends AbstractIntegrationTest {
                 .andExpect(status().isTooManyRequests())
                 .andExpect(jsonPath("$.title").value("Rate Limit Exceeded"))
                 .andExpect(header().exists("Retry-After"))
-                .andExpect(header().string("Retry-After", "3600"));
+                .andExpect(header().string("Retry-After",
+                        matchesPattern("[1-9][0-9]{0,3}"))); // seconds until the oldest request leaves the window
     }
 
     @Test
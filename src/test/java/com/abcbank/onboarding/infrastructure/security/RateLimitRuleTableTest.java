@@ -0,0 +1,151 @@
+package com.abcbank.onboarding.infrastructure.security;
+
+import com.abcbank.onboarding.infrastructure.config.RateLimitProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Rate Limit Rule Table Tests")
+class RateLimitRuleTableTest {
+
+    private static final String APPLICATION_ID = "5f8d0a4e-1c2b-4e5f-9a7b-3c4d5e6f7a8b";
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    private RateLimitRuleTable ruleTable;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRules(List.of(
+                rule("create_application", "POST", "/api/v1/onboarding/applications", RateLimitKeyType.IP, 5),
+                rule("verify_otp_app", "POST", "/api/v1/onboarding/applications/{id}/verify-otp",
+                        RateLimitKeyType.APPLICATION_ID, 3),
+                rule("verify_otp_ip", "POST", "/api/v1/onboarding/applications/{id}/verify-otp",
+                        RateLimitKeyType.IP, 10),
+                rule("signup_domain", "POST", "/api/v1/onboarding/applications/bulk",
+                        RateLimitKeyType.EMAIL_DOMAIN, 20)
+        ));
+        ruleTable = new RateLimitRuleTable(properties, redisTemplate);
+    }
+
+    @Test
+    @DisplayName("Should match exact path with and without trailing slash")
+    void shouldMatchExactPath() {
+        // When
+        RateLimitRuleTable.RouteMatch match = ruleTable.match("POST", "/api/v1/onboarding/applications");
+        RateLimitRuleTable.RouteMatch trailing = ruleTable.match("POST", "/api/v1/onboarding/applications/");
+
+        // Then
+        assertThat(match).isNotNull();
+        assertThat(match.rules()).extracting(RateLimitRule::name).containsExactly("create_application");
+        assertThat(match.pathVariable()).isNull();
+        assertThat(match.requiresBody()).isFalse();
+        assertThat(trailing).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should capture path variable and return all rules of the route")
+    void shouldCapturePathVariable() {
+        // When
+        RateLimitRuleTable.RouteMatch match = ruleTable.match("POST",
+                "/api/v1/onboarding/applications/" + APPLICATION_ID + "/verify-otp");
+
+        // Then
+        assertThat(match).isNotNull();
+        assertThat(match.rules()).extracting(RateLimitRule::name)
+                .containsExactly("verify_otp_app", "verify_otp_ip");
+        assertThat(match.pathVariable()).isEqualTo(APPLICATION_ID);
+    }
+
+    @Test
+    @DisplayName("Should prefer literal segments over path variables")
+    void shouldPreferLiteralSegments() {
+        // When
+        RateLimitRuleTable.RouteMatch match = ruleTable.match("POST", "/api/v1/onboarding/applications/bulk");
+
+        // Then
+        assertThat(match).isNotNull();
+        assertThat(match.rules()).extracting(RateLimitRule::name).containsExactly("signup_domain");
+        assertThat(match.requiresBody()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should not match other methods or unknown paths")
+    void shouldNotMatchOtherMethodsOrPaths() {
+        assertThat(ruleTable.match("GET", "/api/v1/onboarding/applications")).isNull();
+        assertThat(ruleTable.match("POST", "/api/v1/onboarding/applications/" + APPLICATION_ID)).isNull();
+        assertThat(ruleTable.match("POST", "/api/v1/onboarding/applications/" + APPLICATION_ID + "/status")).isNull();
+        assertThat(ruleTable.match("POST", "/api/v1/admin/rate-limits")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should apply runtime overrides from Redis")
+    void shouldApplyRuntimeOverrides() {
+        // Given
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.entries(RateLimitRuleTable.OVERRIDES_KEY))
+                .thenReturn(Map.of("create_application", "50:60000"));
+
+        // When
+        ruleTable.refreshOverrides();
+
+        // Then
+        RateLimitRule rule = ruleTable.match("POST", "/api/v1/onboarding/applications").rules().get(0);
+        assertThat(rule.limit()).isEqualTo(50);
+        assertThat(rule.windowMillis()).isEqualTo(60000L);
+        assertThat(rule.overridden()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reject override for unknown rule")
+    void shouldRejectOverrideForUnknownRule() {
+        // When
+        boolean result = ruleTable.overrideRule("unknown", 10, 60000L);
+
+        // Then
+        assertThat(result).isFalse();
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("Should keep current rules when Redis is unavailable")
+    void shouldKeepRulesWhenRedisUnavailable() {
+        // Given
+        when(redisTemplate.opsForHash()).thenThrow(new RuntimeException("Redis connection error"));
+
+        // When
+        ruleTable.refreshOverrides();
+
+        // Then
+        assertThat(ruleTable.getRules()).hasSize(5);
+        assertThat(ruleTable.getRules()).noneMatch(RateLimitRule::overridden);
+    }
+
+    private RateLimitProperties.Rule rule(String name, String method, String path, RateLimitKeyType key, int limit) {
+        RateLimitProperties.Rule rule = new RateLimitProperties.Rule();
+        rule.setName(name);
+        rule.setMethod(method);
+        rule.setPath(path);
+        rule.setKey(key);
+        rule.setLimit(limit);
+        rule.setWindow(3600000L);
+        return rule;
+    }
+}
@@ -5,13 +5,19 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
@@ -34,7 +40,9 @@ class RateLimitServiceTest {
     @BeforeEach
     void setUp() {
         lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        rateLimitService = new RateLimitService(redisTemplate);
+        rateLimitService = new RateLimitService(redisTemplate,
+                new RateLimitCircuitBreaker(50, 10, 0.5, 0.5, 200, 10000, 3),
+                new FallbackRateLimiter(1));
     }
 
     @Test
@@ -46,15 +54,17 @@ class RateLimitServiceTest {
         int limit = 5;
         long windowMillis = 3600000L;
 
-        when(valueOperations.get(anyString())).thenReturn(2); // Current count is 2
-        when(valueOperations.increment(anyString())).thenReturn(3L); // Increment to 3
+        givenScriptResult(1L, 3L, 1800000L, 0L); // Allowed, count is now 3
 
-        // When/Then - Should not throw exception
-        assertThatCode(() -> rateLimitService.checkRateLimit(key, resource, limit, windowMillis))
-                .doesNotThrowAnyException();
+        // When
+        RateLimitService.RateLimitInfo info = rateLimitService.checkRateLimit(key, resource, limit, windowMillis);
 
-        verify(valueOperations).get(anyString());
-        verify(valueOperations).increment(anyString());
+        // Then
+        assertThat(info).isNotNull();
+        assertThat(info.getLimit()).isEqualTo(5);
+        assertThat(info.getCurrent()).isEqualTo(3);
+        assertThat(info.getRemaining()).isEqualTo(2);
+        assertThat(info.getResetTimestamp()).isPositive();
     }
 
     @Test
@@ -66,53 +76,38 @@ class RateLimitServiceTest {
         int limit = 5;
         long windowMillis = 3600000L;
 
-        when(valueOperations.get(anyString())).thenReturn(5); // Already at limit
-        when(redisTemplate.getExpire(anyString(), eq(TimeUnit.MILLISECONDS))).thenReturn(1800000L); // 30 min remaining
+        givenScriptResult(0L, 5L, 1800000L, 1800000L); // Denied, already at limit
 
         // When/Then
         assertThatThrownBy(() -> rateLimitService.checkRateLimit(key, resource, limit, windowMillis))
                 .isInstanceOf(RateLimitExceededException.class)
                 .hasMessageContaining("Rate limit exceeded")
                 .hasMessageContaining(resource)
-                .hasMessageContaining(String.valueOf(limit));
+                .hasMessageContaining(String.valueOf(limit))
+                .hasMessageContaining("1800000");
     }
 
     @Test
-    @DisplayName("Should set expiry on first request")
-    void shouldSetExpiryOnFirstRequest() {
+    @DisplayName("Should check, increment and expire in a single script call")
+    void shouldUseSingleScriptCall() {
         // Given
         String key = "192.168.1.1";
         String resource = "create_application";
         int limit = 5;
         long windowMillis = 3600000L;
 
-        when(valueOperations.get(anyString())).thenReturn(null); // No previous requests
-        when(valueOperations.increment(anyString())).thenReturn(1L); // First request
-
-        // When
-        rateLimitService.checkRateLimit(key, resource, limit, windowMillis);
-
-        // Then
-        verify(redisTemplate).expire(anyString(), eq(windowMillis), eq(TimeUnit.MILLISECONDS));
-    }
-
-    @Test
-    @DisplayName("Should not set expiry on subsequent requests")
-    void shouldNotSetExpiryOnSubsequentRequests() {
-        // Given
-        String key = "192.168.1.1";
-        String resource = "create_application";
-        int limit = 5;
-        long windowMillis = 3600000L;
-
-        when(valueOperations.get(anyString())).thenReturn(2); // Already has requests
-        when(valueOperations.increment(anyString())).thenReturn(3L); // Increment
+        givenScriptResult(1L, 1L, windowMillis, 0L);
 
         // When
         rateLimitService.checkRateLimit(key, resource, limit, windowMillis);
 
         // Then
+        verify(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                eq(List.of("rate_limit:create_application:192.168.1.1")),
+                eq("5"), eq("3600000"), eq("1"));
+        verifyNoInteractions(valueOperations);
         verify(redisTemplate, never()).expire(anyString(), anyLong(), any(TimeUnit.class));
+        verify(redisTemplate, never()).getExpire(anyString(), any(TimeUnit.class));
     }
 
     @Test
@@ -127,8 +122,7 @@ class RateLimitServiceTest {
         assertThatCode(() -> rateLimitService.checkRateLimit(null, resource, limit, windowMillis))
                 .doesNotThrowAnyException();
 
-        verify(valueOperations, never()).get(anyString());
-        verify(valueOperations, never()).increment(anyString());
+        verifyNoInteractions(redisTemplate);
     }
 
     @Test
@@ -143,8 +137,7 @@ class RateLimitServiceTest {
         assertThatCode(() -> rateLimitService.checkRateLimit(key, null, limit, windowMillis))
                 .doesNotThrowAnyException();
 
-        verify(valueOperations, never()).get(anyString());
-        verify(valueOperations, never()).increment(anyString());
+        verifyNoInteractions(redisTemplate);
     }
 
     @Test
@@ -156,15 +149,13 @@ class RateLimitServiceTest {
         int limit = 3;
         long windowMillis = 3600000L;
 
-        when(valueOperations.get(anyString())).thenReturn(1);
-        when(valueOperations.increment(anyString())).thenReturn(2L);
+        givenScriptResult(1L, 2L, 1800000L, 0L);
 
         // When
         rateLimitService.checkApplicationRateLimit(applicationId, resource, limit, windowMillis);
 
         // Then
-        verify(valueOperations).get(contains(applicationId.toString()));
-        verify(valueOperations).increment(contains(applicationId.toString()));
+        verifyScriptCalledForKey("rate_limit:verify_otp:" + applicationId);
     }
 
     @Test
@@ -176,15 +167,13 @@ class RateLimitServiceTest {
         int limit = 10;
         long windowMillis = 3600000L;
 
-        when(valueOperations.get(anyString())).thenReturn(5);
-        when(valueOperations.increment(anyString())).thenReturn(6L);
+        givenScriptResult(1L, 6L, 1800000L, 0L);
 
         // When
         rateLimitService.checkEmailDomainRateLimit(email, resource, limit, windowMillis);
 
         // Then
-        verify(valueOperations).get(contains("example.com"));
-        verify(valueOperations).increment(contains("example.com"));
+        verifyScriptCalledForKey("rate_limit:create_application:example.com");
     }
 
     @Test
@@ -196,46 +185,13 @@ class RateLimitServiceTest {
         int limit = 3;
         long windowMillis = 3600000L;
 
-        when(valueOperations.get(anyString())).thenReturn(1);
-        when(valueOperations.increment(anyString())).thenReturn(2L);
+        givenScriptResult(1L, 2L, 1800000L, 0L);
 
         // When
         rateLimitService.checkPhoneRateLimit(phone, resource, limit, windowMillis);
 
         // Then
-        verify(valueOperations).get(contains(phone));
-        verify(valueOperations).increment(contains(phone));
-    }
-
-    @Test
-    @DisplayName("Should block SSN if already used")
-    void shouldBlockSsnIfAlreadyUsed() {
-        // Given
-        String ssn = "123456789";
-        String resource = "ssn_check";
-
-        when(redisTemplate.hasKey(anyString())).thenReturn(true);
-
-        // When/Then
-        assertThatThrownBy(() -> rateLimitService.checkSsnRateLimit(ssn, resource))
-                .isInstanceOf(RateLimitExceededException.class)
-                .hasMessageContaining("Social Security Number already exists");
-    }
-
-    @Test
-    @DisplayName("Should allow SSN if not used before")
-    void shouldAllowSsnIfNotUsedBefore() {
-        // Given
-        String ssn = "123456789";
-        String resource = "ssn_check";
-
-        when(redisTemplate.hasKey(anyString())).thenReturn(false);
-
-        // When
-        rateLimitService.checkSsnRateLimit(ssn, resource);
-
-        // Then
-        verify(valueOperations).set(anyString(), eq(1));
+        verifyScriptCalledForKey("rate_limit:send_otp:" + phone);
     }
 
     @Test
@@ -246,11 +202,10 @@ class RateLimitServiceTest {
         String resource = "create_application";
         int limit = 5;
 
-        when(valueOperations.get(anyString())).thenReturn(3);
-        when(redisTemplate.getExpire(anyString(), eq(TimeUnit.MILLISECONDS))).thenReturn(1800000L);
+        givenScriptResult(3L, 1800000L);
 
         // When
-        RateLimitService.RateLimitInfo info = rateLimitService.getRateLimitInfo(key, resource, limit);
+        RateLimitService.RateLimitInfo info = rateLimitService.getRateLimitInfo(key, resource, limit, 3600000L);
 
         // Then
         assertThat(info).isNotNull();
@@ -268,11 +223,10 @@ class RateLimitServiceTest {
         String resource = "create_application";
         int limit = 5;
 
-        when(valueOperations.get(anyString())).thenReturn(5);
-        when(redisTemplate.getExpire(anyString(), eq(TimeUnit.MILLISECONDS))).thenReturn(1800000L);
+        givenScriptResult(5L, 1800000L);
 
         // When
-        RateLimitService.RateLimitInfo info = rateLimitService.getRateLimitInfo(key, resource, limit);
+        RateLimitService.RateLimitInfo info = rateLimitService.getRateLimitInfo(key, resource, limit, 3600000L);
 
         // Then
         assertThat(info.getRemaining()).isZero();
@@ -286,11 +240,10 @@ class RateLimitServiceTest {
         String resource = "create_application";
         int limit = 5;
 
-        when(valueOperations.get(anyString())).thenReturn(null);
-        when(redisTemplate.getExpire(anyString(), eq(TimeUnit.MILLISECONDS))).thenReturn(0L);
+        givenScriptResult(0L, 0L);
 
         // When
-        RateLimitService.RateLimitInfo info = rateLimitService.getRateLimitInfo(key, resource, limit);
+        RateLimitService.RateLimitInfo info = rateLimitService.getRateLimitInfo(key, resource, limit, 3600000L);
 
         // Then
         assertThat(info.getCurrent()).isZero();
@@ -313,103 +266,155 @@ class RateLimitServiceTest {
     }
 
     @Test
-    @DisplayName("Should reset all rate limits for resource")
+    @DisplayName("Should reset all rate limits for resource with SCAN and UNLINK")
+    @SuppressWarnings("unchecked")
     void shouldResetAllRateLimitsForResource() {
         // Given
         String resource = "create_application";
-        Set<String> keys = new HashSet<>();
-        keys.add("rate_limit:create_application:192.168.1.1");
-        keys.add("rate_limit:create_application:192.168.1.2");
-
-        when(redisTemplate.keys(anyString())).thenReturn(keys);
+        List<String> keys = List.of(
+                "rate_limit:create_application:192.168.1.1",
+                "rate_limit:create_application:192.168.1.2");
+        Cursor<String> cursor = mock(Cursor.class);
+        when(cursor.hasNext()).thenReturn(true, true, false);
+        when(cursor.next()).thenReturn(keys.get(0), keys.get(1));
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(cursor);
+        when(redisTemplate.unlink(anyCollection())).thenReturn(2L);
 
         // When
-        rateLimitService.resetAllRateLimits(resource);
+        RateLimitService.ResetResult result = rateLimitService.resetAllRateLimits(resource);
 
         // Then
-        verify(redisTemplate).keys(contains(resource));
-        verify(redisTemplate).delete(eq(keys));
+        ArgumentCaptor<ScanOptions> options = ArgumentCaptor.forClass(ScanOptions.class);
+        verify(redisTemplate).scan(options.capture());
+        assertThat(options.getValue().getPattern()).isEqualTo("rate_limit:create_application:*");
+        verify(redisTemplate).unlink(eq(keys));
+        verify(redisTemplate, never()).keys(anyString());
+        verify(cursor).close();
+        assertThat(result.scanned()).isEqualTo(2);
+        assertThat(result.deleted()).isEqualTo(2);
     }
 
     @Test
     @DisplayName("Should handle empty keys when resetting all")
+    @SuppressWarnings("unchecked")
     void shouldHandleEmptyKeysWhenResettingAll() {
         // Given
         String resource = "create_application";
-        when(redisTemplate.keys(anyString())).thenReturn(new HashSet<>());
+        Cursor<String> cursor = mock(Cursor.class);
+        when(cursor.hasNext()).thenReturn(false);
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(cursor);
 
         // When
-        rateLimitService.resetAllRateLimits(resource);
+        RateLimitService.ResetResult result = rateLimitService.resetAllRateLimits(resource);
 
         // Then
-        verify(redisTemplate).keys(anyString());
-        verify(redisTemplate, never()).delete(any(Set.class));
+        verify(redisTemplate, never()).unlink(anyCollection());
+        assertThat(result.deleted()).isZero();
     }
 
     @Test
-    @DisplayName("Should fail open on Redis error")
-    void shouldFailOpenOnRedisError() {
+    @DisplayName("Should list a page of rate limit keys sorted by count")
+    @SuppressWarnings("unchecked")
+    void shouldListPageOfRateLimitKeys() {
         // Given
-        String key = "192.168.1.1";
-        String resource = "create_application";
-        int limit = 5;
-        long windowMillis = 3600000L;
+        byte[] nextCursor = "42".getBytes(StandardCharsets.UTF_8);
+        List<byte[]> rawKeys = List.of(
+                "rate_limit:send_otp:10.0.0.1".getBytes(StandardCharsets.UTF_8),
+                "rate_limit:send_otp:10.0.0.2".getBytes(StandardCharsets.UTF_8));
+        when(redisTemplate.execute(any(RedisCallback.class))).thenReturn(List.of(nextCursor, rawKeys));
+        givenScriptResult(1L, 1000L, 3L, 2000L);
 
-        when(valueOperations.get(anyString())).thenThrow(new RuntimeException("Redis connection error"));
+        // When
+        RateLimitService.KeyPage page = rateLimitService.listRateLimitKeys("send_otp", "0", 100);
 
-        // When/Then - Should not throw exception (fail open)
-        assertThatCode(() -> rateLimitService.checkRateLimit(key, resource, limit, windowMillis))
-                .doesNotThrowAnyException();
+        // Then
+        assertThat(page.nextCursor()).isEqualTo("42");
+        assertThat(page.keys()).extracting(RateLimitService.KeyStats::key)
+                .containsExactly("rate_limit:send_otp:10.0.0.2", "rate_limit:send_otp:10.0.0.1");
+        assertThat(page.keys().get(0).count()).isEqualTo(3);
     }
 
     @Test
-    @DisplayName("Should handle Integer and Long count values")
-    void shouldHandleIntegerAndLongCountValues() {
+    @DisplayName("Should fall back to local limiter on Redis error instead of failing open")
+    void shouldFallBackToLocalLimiterOnRedisError() {
         // Given
         String key = "192.168.1.1";
         String resource = "create_application";
+        int limit = 1;
+        long windowMillis = 3600000L;
 
-        // Test with Integer
-        when(valueOperations.get(anyString())).thenReturn(3);
-        Long count1 = rateLimitService.getCurrentCount("rate_limit:test:key");
-        assertThat(count1).isEqualTo(3L);
-
-        // Test with Long
-        when(valueOperations.get(anyString())).thenReturn(3L);
-        Long count2 = rateLimitService.getCurrentCount("rate_limit:test:key");
-        assertThat(count2).isEqualTo(3L);
+        when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                anyList(), any(Object[].class)))
+                .thenThrow(new RuntimeException("Redis connection error"));
 
-        // Test with null
-        when(valueOperations.get(anyString())).thenReturn(null);
-        Long count3 = rateLimitService.getCurrentCount("rate_limit:test:key");
-        assertThat(count3).isNull();
+        // When/Then - first request allowed locally, second exceeds the local share
+        assertThat(rateLimitService.checkRateLimit(key, resource, limit, windowMillis)).isNotNull();
+        assertThatThrownBy(() -> rateLimitService.checkRateLimit(key, resource, limit, windowMillis))
+                .isInstanceOf(RateLimitExceededException.class);
     }
 
     @Test
-    @DisplayName("Should get remaining window time correctly")
-    void shouldGetRemainingWindowTimeCorrectly() {
+    @DisplayName("Should stop calling Redis once the circuit is open")
+    @SuppressWarnings("unchecked")
+    void shouldStopCallingRedisWhenCircuitOpen() {
         // Given
-        String rateLimitKey = "rate_limit:test:key";
-        when(redisTemplate.getExpire(eq(rateLimitKey), eq(TimeUnit.MILLISECONDS))).thenReturn(1800000L);
+        when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                anyList(), any(Object[].class)))
+                .thenThrow(new RuntimeException("Redis connection error"));
 
-        // When
-        long remaining = rateLimitService.getRemainingWindowTime(rateLimitKey);
+        // When - 10 failures open the circuit, the next 5 calls are decided locally
+        for (int i = 0; i < 15; i++) {
+            rateLimitService.checkRateLimit("10.0.0." + i, "create_application", 5, 3600000L);
+        }
 
         // Then
-        assertThat(remaining).isEqualTo(1800000L);
+        verify(redisTemplate, times(10)).execute(any(RedisScript.class), any(RedisSerializer.class),
+                any(RedisSerializer.class), anyList(), any(Object[].class));
     }
 
     @Test
-    @DisplayName("Should return zero for expired key")
-    void shouldReturnZeroForExpiredKey() {
+    @DisplayName("Should use the GCRA script when the rule selects GCRA")
+    @SuppressWarnings("unchecked")
+    void shouldUseGcraScript() {
         // Given
-        String rateLimitKey = "rate_limit:test:key";
-        when(redisTemplate.getExpire(eq(rateLimitKey), eq(TimeUnit.MILLISECONDS))).thenReturn(-1L);
+        givenScriptResult(1L, 1L, 720000L, 0L);
 
         // When
-        long remaining = rateLimitService.getRemainingWindowTime(rateLimitKey);
+        RateLimitService.RateLimitInfo info = rateLimitService.checkRateLimit(
+                "192.168.1.1", "create_application", 5, 3600000L, RateLimitAlgorithm.GCRA);
 
         // Then
-        assertThat(remaining).isZero();
+        assertThat(info.getRemaining()).isEqualTo(4);
+        verify(redisTemplate).execute(eq(RateLimitScripts.GCRA), any(RedisSerializer.class),
+                any(RedisSerializer.class), eq(List.of("rate_limit:create_application:192.168.1.1")),
+                any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("Should carry the exact retry-after when the limit is exceeded")
+    void shouldCarryRetryAfterWhenExceeded() {
+        // Given - GCRA: next request allowed in 720 000 ms (one emission interval)
+        givenScriptResult(0L, 5L, 3600000L, 720000L);
+
+        // When/Then
+        assertThatThrownBy(() -> rateLimitService.checkRateLimit(
+                "192.168.1.1", "create_application", 5, 3600000L, RateLimitAlgorithm.GCRA))
+                .isInstanceOfSatisfying(RateLimitExceededException.class, e -> {
+                    assertThat(e.getRetryAfterMillis()).isEqualTo(720000L);
+                    assertThat(e.getRetryAfterSeconds()).isEqualTo(720L);
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenScriptResult(Long... values) {
+        when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                anyList(), any(Object[].class)))
+                .thenReturn(List.of(values));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void verifyScriptCalledForKey(String rateLimitKey) {
+        verify(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                eq(List.of(rateLimitKey)), any(Object[].class));
     }
 }
@@ -0,0 +1,139 @@
+package com.abcbank.onboarding.infrastructure.security;
+
+import com.abcbank.onboarding.domain.model.OtpVerification;
+import com.abcbank.onboarding.domain.model.OtpVerification.OtpChannel;
+import com.abcbank.onboarding.domain.port.out.OtpChallengeStore;
+import com.abcbank.onboarding.domain.port.out.OtpVerificationRepository;
+import com.abcbank.onboarding.domain.service.OtpHasher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Redis OTP Challenge Store Tests")
+class RedisOtpChallengeStoreTest {
+
+    private static final UUID APPLICATION_ID = UUID.randomUUID();
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private OtpHasher otpHasher;
+
+    @Mock
+    private OtpVerificationRepository otpVerificationRepository;
+
+    private RedisOtpChallengeStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new RedisOtpChallengeStore(redisTemplate, otpHasher, otpVerificationRepository);
+        when(otpHasher.digest(anyString(), eq(APPLICATION_ID + ":EMAIL"))).thenReturn("digest");
+    }
+
+    @Test
+    @DisplayName("Should store the digest under a key that outlives the expiry")
+    @SuppressWarnings("unchecked")
+    void shouldIssueChallenge() {
+        // When
+        store.issue(APPLICATION_ID, OtpChannel.EMAIL, "123456", LocalDateTime.now().plusMinutes(10));
+
+        // Then
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(redisTemplate).execute(eq(RedisOtpChallengeStore.ISSUE), any(RedisSerializer.class),
+                any(RedisSerializer.class), eq(List.of("otp_challenge:" + APPLICATION_ID + ":EMAIL")),
+                args.capture());
+        assertThat(args.getAllValues()).contains("digest");
+        verifyNoInteractions(otpVerificationRepository);
+    }
+
+    @Test
+    @DisplayName("Should write one audit summary when a challenge is verified")
+    @SuppressWarnings("unchecked")
+    void shouldSaveSummaryOnVerified() {
+        // Given
+        long now = System.currentTimeMillis();
+        givenReply(List.of("VERIFIED", "1", UUID.randomUUID().toString(),
+                String.valueOf(now - 1000), String.valueOf(now + 60000), "digest", "1"));
+
+        // When
+        OtpChallengeStore.VerificationResult result = store.verify(APPLICATION_ID, OtpChannel.EMAIL, "123456", 3);
+
+        // Then
+        assertThat(result.outcome()).isEqualTo(OtpChallengeStore.Outcome.VERIFIED);
+        ArgumentCaptor<OtpVerification> summary = ArgumentCaptor.forClass(OtpVerification.class);
+        verify(otpVerificationRepository).save(summary.capture());
+        assertThat(summary.getValue().getStatus()).isEqualTo(OtpVerification.OtpStatus.VERIFIED);
+        assertThat(summary.getValue().getAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should report counted attempts without touching Postgres")
+    void shouldCountInvalidAttempt() {
+        // Given
+        givenReply(List.of("INVALID", "2", UUID.randomUUID().toString(), "0", "0", "digest", "0"));
+
+        // When
+        OtpChallengeStore.VerificationResult result = store.verify(APPLICATION_ID, OtpChannel.EMAIL, "000000", 3);
+
+        // Then
+        assertThat(result).isEqualTo(new OtpChallengeStore.VerificationResult(OtpChallengeStore.Outcome.INVALID, 2));
+        verifyNoInteractions(otpVerificationRepository);
+    }
+
+    @Test
+    @DisplayName("Should keep reporting a locked challenge but write its summary only once")
+    void shouldSaveLockoutSummaryOnce() {
+        // Given - the first refused attempt ends the challenge, the retry finds it still locked
+        long now = System.currentTimeMillis();
+        String id = UUID.randomUUID().toString();
+        String createdAt = String.valueOf(now - 1000);
+        String expiresAt = String.valueOf(now + 60000);
+        when(redisTemplate.execute(eq(RedisOtpChallengeStore.VERIFY), any(RedisSerializer.class),
+                any(RedisSerializer.class), anyList(), any(Object[].class)))
+                .thenReturn(List.of("MAX_ATTEMPTS_EXCEEDED", "3", id, createdAt, expiresAt, "digest", "1"))
+                .thenReturn(List.of("MAX_ATTEMPTS_EXCEEDED", "3", id, createdAt, expiresAt, "digest", "0"));
+
+        // When
+        OtpChallengeStore.VerificationResult first = store.verify(APPLICATION_ID, OtpChannel.EMAIL, "123456", 3);
+        OtpChallengeStore.VerificationResult retry = store.verify(APPLICATION_ID, OtpChannel.EMAIL, "123456", 3);
+
+        // Then
+        assertThat(first.outcome()).isEqualTo(OtpChallengeStore.Outcome.MAX_ATTEMPTS_EXCEEDED);
+        assertThat(retry.outcome()).isEqualTo(OtpChallengeStore.Outcome.MAX_ATTEMPTS_EXCEEDED);
+        ArgumentCaptor<OtpVerification> summary = ArgumentCaptor.forClass(OtpVerification.class);
+        verify(otpVerificationRepository, times(1)).save(summary.capture());
+        assertThat(summary.getValue().getStatus()).isEqualTo(OtpVerification.OtpStatus.MAX_ATTEMPTS_EXCEEDED);
+    }
+
+    @Test
+    @DisplayName("Should keep the challenge hash when it ends without a match")
+    void shouldKeepLockedChallengeInScript() {
+        // Then - only a verified code consumes the challenge
+        String script = RedisOtpChallengeStore.VERIFY.getScriptAsString();
+        assertThat(script.indexOf("'DEL'")).isEqualTo(script.lastIndexOf("'DEL'"));
+        assertThat(script.indexOf("'DEL'")).isLessThan(script.indexOf("'VERIFIED'"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenReply(List<String> reply) {
+        when(redisTemplate.execute(eq(RedisOtpChallengeStore.VERIFY), any(RedisSerializer.class),
+                any(RedisSerializer.class), anyList(), any(Object[].class)))
+                .thenReturn(reply);
+    }
+}
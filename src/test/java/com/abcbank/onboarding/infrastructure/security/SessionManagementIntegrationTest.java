@@ -4,6 +4,7 @@ import com.abcbank.onboarding.AbstractIntegrationTest;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.DataType;
 
 import java.util.UUID;
 
@@ -212,9 +213,10 @@ class SessionManagementIntegrationTest extends AbstractIntegrationTest {
         );
         sessionId = session.getSessionId();
 
-        // Then - Session retrievable from Redis
-        String key = "session:" + sessionId;
-        Session storedSession = (Session) redisTemplate.opsForValue().get(key);
+        // Then - Session stored in Redis as a hash and retrievable
+        String key = "session:v2:" + sessionId;
+        assertThat(redisTemplate.type(key)).isEqualTo(DataType.HASH);
+        Session storedSession = sessionService.getSession(sessionId);
 
         assertThat(storedSession).isNotNull();
         assertThat(storedSession.getSessionId()).isEqualTo(sessionId);
@@ -0,0 +1,137 @@
+package com.abcbank.onboarding.infrastructure.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Session Near-Cache Tests")
+class SessionNearCacheTest {
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SessionNearCache nearCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        nearCache = new SessionNearCache(listenerContainer, meterRegistry, true, 100, 60000);
+    }
+
+    @Test
+    @DisplayName("Should return cached session and report hit ratio")
+    void shouldReturnCachedSession() {
+        // Given
+        Session session = session("sess_1");
+        nearCache.put(session, nearCache.generation());
+
+        // When
+        Session hit = nearCache.get("sess_1");
+        Session miss = nearCache.get("sess_2");
+
+        // Then
+        assertThat(hit).usingRecursiveComparison().isEqualTo(session);
+        assertThat(miss).isNull();
+        assertThat(meterRegistry.get("session.near-cache.hit-ratio").gauge().value()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("Should evict locally")
+    void shouldEvictLocally() {
+        // Given
+        nearCache.put(session("sess_1"), nearCache.generation());
+        nearCache.put(session("sess_2"), nearCache.generation());
+
+        // When
+        nearCache.evict(List.of("sess_1"));
+
+        // Then
+        assertThat(nearCache.get("sess_1")).isNull();
+        assertThat(nearCache.get("sess_2")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should evict every session in an invalidation message and record lag")
+    void shouldEvictOnMessage() {
+        // Given
+        nearCache.put(session("sess_1"), nearCache.generation());
+        nearCache.put(session("sess_2"), nearCache.generation());
+        byte[] body = ("sess_1,sess_2|" + (System.currentTimeMillis() - 5)).getBytes(StandardCharsets.UTF_8);
+
+        // When
+        nearCache.onMessage(new DefaultMessage(
+                SessionNearCache.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8), body), null);
+
+        // Then
+        assertThat(nearCache.get("sess_1")).isNull();
+        assertThat(nearCache.get("sess_2")).isNull();
+        assertThat(meterRegistry.get("session.near-cache.invalidation.lag").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should refuse a session loaded before an invalidation arrived")
+    void shouldRefusePutOvertakenByInvalidation() {
+        // Given - a request loads the session, then another node's termination arrives
+        long generation = nearCache.generation();
+        byte[] body = ("sess_1|" + System.currentTimeMillis()).getBytes(StandardCharsets.UTF_8);
+        nearCache.onMessage(new DefaultMessage(
+                SessionNearCache.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8), body), null);
+
+        // When
+        nearCache.put(session("sess_1"), generation);
+
+        // Then
+        assertThat(nearCache.get("sess_1")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should hand out copies that do not change the cached session")
+    void shouldReturnIndependentCopies() {
+        // Given
+        Session session = session("sess_1");
+        nearCache.put(session, nearCache.generation());
+
+        // When
+        nearCache.get("sess_1").setLastActivityAt(LocalDateTime.now().plusHours(1));
+        session.setActive(false);
+
+        // Then
+        Session cached = nearCache.get("sess_1");
+        assertThat(cached.getLastActivityAt()).isBefore(LocalDateTime.now().plusMinutes(1));
+        assertThat(cached.isActive()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should not cache when disabled")
+    void shouldNotCacheWhenDisabled() {
+        // Given
+        SessionNearCache disabled = new SessionNearCache(listenerContainer,
+                new SimpleMeterRegistry(), false, 100, 60000);
+
+        // When
+        disabled.put(session("sess_1"), disabled.generation());
+
+        // Then
+        assertThat(disabled.get("sess_1")).isNull();
+    }
+
+    private Session session(String sessionId) {
+        return new Session(sessionId, UUID.randomUUID(), "EMP123", "officer@abc.nl",
+                new String[]{"COMPLIANCE_OFFICER"}, "192.168.1.1", "Mozilla/5.0", LocalDateTime.now().plusHours(8));
+    }
+}
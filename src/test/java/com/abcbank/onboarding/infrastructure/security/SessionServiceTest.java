@@ -0,0 +1,232 @@
+package com.abcbank.onboarding.infrastructure.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Session Service Tests")
+class SessionServiceTest {
+
+    private static final String SESSION_ID = "sess_test";
+    private static final String IP = "192.168.1.1";
+    private static final String USER_AGENT = "Mozilla/5.0";
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private RedisConnection connection;
+
+    @Mock
+    private RedisStringCommands stringCommands;
+
+    @Mock
+    private SessionNearCache nearCache;
+
+    @Mock
+    private SessionSweeper sessionSweeper;
+
+    private SessionService sessionService;
+
+    @BeforeEach
+    void setUp() {
+        sessionService = new SessionService(redisTemplate, nearCache, sessionSweeper,
+                900000, 28800000, 14400000, 1, 60000);
+    }
+
+    @Test
+    @DisplayName("Should validate from one script read without rewriting the session")
+    void shouldValidateWithoutRewritingSession() {
+        // Given - activity written 10 seconds ago, within the write interval
+        givenStored(System.currentTimeMillis() - 10000);
+
+        // When
+        Session result = sessionService.validateSession(SESSION_ID, IP, USER_AGENT);
+        sessionService.flushActivity();
+
+        // Then
+        assertThat(result).isNotNull();
+        assertThat(result.getEmployeeId()).isEqualTo("EMP123");
+        assertThat(result.getRoles()).containsExactly("COMPLIANCE_OFFICER");
+        verify(nearCache).put(result, 0L);
+        verifyScriptCalled(SessionScripts.LOAD, "session:v2:" + SESSION_ID, "session_activity:v2:" + SESSION_ID);
+        verify(redisTemplate, never()).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    @DisplayName("Should coalesce stale activity into one pipelined SET XX with TTL")
+    @SuppressWarnings("unchecked")
+    void shouldCoalesceActivityWrites() {
+        // Given - activity written 2 minutes ago, older than the write interval
+        givenStored(System.currentTimeMillis() - 120000);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+        when(redisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenAnswer(invocation -> {
+                    ((RedisCallback<Object>) invocation.getArgument(0)).doInRedis(connection);
+                    return List.of();
+                });
+
+        // When - several requests before the flush
+        for (int i = 0; i < 5; i++) {
+            sessionService.validateSession(SESSION_ID, IP, USER_AGENT);
+        }
+        sessionService.flushActivity();
+
+        // Then
+        verify(redisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+        verify(stringCommands, times(1)).set(
+                eq(("session_activity:v2:" + SESSION_ID).getBytes(StandardCharsets.UTF_8)), any(byte[].class),
+                eq(Expiration.milliseconds(900000)), eq(RedisStringCommands.SetOption.ifPresent()));
+    }
+
+    @Test
+    @DisplayName("Should terminate session when the activity key has expired")
+    void shouldTerminateWhenActivityExpired() {
+        // Given
+        givenStored(null);
+
+        // When
+        Session result = sessionService.validateSession(SESSION_ID, IP, USER_AGENT);
+
+        // Then
+        assertThat(result).isNull();
+        verifyScriptCalled(SessionScripts.TERMINATE, "session:v2:" + SESSION_ID, "session_activity:v2:" + SESSION_ID);
+    }
+
+    @Test
+    @DisplayName("Should create session, enforce the limit and track it in one script call")
+    @SuppressWarnings("unchecked")
+    void shouldCreateSessionInOneScript() {
+        // Given - one existing session gets ended by the script
+        UUID userId = UUID.randomUUID();
+        when(redisTemplate.execute(eq(SessionScripts.CREATE), any(RedisSerializer.class), any(RedisSerializer.class),
+                anyList(), any(Object[].class)))
+                .thenReturn(List.of("sess_old"));
+
+        // When
+        Session session = sessionService.createSession(userId, "EMP123", "officer@abc.nl",
+                new String[]{"COMPLIANCE_OFFICER"}, IP, USER_AGENT);
+
+        // Then
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), any(RedisSerializer.class),
+                any(RedisSerializer.class), keys.capture(), any(Object[].class));
+        assertThat(keys.getValue()).containsExactly("user_sessions:v2:" + userId,
+                "session:v2:" + session.getSessionId(), "session_activity:v2:" + session.getSessionId());
+        verify(nearCache).evict(List.of("sess_old"));
+    }
+
+    @Test
+    @DisplayName("Should terminate all user sessions in one script call")
+    @SuppressWarnings("unchecked")
+    void shouldTerminateAllInOneScript() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        List<String> ids = List.of("sess_1", "sess_2", "sess_3");
+        when(redisTemplate.execute(eq(SessionScripts.TERMINATE_ALL), any(RedisSerializer.class),
+                any(RedisSerializer.class), anyList(), any(Object[].class)))
+                .thenReturn(ids);
+
+        // When
+        sessionService.terminateAllUserSessions(userId, "Security incident");
+
+        // Then
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), any(RedisSerializer.class),
+                any(RedisSerializer.class), anyList(), any(Object[].class));
+        verifyScriptCalled(SessionScripts.TERMINATE_ALL, "user_sessions:v2:" + userId);
+        verify(nearCache).evict(ids);
+    }
+
+    @Test
+    @DisplayName("Should serve repeat validations from the near-cache")
+    void shouldServeFromNearCache() {
+        // Given
+        Session session = session();
+        session.setLastActivityAt(LocalDateTime.now().minusSeconds(10));
+        when(nearCache.get(SESSION_ID)).thenReturn(session);
+
+        // When
+        Session result = sessionService.validateSession(SESSION_ID, IP, USER_AGENT);
+
+        // Then
+        assertThat(result).isSameAs(session);
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("Should still detect IP change on a near-cache hit")
+    void shouldDetectIpChangeOnNearCacheHit() {
+        // Given
+        when(nearCache.get(SESSION_ID)).thenReturn(session());
+
+        // When
+        Session result = sessionService.validateSession(SESSION_ID, "10.0.0.1", USER_AGENT);
+
+        // Then
+        assertThat(result).isNull();
+        verify(nearCache).evict(List.of(SESSION_ID));
+        verifyScriptCalled(SessionScripts.TERMINATE, "session:v2:" + SESSION_ID, "session_activity:v2:" + SESSION_ID);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenStored(Long lastActivityMillis) {
+        Session session = session();
+        List<String> reply = new ArrayList<>();
+        reply.add(lastActivityMillis != null ? String.valueOf(lastActivityMillis) : "");
+        reply.addAll(List.of(
+                "sessionId", SESSION_ID,
+                "userId", session.getUserId().toString(),
+                "employeeId", "EMP123",
+                "email", "officer@abc.nl",
+                "roles", "COMPLIANCE_OFFICER",
+                "deviceFingerprint", session.getDeviceFingerprint(),
+                "ipAddress", IP,
+                "userAgent", USER_AGENT,
+                "createdAt", String.valueOf(toMillis(session.getCreatedAt())),
+                "expiresAt", String.valueOf(toMillis(session.getExpiresAt())),
+                "active", "1"));
+        when(redisTemplate.execute(eq(SessionScripts.LOAD), any(RedisSerializer.class), any(RedisSerializer.class),
+                anyList(), any(Object[].class)))
+                .thenReturn(reply);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void verifyScriptCalled(RedisScript<?> script, String... keys) {
+        verify(redisTemplate, atLeastOnce()).execute(eq(script), any(RedisSerializer.class),
+                any(RedisSerializer.class), eq(List.of(keys)), any(Object[].class));
+    }
+
+    private Session session() {
+        Session session = new Session(SESSION_ID, UUID.randomUUID(), "EMP123", "officer@abc.nl",
+                new String[]{"COMPLIANCE_OFFICER"}, IP, USER_AGENT, LocalDateTime.now().plusHours(8));
+        session.setCreatedAt(LocalDateTime.now().minusHours(1));
+        return session;
+    }
+
+    private long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,92 @@
+package com.abcbank.onboarding.infrastructure.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisSetCommands;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Session Sweeper Tests")
+class SessionSweeperTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private Cursor<String> cursor;
+
+    @Mock
+    private RedisConnection connection;
+
+    @Mock
+    private RedisSetCommands setCommands;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SessionSweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sweeper = new SessionSweeper(redisTemplate, meterRegistry, true, 500, 600000);
+    }
+
+    @Test
+    @DisplayName("Should remove ids whose session no longer exists")
+    @SuppressWarnings("unchecked")
+    void shouldRemoveDanglingIds() {
+        // Given - one user set with a live and an expired session
+        when(redisTemplate.execute(any(RedisCallback.class))).thenReturn(true);
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(cursor);
+        when(cursor.hasNext()).thenReturn(true, false);
+        when(cursor.next()).thenReturn("user_sessions:u1");
+        when(redisTemplate.executePipelined(any(RedisCallback.class), any(RedisSerializer.class)))
+                .thenReturn(List.of(Set.of("sess_live", "sess_gone")))
+                .thenAnswer(invocation -> List.of(true, false)); // EXISTS in set iteration order
+        when(connection.setCommands()).thenReturn(setCommands);
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            ((RedisCallback<Object>) invocation.getArgument(0)).doInRedis(connection);
+            return List.of();
+        });
+
+        // When
+        long reclaimed = sweeper.sweep("user_sessions:", "session:");
+
+        // Then
+        assertThat(reclaimed).isEqualTo(1);
+        verify(setCommands).sRem(eq("user_sessions:u1".getBytes(StandardCharsets.UTF_8)), any(byte[].class));
+        assertThat(meterRegistry.get("session.sweeper.reclaimed").summary().totalAmount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should skip when another replica holds the lock")
+    @SuppressWarnings("unchecked")
+    void shouldSkipWhenLocked() {
+        // Given
+        when(redisTemplate.execute(any(RedisCallback.class))).thenReturn(false);
+
+        // When
+        long reclaimed = sweeper.sweep("user_sessions:", "session:");
+
+        // Then
+        assertThat(reclaimed).isEqualTo(-1);
+        verify(redisTemplate, never()).scan(any(ScanOptions.class));
+    }
+}
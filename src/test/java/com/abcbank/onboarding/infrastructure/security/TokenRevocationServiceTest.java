@@ -0,0 +1,106 @@
+package com.abcbank.onboarding.infrastructure.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.zset.DefaultTuple;
+import org.springframework.data.redis.connection.zset.Tuple;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Token Revocation Service Tests")
+class TokenRevocationServiceTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private TokenRevocationService revocationService;
+
+    @BeforeEach
+    void setUp() {
+        revocationService = new TokenRevocationService(redisTemplate, listenerContainer,
+                new SimpleMeterRegistry(), true, 1000, 0.01);
+    }
+
+    @Test
+    @DisplayName("Should revoke locally and record and publish in one script call")
+    @SuppressWarnings("unchecked")
+    void shouldRevokeAndPublish() {
+        // Given
+        long expiresAt = System.currentTimeMillis() + 60000;
+
+        // When
+        revocationService.revoke("jti-1", expiresAt);
+
+        // Then
+        assertThat(revocationService.isRevoked("jti-1", null)).isTrue();
+        assertThat(revocationService.isRevoked("jti-2", "sess-2")).isFalse();
+        verify(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                eq(List.of(TokenRevocationService.REVOKED_KEY)), eq("jti-1"), eq(String.valueOf(expiresAt)),
+                eq(TokenRevocationService.REVOCATION_CHANNEL));
+    }
+
+    @Test
+    @DisplayName("Should apply revocations published by other nodes")
+    void shouldApplyPublishedRevocation() {
+        // Given
+        byte[] body = ("sess-1|" + (System.currentTimeMillis() + 60000)).getBytes(StandardCharsets.UTF_8);
+
+        // When
+        revocationService.onMessage(new DefaultMessage(
+                TokenRevocationService.REVOCATION_CHANNEL.getBytes(StandardCharsets.UTF_8), body), null);
+
+        // Then
+        assertThat(revocationService.isRevoked("jti-1", "sess-1")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should not report revocations past the token expiry")
+    void shouldIgnoreExpiredRevocation() {
+        // Given
+        byte[] body = ("jti-1|" + (System.currentTimeMillis() - 1)).getBytes(StandardCharsets.UTF_8);
+
+        // When
+        revocationService.onMessage(new DefaultMessage(
+                TokenRevocationService.REVOCATION_CHANNEL.getBytes(StandardCharsets.UTF_8), body), null);
+
+        // Then
+        assertThat(revocationService.isRevoked("jti-1", null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should rebuild from the sorted set")
+    @SuppressWarnings("unchecked")
+    void shouldRebuildFromRedis() {
+        // Given
+        Set<Tuple> stored = Set.of(new DefaultTuple("jti-9".getBytes(StandardCharsets.UTF_8),
+                (double) (System.currentTimeMillis() + 60000)));
+        when(redisTemplate.execute(any(RedisCallback.class))).thenReturn(stored);
+
+        // When
+        revocationService.rebuild();
+
+        // Then
+        assertThat(revocationService.isRevoked("jti-9", null)).isTrue();
+    }
+}
@@ -0,0 +1,34 @@
+-- Tables used only through JdbcTemplate, which JPA create-drop does not create.
+-- Keep in line with the Flyway migrations of the same name.
+
+-- V7__create_notification_outbox.sql
+CREATE TABLE IF NOT EXISTS notification_outbox (
+    id UUID PRIMARY KEY,
+    application_id UUID NOT NULL,
+    channel VARCHAR(10) NOT NULL,
+    payload BYTEA,
+    status VARCHAR(20) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    sent_at TIMESTAMP,
+    last_error VARCHAR(100),
+    CONSTRAINT chk_outbox_status CHECK (status IN ('PENDING', 'SENT', 'FAILED', 'EXPIRED'))
+);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_pending_due ON notification_outbox(channel, next_attempt_at) WHERE status = 'PENDING';
+CREATE INDEX IF NOT EXISTS idx_outbox_created ON notification_outbox(created_at);
+
+-- V8__create_application_blind_index.sql
+CREATE TABLE IF NOT EXISTS application_blind_index (
+    identifier_type VARCHAR(10) NOT NULL,
+    digest VARCHAR(44) NOT NULL,
+    application_id UUID NOT NULL,
+
+    CONSTRAINT pk_application_blind_index PRIMARY KEY (identifier_type, digest),
+    CONSTRAINT fk_blind_index_application FOREIGN KEY (application_id)
+        REFERENCES onboarding_application(id) ON DELETE CASCADE DEFERRABLE INITIALLY DEFERRED
+);
+
+CREATE INDEX IF NOT EXISTS idx_blind_index_application ON application_blind_index(application_id);